@@ -0,0 +1,50 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la factorisation de Cholesky par blocs et de la résolution à partir du
+ * facteur déjà calculé.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CholeskyBenchmark {
+
+	@Param({"256", "1024", "2048"})
+	int n;
+
+	Cholesky cholesky;
+
+	@Setup
+	public void preparer() throws Exception {
+		cholesky = new Cholesky(DonneesBenchmark.matriceSymetriqueDefiniePositive(n, 1), DonneesBenchmark.vecteur(n, 2));
+		cholesky.factorLLt();
+	}
+
+	@Benchmark
+	public Cholesky factorLLt() throws Exception {
+		cholesky.factorLLt();
+		return cholesky;
+	}
+
+	@Benchmark
+	public Vecteur resolutionPartielle() throws Exception {
+		return cholesky.resolutionPartielle();
+	}
+}
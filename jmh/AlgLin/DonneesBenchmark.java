@@ -0,0 +1,126 @@
+package AlgLin;
+
+import java.util.Random;
+
+/**
+ * Générateurs de données communs aux bancs d'essai JMH. Les tirages sont faits avec une graine
+ * fixe pour que les mesures soient reproductibles d'une exécution à l'autre.
+ */
+final class DonneesBenchmark {
+
+	private DonneesBenchmark() {
+	}
+
+	/**
+	 * Construit une matrice carrée aléatoire à diagonale strictement dominante, donc régulière et
+	 * factorisable sans pivotage.
+	 */
+	static Matrice matriceDominante(int n, long graine) {
+		Random rand = new Random(graine);
+		Matrice m = new Matrice(n, n);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				m.remplaceCoef(i, j, rand.nextDouble());
+			}
+			m.remplaceCoef(i, i, n + rand.nextDouble());
+		}
+		return m;
+	}
+
+	/**
+	 * Construit une matrice symétrique définie positive : matrice à diagonale dominante
+	 * symétrisée.
+	 */
+	static Matrice matriceSymetriqueDefiniePositive(int n, long graine) {
+		Matrice m = matriceDominante(n, graine);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < i; j++) {
+				m.remplaceCoef(j, i, m.getCoef(i, j));
+			}
+		}
+		return m;
+	}
+
+	/**
+	 * Construit une matrice triangulaire (inférieure ou supérieure) aléatoire, de diagonale
+	 * unitaire ou dominante.
+	 */
+	static Matrice matriceTriangulaire(int n, boolean inferieure, boolean unite, long graine) {
+		Random rand = new Random(graine);
+		Matrice m = new Matrice(n, n);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				if (i == j) {
+					m.remplaceCoef(i, j, unite ? 1.0 : n + rand.nextDouble());
+				} else if ((j < i) == inferieure) {
+					m.remplaceCoef(i, j, rand.nextDouble() / n);
+				}
+			}
+		}
+		return m;
+	}
+
+	/**
+	 * Construit une matrice creuse carrée à diagonale strictement dominante, avec parLigne
+	 * coefficients hors diagonale par ligne, placés dans des colonnes aléatoires.
+	 */
+	static MatriceCreuse matriceCreuse(int n, int parLigne, long graine) {
+		Random rand = new Random(graine);
+		MatriceCreuse.Assembleur assembleur = new MatriceCreuse.Assembleur(n, n);
+		for (int i = 0; i < n; i++) {
+			assembleur.ajouter(i, i, parLigne + 1 + rand.nextDouble());
+			for (int t = 0; t < parLigne; t++) {
+				assembleur.ajouter(i, rand.nextInt(n), -rand.nextDouble());
+			}
+		}
+		return assembleur.construire();
+	}
+
+	/**
+	 * Construit un vecteur aléatoire de coefficients dans [-1, 1].
+	 */
+	static Vecteur vecteur(int n, long graine) {
+		Random rand = new Random(graine);
+		Vecteur v = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			v.remplaceCoef(i, 2 * rand.nextDouble() - 1);
+		}
+		return v;
+	}
+
+	/**
+	 * Construit des abscisses strictement croissantes à pas aléatoire.
+	 */
+	static double[] abscisses(int n, long graine) {
+		Random rand = new Random(graine);
+		double[] x = new double[n];
+		for (int i = 1; i < n; i++) {
+			x[i] = x[i - 1] + 0.5 + rand.nextDouble();
+		}
+		return x;
+	}
+
+	/**
+	 * Construit des ordonnées aléatoires régulières (sinus bruité) associées à des abscisses.
+	 */
+	static double[] ordonnees(double[] x, long graine) {
+		Random rand = new Random(graine);
+		double[] y = new double[x.length];
+		for (int i = 0; i < x.length; i++) {
+			y[i] = Math.sin(x[i] / 10) + 0.1 * rand.nextDouble();
+		}
+		return y;
+	}
+
+	/**
+	 * Tire des points d'évaluation uniformément répartis dans [min, max].
+	 */
+	static double[] points(int nombre, double min, double max, long graine) {
+		Random rand = new Random(graine);
+		double[] p = new double[nombre];
+		for (int i = 0; i < nombre; i++) {
+			p[i] = min + (max - min) * rand.nextDouble();
+		}
+		return p;
+	}
+}
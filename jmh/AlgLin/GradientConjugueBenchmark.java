@@ -0,0 +1,53 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai du gradient conjugué sur le laplacien 2D (cote^2 inconnues), pour chacun des
+ * préconditionneurs. Le préconditionneur est construit une fois pour toutes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class GradientConjugueBenchmark {
+
+	@Param({"100", "300"})
+	int cote;
+
+	@Param({"aucun", "jacobi", "ssor", "ic0"})
+	String preconditionneur;
+
+	GradientConjugue gc;
+
+	@Setup
+	public void preparer() throws Exception {
+		MatriceCreuse a = GradientConjugue.laplacien(cote);
+		gc = new GradientConjugue(a, DonneesBenchmark.vecteur(a.nbLigne(), 1));
+		switch (preconditionneur) {
+			case "jacobi": gc.setPreconditionneur(Preconditionneur.jacobi(a)); break;
+			case "ssor": gc.setPreconditionneur(Preconditionneur.ssor(a, 1.5)); break;
+			case "ic0": gc.setPreconditionneur(Preconditionneur.choleskyIncomplet(a)); break;
+			default: break;
+		}
+	}
+
+	@Benchmark
+	public Vecteur resolution() throws IrregularSysLinException {
+		return gc.resolution();
+	}
+}
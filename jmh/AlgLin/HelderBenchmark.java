@@ -0,0 +1,53 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la factorisation LDR de {@link Helder} et de la résolution à partir des
+ * facteurs déjà calculés, avec les facteurs rangés dans trois matrices ou sous forme compacte.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class HelderBenchmark {
+
+	@Param({"64", "256", "512"})
+	int n;
+
+	@Param({"false", "true"})
+	boolean compacte;
+
+	Helder helder;
+
+	@Setup
+	public void preparer() throws Exception {
+		helder = new Helder(DonneesBenchmark.matriceDominante(n, 1), DonneesBenchmark.vecteur(n, 2), compacte);
+		helder.factorLDR();
+	}
+
+	@Benchmark
+	public Helder factorLDR() throws Exception {
+		helder.factorLDR();
+		return helder;
+	}
+
+	@Benchmark
+	public Vecteur resolutionPartielle() throws Exception {
+		return helder.resolutionPartielle();
+	}
+}
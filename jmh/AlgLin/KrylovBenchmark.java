@@ -0,0 +1,55 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de GMRES(30) et de BiCGSTAB, préconditionnés à droite par SSOR, sur un problème de
+ * convection-diffusion 2D non symétrique (cote^2 inconnues).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KrylovBenchmark {
+
+	@Param({"40", "300"})
+	int cote;
+
+	GMRES gmres;
+	BiCGSTAB bicgstab;
+
+	@Setup
+	public void preparer() throws Exception {
+		MatriceCreuse a = GMRES.convectionDiffusion(cote, 2.0);
+		Vecteur b = DonneesBenchmark.vecteur(a.nbLigne(), 1);
+		Preconditionneur ssor = Preconditionneur.ssor(a, 1.0);
+		gmres = new GMRES(a, b);
+		gmres.setPreconditionneur(ssor);
+		bicgstab = new BiCGSTAB(a, b);
+		bicgstab.setPreconditionneur(ssor);
+	}
+
+	@Benchmark
+	public Vecteur gmres() throws IrregularSysLinException {
+		return gmres.resolution();
+	}
+
+	@Benchmark
+	public Vecteur bicgstab() throws IrregularSysLinException {
+		return bicgstab.resolution();
+	}
+}
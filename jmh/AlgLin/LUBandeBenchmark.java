@@ -0,0 +1,63 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la factorisation LU en bande (factorisation et résolution), avec et sans
+ * pivotage, sur une matrice à diagonale dominante de kl = ku = largeur diagonales de part et
+ * d'autre de la diagonale.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class LUBandeBenchmark {
+
+	@Param({"100000"})
+	int n;
+
+	@Param({"1", "2", "8"})
+	int largeur;
+
+	LUBande sansPivotage, avecPivotage;
+
+	@Setup
+	public void preparer() throws Exception {
+		MatBande A = new MatBande(n, largeur, largeur);
+		java.util.Random rand = new java.util.Random(1);
+		for (int i = 0; i < n; i++) {
+			for (int j = Math.max(0, i - largeur); j <= Math.min(n - 1, i + largeur); j++) {
+				A.remplaceElement(i, j, i == j ? 2 * largeur + 1 : 2 * rand.nextDouble() - 1);
+			}
+		}
+		Vecteur b = DonneesBenchmark.vecteur(n, 2);
+		sansPivotage = new LUBande(A, b, false);
+		avecPivotage = new LUBande(A, b, true);
+	}
+
+	@Benchmark
+	public Vecteur sansPivotage() throws IrregularSysLinException {
+		sansPivotage.factorLU();
+		return sansPivotage.resolutionPartielle();
+	}
+
+	@Benchmark
+	public Vecteur avecPivotage() throws IrregularSysLinException {
+		avecPivotage.factorLU();
+		return avecPivotage.resolutionPartielle();
+	}
+}
@@ -0,0 +1,50 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la factorisation LU par blocs avec pivotage partiel et de la résolution à
+ * partir des facteurs déjà calculés.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class LUPivotBenchmark {
+
+	@Param({"256", "1024", "2048"})
+	int n;
+
+	LUPivot lu;
+
+	@Setup
+	public void preparer() throws Exception {
+		lu = new LUPivot(DonneesBenchmark.matriceDominante(n, 1), DonneesBenchmark.vecteur(n, 2));
+		lu.factorLU();
+	}
+
+	@Benchmark
+	public LUPivot factorLU() throws Exception {
+		lu.factorLU();
+		return lu;
+	}
+
+	@Benchmark
+	public Vecteur resolutionPartielle() throws Exception {
+		return lu.resolutionPartielle();
+	}
+}
@@ -0,0 +1,75 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai du produit matrice-vecteur au format CSR, séquentiel et parallèle, avec 7
+ * coefficients non nuls par ligne. Le produit dense de référence est mesuré à part, à des tailles
+ * où la matrice dense tient en mémoire (une matrice dense de 10^5 lignes occuperait 80 Go).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MatriceCreuseBenchmark {
+
+	@Param({"100000", "1000000"})
+	int n;
+
+	MatriceCreuse a;
+	Vecteur x;
+
+	@Setup
+	public void preparer() {
+		a = DonneesBenchmark.matriceCreuse(n, 6, 1);
+		x = DonneesBenchmark.vecteur(n, 2);
+	}
+
+	/**
+	 * Matrice dense de référence.
+	 */
+	@State(Scope.Benchmark)
+	public static class Dense {
+
+		@Param({"1000", "4000"})
+		int nDense;
+
+		Matrice a;
+		Vecteur x;
+
+		@Setup
+		public void preparer() {
+			a = DonneesBenchmark.matriceDominante(nDense, 1);
+			x = DonneesBenchmark.vecteur(nDense, 2);
+		}
+	}
+
+	@Benchmark
+	public Vecteur produit() throws IrregularSysLinException {
+		return a.produit(x);
+	}
+
+	@Benchmark
+	public Vecteur produitParallele() throws IrregularSysLinException {
+		return a.produitParallele(x);
+	}
+
+	@Benchmark
+	public Matrice produitDense(Dense dense) {
+		return Matrice.produit(dense.a, dense.x);
+	}
+}
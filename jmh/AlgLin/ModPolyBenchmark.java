@@ -0,0 +1,71 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Banc d'essai de l'ajustement polynomial par moindres carrés et de l'évaluation du polynôme
+ * obtenu. L'évaluation est mesurée sur {@value #POINTS} points, le résultat étant rapporté
+ * à un seul point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ModPolyBenchmark {
+
+	static final int POINTS = 1024;
+
+	@Param({"100", "10000"})
+	int points;
+
+	@Param({"3", "8"})
+	int degre;
+
+	double[] x;
+	double[] y;
+	double[] evaluations;
+	ModPoly modele;
+
+	@Setup
+	public void preparer() throws Exception {
+		// Abscisses dans [0, 2] pour garder un système normal raisonnablement conditionné
+		x = new double[points];
+		for (int i = 0; i < points; i++) {
+			x[i] = 2.0 * i / points;
+		}
+		y = DonneesBenchmark.ordonnees(x, 1);
+		evaluations = DonneesBenchmark.points(POINTS, x[0], x[points - 1], 2);
+		modele = new ModPoly(degre);
+		modele.identifie(x, y);
+	}
+
+	@Benchmark
+	public ModPoly identifie() throws Exception {
+		modele.identifie(x, y);
+		return modele;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void evaluation(Blackhole trou) {
+		for (double p : evaluations) {
+			trou.consume(modele.evaluation(p));
+		}
+	}
+}
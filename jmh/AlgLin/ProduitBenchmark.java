@@ -0,0 +1,49 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai du produit matriciel et de l'inversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ProduitBenchmark {
+
+	@Param({"64", "256", "1024"})
+	int n;
+
+	Matrice a;
+	Matrice b;
+
+	@Setup
+	public void preparer() {
+		a = DonneesBenchmark.matriceDominante(n, 1);
+		b = DonneesBenchmark.matriceDominante(n, 2);
+	}
+
+	@Benchmark
+	public Matrice produit() {
+		return Matrice.produit(a, b);
+	}
+
+	@Benchmark
+	public Matrice inverse() throws Exception {
+		return Matrice.inverse(a);
+	}
+}
@@ -0,0 +1,132 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Banc d'essai des résolutions répétées dans un vecteur et un espace de travail fournis
+ * ({@link SysLin#resolution(Vecteur, EspaceTravail)}), comparées à {@link SysLin#resolution()}.
+ * <p>
+ * Lancé par sa méthode main, le banc mesure l'allocation par appel avec le profileur gc de JMH et
+ * échoue (code de sortie 1) si une résolution en régime permanent alloue de la mémoire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SansAllocationBenchmark {
+
+	/** Allocation tolérée par appel, en octets : le bruit de mesure du profileur. */
+	static final double TOLERANCE = 1;
+
+	@Param({"thomas", "helder", "diagonal", "triangInf", "triangInfUnite", "triangSup", "triangSupUnite"})
+	String solveur;
+
+	@Param({"256"})
+	int n;
+
+	SysLin systeme;
+	Vecteur solution;
+	EspaceTravail travail;
+
+	@Setup
+	public void preparer() throws Exception {
+		Vecteur b = DonneesBenchmark.vecteur(n, 5);
+		switch (solveur) {
+		case "thomas":
+			double[][] diagonales = new double[3][n];
+			for (int i = 0; i < n; i++) {
+				diagonales[0][i] = i > 0 ? -1 : 0;
+				diagonales[1][i] = 4;
+				diagonales[2][i] = i < n - 1 ? -1 : 0;
+			}
+			systeme = new Thomas(new Mat3Diag(diagonales), b);
+			break;
+		case "helder":
+			Helder helder = new Helder(DonneesBenchmark.matriceDominante(n, 1), b, true);
+			helder.factorLDR();
+			systeme = helder;
+			break;
+		case "diagonal":
+			systeme = new SysDiagonal(DonneesBenchmark.matriceTriangulaire(n, true, false, 1), b);
+			break;
+		case "triangInf":
+			systeme = new SysTriangInf(DonneesBenchmark.matriceTriangulaire(n, true, false, 1), b);
+			break;
+		case "triangInfUnite":
+			systeme = new SysTriangInfUnite(DonneesBenchmark.matriceTriangulaire(n, true, true, 2), b);
+			break;
+		case "triangSup":
+			systeme = new SysTriangSup(DonneesBenchmark.matriceTriangulaire(n, false, false, 3), b);
+			break;
+		case "triangSupUnite":
+			systeme = new SysTriangSupUnite(DonneesBenchmark.matriceTriangulaire(n, false, true, 4), b);
+			break;
+		default:
+			throw new IllegalArgumentException("Solveur inconnu : " + solveur);
+		}
+		solution = new Vecteur(n);
+		travail = new EspaceTravail();
+	}
+
+	@Benchmark
+	public Vecteur sansAllocation() throws IrregularSysLinException {
+		return systeme.resolution(solution, travail);
+	}
+
+	@Benchmark
+	public Vecteur avecAllocation() throws IrregularSysLinException {
+		return systeme.resolution();
+	}
+
+	/**
+	 * Mesure l'allocation de {@link #sansAllocation()} pour chaque solveur et échoue si l'un d'eux
+	 * alloue plus de {@link #TOLERANCE} octet par appel.
+	 */
+	public static void main(String[] args) throws Exception {
+		OptionsBuilder options = new OptionsBuilder();
+		options.include(SansAllocationBenchmark.class.getSimpleName() + ".sansAllocation")
+				.mode(Mode.AverageTime)
+				.warmupIterations(2)
+				.measurementIterations(3)
+				.addProfiler(GCProfiler.class);
+		boolean echec = false;
+		for (RunResult resultat : new Runner(options.build()).run()) {
+			BenchmarkParams parametres = resultat.getParams();
+			double octets = Double.NaN;
+			// getSecondaryResults() est déclaré avec le type brut Result : on passe par les noms
+			for (String nom : resultat.getSecondaryResults().keySet()) {
+				if (nom.endsWith("gc.alloc.rate.norm")) {
+					Result<?> allocation = resultat.getSecondaryResults().get(nom);
+					octets = allocation.getScore();
+				}
+			}
+			boolean alloue = !(octets <= TOLERANCE);
+			echec |= alloue;
+			System.out.printf("%-16s %8.2f octets/appel%s%n", parametres.getParam("solveur"), octets,
+					alloue ? "  <- alloue" : "");
+		}
+		if (echec) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Banc d'essai de la construction d'une spline cubique et de son évaluation, par les
+ * coefficients précalculés ou par la formule des dérivées secondes, point par point ou par lots.
+ * L'évaluation est mesurée sur {@value #POINTS} points tirés au hasard (triés ou non pour les
+ * lots), le résultat étant rapporté à un seul point. Les abscisses sont régulières ou de pas
+ * aléatoire ; evaluationDichotomie mesure l'évaluation sans l'index de recherche des intervalles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SplineBenchmark {
+
+	static final int POINTS = 1024;
+
+	@Param({"100", "10000", "1000000"})
+	int noeuds;
+
+	@Param({"aleatoire", "uniforme"})
+	String repartition;
+
+	double[] x;
+	double[] y;
+	double[] points;
+	double[] pointsTries;
+	double[] valeurs;
+	Spline spline;
+	Spline splineDichotomie;
+
+	@Setup
+	public void preparer() throws Exception {
+		if (repartition.equals("uniforme")) {
+			x = new double[noeuds];
+			for (int i = 0; i < noeuds; i++) {
+				x[i] = i;
+			}
+		} else {
+			x = DonneesBenchmark.abscisses(noeuds, 1);
+		}
+		y = DonneesBenchmark.ordonnees(x, 2);
+		points = DonneesBenchmark.points(POINTS, x[0], x[noeuds - 1], 3);
+		pointsTries = points.clone();
+		java.util.Arrays.sort(pointsTries);
+		valeurs = new double[POINTS];
+		spline = new Spline(x, y);
+		splineDichotomie = new Spline(x, y);
+		splineDichotomie.supprimerIndex();
+	}
+
+	@Benchmark
+	public Spline construction() throws Exception {
+		return new Spline(x, y);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void evaluation(Blackhole trou) throws Exception {
+		for (double p : points) {
+			trou.consume(spline.evaluation(p));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void evaluationDichotomie(Blackhole trou) throws Exception {
+		for (double p : points) {
+			trou.consume(splineDichotomie.evaluation(p));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public void evaluationFormule(Blackhole trou) throws Exception {
+		for (double p : points) {
+			trou.consume(spline.evaluationFormule(p));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public double[] evaluationLot() throws Exception {
+		spline.evaluation(points, valeurs, Spline.HorsIntervalle.NAN);
+		return valeurs;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(POINTS)
+	public double[] evaluationLotTrie() throws Exception {
+		spline.evaluation(pointsTries, valeurs, Spline.HorsIntervalle.NAN);
+		return valeurs;
+	}
+}
@@ -0,0 +1,79 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai des méthodes stationnaires (Jacobi, Gauss-Seidel et SOR rouge-noir, omega
+ * automatique) sur un système tridiagonal à diagonale dominante et sur le laplacien 2D de
+ * cote^2 inconnues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class StationnaireBenchmark {
+
+	@Param({"tridiagonal", "laplacien"})
+	String systeme;
+
+	@Param({"50"})
+	int cote;
+
+	Jacobi jacobi;
+	SOR gaussSeidel, sor;
+
+	@Setup
+	public void preparer() throws Exception {
+		int n = cote * cote;
+		Vecteur b = DonneesBenchmark.vecteur(n, 1);
+		if (systeme.equals("tridiagonal")) {
+			double[][] diagonales = new double[3][n];
+			for (int i = 0; i < n; i++) {
+				diagonales[0][i] = i > 0 ? -1 : 0;
+				diagonales[1][i] = 4;
+				diagonales[2][i] = i < n - 1 ? -1 : 0;
+			}
+			Mat3Diag A = new Mat3Diag(diagonales);
+			jacobi = new Jacobi(A, b);
+			gaussSeidel = new SOR(A, b);
+			sor = new SOR(A, b);
+		} else {
+			MatriceCreuse A = GradientConjugue.laplacien(cote);
+			jacobi = new Jacobi(A, b);
+			gaussSeidel = new SOR(A, b);
+			sor = new SOR(A, b);
+		}
+		jacobi.setIterationsMax(100000);
+		gaussSeidel.setIterationsMax(100000);
+		gaussSeidel.setRelaxation(1);
+	}
+
+	@Benchmark
+	public Vecteur jacobi() throws IrregularSysLinException {
+		return jacobi.resolution();
+	}
+
+	@Benchmark
+	public Vecteur gaussSeidel() throws IrregularSysLinException {
+		return gaussSeidel.resolution();
+	}
+
+	@Benchmark
+	public Vecteur sor() throws IrregularSysLinException {
+		return sor.resolution();
+	}
+}
@@ -0,0 +1,71 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai des quatre solveurs triangulaires et du solveur diagonal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SysTriangBenchmark {
+
+	@Param({"256", "1024", "2048"})
+	int n;
+
+	SysTriangInf inf;
+	SysTriangInfUnite infUnite;
+	SysTriangSup sup;
+	SysTriangSupUnite supUnite;
+	SysDiagonal diagonal;
+
+	@Setup
+	public void preparer() throws Exception {
+		Vecteur b = DonneesBenchmark.vecteur(n, 5);
+		inf = new SysTriangInf(DonneesBenchmark.matriceTriangulaire(n, true, false, 1), b);
+		infUnite = new SysTriangInfUnite(DonneesBenchmark.matriceTriangulaire(n, true, true, 2), b);
+		sup = new SysTriangSup(DonneesBenchmark.matriceTriangulaire(n, false, false, 3), b);
+		supUnite = new SysTriangSupUnite(DonneesBenchmark.matriceTriangulaire(n, false, true, 4), b);
+		diagonal = new SysDiagonal(DonneesBenchmark.matriceTriangulaire(n, true, false, 1), b);
+	}
+
+	@Benchmark
+	public Vecteur triangInf() throws Exception {
+		return inf.resolution();
+	}
+
+	@Benchmark
+	public Vecteur triangInfUnite() throws Exception {
+		return infUnite.resolution();
+	}
+
+	@Benchmark
+	public Vecteur triangSup() throws Exception {
+		return sup.resolution();
+	}
+
+	@Benchmark
+	public Vecteur triangSupUnite() throws Exception {
+		return supUnite.resolution();
+	}
+
+	@Benchmark
+	public Vecteur diagonal() throws Exception {
+		return diagonal.resolution();
+	}
+}
@@ -0,0 +1,48 @@
+package AlgLin;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la méthode de Thomas sur un système tridiagonal à diagonale dominante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ThomasBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	int n;
+
+	Thomas thomas;
+
+	@Setup
+	public void preparer() throws Exception {
+		double[][] diagonales = new double[3][n];
+		for (int i = 0; i < n; i++) {
+			diagonales[0][i] = i > 0 ? -1 : 0;
+			diagonales[1][i] = 4;
+			diagonales[2][i] = i < n - 1 ? -1 : 0;
+		}
+		thomas = new Thomas(new Mat3Diag(diagonales), DonneesBenchmark.vecteur(n, 1));
+	}
+
+	@Benchmark
+	public Vecteur resolution() {
+		return thomas.resolution();
+	}
+}
@@ -0,0 +1,89 @@
+package AlgLin;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la résolution par lots de systèmes tridiagonaux, comparée à une boucle de
+ * {@link Thomas}. Chaque appel résout {@link #SYSTEMES} systèmes : le débit est donné en systèmes
+ * par seconde.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ThomasLotBenchmark {
+
+	/** Nombre de systèmes d'un lot. */
+	static final int SYSTEMES = 4096;
+
+	@Param({"16", "64", "512"})
+	int n;
+
+	double[] a, b, c, d, x;
+	ThomasLot lot;
+
+	@Setup
+	public void preparer() {
+		Random rand = new Random(1);
+		a = new double[n * SYSTEMES];
+		b = new double[n * SYSTEMES];
+		c = new double[n * SYSTEMES];
+		d = new double[n * SYSTEMES];
+		x = new double[n * SYSTEMES];
+		for (int i = 0; i < n * SYSTEMES; i++) {
+			a[i] = rand.nextDouble();
+			b[i] = 2.5 + rand.nextDouble();
+			c[i] = rand.nextDouble();
+			d[i] = rand.nextDouble();
+		}
+		lot = new ThomasLot(n, SYSTEMES);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SYSTEMES)
+	public double[] lot() {
+		lot.resolution(a, b, c, d, x);
+		return x;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SYSTEMES)
+	public double[] lotParallele() {
+		lot.resolutionParallele(a, b, c, d, x);
+		return x;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SYSTEMES)
+	public double thomas() throws IrregularSysLinException {
+		double somme = 0;
+		for (int s = 0; s < SYSTEMES; s++) {
+			Mat3Diag T = new Mat3Diag(n);
+			Vecteur v = new Vecteur(n);
+			for (int k = 0; k < n; k++) {
+				T.coefficient[k] = a[k * SYSTEMES + s];
+				T.coefficient[T.pas + k] = b[k * SYSTEMES + s];
+				T.coefficient[2 * T.pas + k] = c[k * SYSTEMES + s];
+				v.coefficient[k] = d[k * SYSTEMES + s];
+			}
+			somme += new Thomas(T, v).resolution().coefficient[0];
+		}
+		return somme;
+	}
+}
@@ -0,0 +1,73 @@
+package AlgLin;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Banc d'essai de la résolution parallèle d'un grand système tridiagonal par partition, comparée à
+ * {@link Thomas}, pour plusieurs nombres de threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ThomasParalleleBenchmark {
+
+	@Param({"1000000", "10000000"})
+	int n;
+
+	@Param({"1", "2", "4", "8"})
+	int threads;
+
+	Thomas thomas;
+	ThomasParallele systeme;
+	ForkJoinPool pool;
+
+	@Setup
+	public void preparer() throws IrregularSysLinException {
+		Random rand = new Random(1);
+		Mat3Diag A = new Mat3Diag(n);
+		Vecteur b = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			double gauche = i > 0 ? rand.nextDouble() : 0, droite = i < n - 1 ? rand.nextDouble() : 0;
+			A.coefficient[i] = gauche;
+			A.coefficient[A.pas + i] = 2 * (gauche + droite) + 0.1;
+			A.coefficient[2 * A.pas + i] = droite;
+			b.coefficient[i] = rand.nextDouble() - 0.5;
+		}
+		thomas = new Thomas(A, b);
+		systeme = new ThomasParallele(A, b);
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown
+	public void liberer() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public Vecteur thomas() {
+		return thomas.resolution();
+	}
+
+	@Benchmark
+	public Vecteur partition() {
+		return systeme.resolutionParallele(pool);
+	}
+}
@@ -0,0 +1,186 @@
+package AlgLin;
+
+/**
+ * Résolution d'un système quelconque (non symétrique) par la méthode BiCGSTAB (gradient
+ * biconjugué stabilisé) de van der Vorst.
+ * <p>
+ * Chaque itération coûte deux applications de l'opérateur et du préconditionneur, quatre produits
+ * scalaires et quelques mises à jour de vecteurs, avec une mémoire fixe de neuf vecteurs : c'est
+ * l'alternative économe à {@link GMRES}, dont la mémoire croît avec la dimension de redémarrage,
+ * au prix d'une convergence moins régulière.
+ * <p>
+ * Si la méthode s'interrompt (produit scalaire nul, ce qui arrive pour certains seconds membres),
+ * elle redémarre à partir du vrai résidu de la solution courante ; deux interruptions de suite
+ * sans progrès lèvent une {@link IrregularSysLinException}.
+ *
+ * @author Syrder Baptichon
+ */
+public class BiCGSTAB extends SysLinIteratif {
+
+	/** Vecteurs de travail. */
+	private Vecteur r, rChapeau, p, v, s, t, pChapeau, sChapeau, tampon;
+
+	/**
+	 * Construit le système d'une matrice dense.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public BiCGSTAB(Matrice A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+	}
+
+	/**
+	 * Construit le système d'une matrice creuse.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public BiCGSTAB(MatriceCreuse A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+	}
+
+	/**
+	 * Construit le système d'un opérateur quelconque.
+	 *
+	 * @param A L'opérateur du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public BiCGSTAB(OperateurLineaire A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+	}
+
+	/**
+	 * Itérations de BiCGSTAB.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la tolérance n'est pas atteinte en {@link #getIterationsMax()}
+	 * itérations, ou si la méthode s'interrompt sans progresser.
+	 */
+	@Override
+	protected Vecteur resoudre() throws IrregularSysLinException {
+		int n = getOrdre();
+		if (r == null) {
+			r = new Vecteur(n);
+			rChapeau = new Vecteur(n);
+			p = new Vecteur(n);
+			v = new Vecteur(n);
+			s = new Vecteur(n);
+			t = new Vecteur(n);
+			pChapeau = new Vecteur(n);
+			sChapeau = new Vecteur(n);
+			tampon = new Vecteur(n);
+		}
+		Vecteur x = new Vecteur(n);
+
+		double normeB = norme(secondMembre);
+		if (normeB == 0) {
+			noterResidu(0, 0);
+			return x;
+		}
+		// Norme de référence du résidu suivi : ||b||, ou ||M^-1 b|| à gauche
+		double reference = normeB;
+		if (!preconditionnementDroite) {
+			preconditionneur.appliquer(secondMembre, tampon);
+			reference = norme(tampon);
+		}
+		initialiser(x, r);
+		if (noterResidu(0, norme(r) / normeB)) {
+			return x;
+		}
+
+		int dernierDepart = -1;
+		while (iterations < getIterationsMax()) {
+			if (iterations == dernierDepart) {
+				throw new IrregularSysLinException("Échec de BiCGSTAB à l'itération " + iterations + ".");
+			}
+			dernierDepart = iterations;
+			// (Re)départ à partir du résidu r, préconditionné à gauche
+			if (!preconditionnementDroite) {
+				preconditionneur.appliquer(r, tampon);
+				System.arraycopy(tampon.coefficient, 0, r.coefficient, 0, n);
+			}
+			System.arraycopy(r.coefficient, 0, rChapeau.coefficient, 0, n);
+			java.util.Arrays.fill(p.coefficient, 0.0);
+			java.util.Arrays.fill(v.coefficient, 0.0);
+			double rho = 1, alpha = 1, omega = 1;
+			boolean verifier = false;
+
+			while (iterations < getIterationsMax()) {
+				double rhoSuivant = produitScalaire(rChapeau, r);
+				if (rhoSuivant == 0) {
+					break;
+				}
+				// p = r + beta (p - omega v)
+				double beta = (rhoSuivant / rho) * (alpha / omega);
+				axpy(-omega, v, p);
+				xpby(r, beta, p);
+				rho = rhoSuivant;
+
+				appliquer(p, pChapeau, v);
+				double rv = produitScalaire(rChapeau, v);
+				if (rv == 0) {
+					break;
+				}
+				alpha = rho / rv;
+				// s = r - alpha v
+				System.arraycopy(r.coefficient, 0, s.coefficient, 0, n);
+				axpy(-alpha, v, s);
+				double residuS = norme(s) / reference;
+				if (residuS <= getTolerance()) {
+					axpy(alpha, pChapeau, x);
+					noterResidu(iterations + 1, residuS);
+					verifier = true;
+					break;
+				}
+
+				appliquer(s, sChapeau, t);
+				double tt = produitScalaire(t, t);
+				omega = tt == 0 ? 0 : produitScalaire(t, s) / tt;
+				axpy(alpha, pChapeau, x);
+				axpy(omega, sChapeau, x);
+				// r = s - omega t
+				System.arraycopy(s.coefficient, 0, r.coefficient, 0, n);
+				axpy(-omega, t, r);
+				if (noterResidu(iterations + 1, norme(r) / reference)) {
+					verifier = true;
+					break;
+				}
+				if (omega == 0) {
+					break;
+				}
+			}
+
+			// Vrai résidu, pour conclure ou pour redémarrer
+			calculerResidu(x, r);
+			residu = norme(r) / normeB;
+			if (residu <= getTolerance()) {
+				return x;
+			}
+			if (verifier) {
+				// Le résidu suivi a dérivé du vrai résidu : le redémarrage n'est pas une interruption
+				dernierDepart = -1;
+			}
+		}
+		verifierConvergence();
+		return x;
+	}
+
+	/**
+	 * Applique l'opérateur préconditionné : à droite, chapeau = M^-1 u et resultat = A chapeau ; à
+	 * gauche, chapeau = u et resultat = M^-1 A u.
+	 */
+	private void appliquer(Vecteur u, Vecteur chapeau, Vecteur resultat) {
+		if (preconditionnementDroite) {
+			preconditionneur.appliquer(u, chapeau);
+			appliquerOperateur(chapeau, resultat);
+		} else {
+			System.arraycopy(u.coefficient, 0, chapeau.coefficient, 0, getOrdre());
+			appliquerOperateur(u, tampon);
+			preconditionneur.appliquer(tampon, resultat);
+		}
+	}
+}
@@ -0,0 +1,306 @@
+package AlgLin;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cache borné de factorisations, pour les programmes qui résolvent de nombreux systèmes de même
+ * matrice avec des seconds membres différents.
+ * <p>
+ * Une fois installé par {@link SysLin#setCacheFactorisation(CacheFactorisation)}, le cache est
+ * consulté par {@link Helder}, {@link LUPivot} et {@link Cholesky} avant chaque factorisation : si
+ * une matrice de même contenu a déjà été factorisée par la même méthode, ses facteurs sont recopiés
+ * dans l'espace de travail du système en O(n^2) au lieu d'être recalculés en O(n^3).
+ * <p>
+ * Les entrées sont repérées par les dimensions et l'empreinte ({@link Matrice#empreinte()}) du
+ * contenu de la matrice, et non par l'objet. Chaque entrée garde aussi une copie de ce contenu, que
+ * toute lecture compare à celui de la matrice : deux contenus de même empreinte ne peuvent pas
+ * échanger leurs facteurs. Une matrice modifiée par
+ * {@link Matrice#remplaceCoef(int, int, double)} change d'empreinte et ne peut plus retrouver les
+ * facteurs de son ancien contenu. Le cache retient en outre la dernière empreinte vue pour chaque
+ * matrice ; lorsqu'elle change, les entrées de l'ancien contenu sont supprimées aussitôt
+ * (invalidation) au lieu d'attendre d'être évincées.
+ * <p>
+ * Le cache recopie les facteurs qu'on lui confie : les facteurs d'un système restent modifiables
+ * (factorisation sur place, par exemple) sans altérer le cache. Quand le nombre d'entrées ou le
+ * nombre total de coefficients retenus dépasse sa limite, les entrées les moins récemment utilisées
+ * sont évincées. Toutes les méthodes sont synchronisées ; les factorisations, elles, se font hors du
+ * verrou.
+ *
+ * @author Syrder Baptichon
+ */
+public final class CacheFactorisation {
+
+	/** Nombre maximal d'entrées. */
+	private final int entreesMax;
+
+	/** Nombre maximal de coefficients retenus, toutes entrées confondues. */
+	private final long coefficientsMax;
+
+	/** Entrées dans l'ordre des accès, la moins récemment utilisée en tête. */
+	private final LinkedHashMap<Cle, Entree> entrees = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Dernière empreinte vue pour chaque matrice, pour invalider les entrées d'un contenu modifié. */
+	private final WeakHashMap<Matrice, Long> empreintes = new WeakHashMap<>();
+
+	private long coefficients;
+	private long succes, echecs, evictions, invalidations;
+
+	/**
+	 * Construit un cache limité en nombre d'entrées.
+	 *
+	 * @param entreesMax Le nombre maximal de factorisations retenues.
+	 */
+	public CacheFactorisation(int entreesMax) {
+		this(entreesMax, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Construit un cache limité en nombre d'entrées et en taille.
+	 *
+	 * @param entreesMax Le nombre maximal de factorisations retenues.
+	 * @param coefficientsMax Le nombre maximal de coefficients retenus (une factorisation d'ordre n
+	 * en compte 2 n^2 : les facteurs et la copie de la matrice) ; une factorisation plus grande
+	 * n'est pas retenue.
+	 */
+	public CacheFactorisation(int entreesMax, long coefficientsMax) {
+		if (entreesMax <= 0 || coefficientsMax <= 0) {
+			throw new IllegalArgumentException("Capacité du cache non positive");
+		}
+		this.entreesMax = entreesMax;
+		this.coefficientsMax = coefficientsMax;
+	}
+
+	/**
+	 * Clé d'une factorisation : méthode, dimensions et empreinte du contenu de la matrice, ainsi
+	 * qu'une copie de ce contenu, qui n'intervient pas dans l'égalité des clés mais est comparée à
+	 * celle de l'entrée trouvée.
+	 */
+	static final class Cle {
+		private final String methode;
+		private final int lignes, colonnes;
+		private final long empreinte;
+		private final double[] contenu;
+
+		private Cle(String methode, int lignes, int colonnes, long empreinte, double[] contenu) {
+			this.methode = methode;
+			this.lignes = lignes;
+			this.colonnes = colonnes;
+			this.empreinte = empreinte;
+			this.contenu = contenu;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Cle)) {
+				return false;
+			}
+			Cle c = (Cle) o;
+			return empreinte == c.empreinte && lignes == c.lignes && colonnes == c.colonnes && methode.equals(c.methode);
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(empreinte) * 31 + methode.hashCode();
+		}
+	}
+
+	/**
+	 * Facteurs retenus : une matrice, éventuellement réduite à son triangle inférieur, et, pour
+	 * les méthodes avec pivotage, une permutation, avec le contenu de la matrice factorisée.
+	 */
+	private static final class Entree {
+		final Matrice facteurs;
+		final int[] permutation;
+		final boolean inferieure;
+		final double[] contenu;
+
+		Entree(Matrice facteurs, int[] permutation, boolean inferieure, double[] contenu) {
+			this.facteurs = facteurs;
+			this.permutation = permutation;
+			this.inferieure = inferieure;
+			this.contenu = contenu;
+		}
+
+		long taille() {
+			return (long) facteurs.nbLigne() * facteurs.nbColonne() + contenu.length;
+		}
+	}
+
+	/**
+	 * Calcule la clé de la matrice pour une méthode de factorisation, avant que la matrice ne soit
+	 * éventuellement écrasée par ses facteurs ; la clé emporte une copie du contenu. Si la matrice
+	 * a changé de contenu depuis la dernière clé calculée, les entrées de son ancien contenu sont
+	 * supprimées.
+	 *
+	 * @param methode Le nom de la méthode de factorisation.
+	 * @param A La matrice à factoriser.
+	 * @return La clé de la factorisation.
+	 */
+	Cle cle(String methode, Matrice A) {
+		long empreinte = A.empreinte();
+		synchronized (this) {
+			invaliderAncienContenu(A, empreinte);
+		}
+		return new Cle(methode, A.nbLigne(), A.nbColonne(), empreinte, contenu(A));
+	}
+
+	/** Copie des coefficients de la matrice, ligne après ligne. */
+	private static double[] contenu(Matrice A) {
+		int lignes = A.nbLigne(), colonnes = A.nbColonne();
+		double[] c = new double[lignes * colonnes];
+		for (int i = 0; i < lignes; i++) {
+			System.arraycopy(A.coefficient, i * A.pas, c, i * colonnes, colonnes);
+		}
+		return c;
+	}
+
+	private void invaliderAncienContenu(Matrice A, long empreinte) {
+		Long ancienne = empreintes.put(A, empreinte);
+		if (ancienne != null && ancienne != empreinte) {
+			Iterator<Map.Entry<Cle, Entree>> it = entrees.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<Cle, Entree> e = it.next();
+				Cle c = e.getKey();
+				if (c.empreinte == ancienne && c.lignes == A.nbLigne() && c.colonnes == A.nbColonne()) {
+					coefficients -= e.getValue().taille();
+					it.remove();
+					invalidations++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Recopie les facteurs retenus pour une clé, si le contenu de la matrice factorisée est bien
+	 * celui de la clé, coefficient par coefficient ; une entrée de même empreinte mais de contenu
+	 * différent compte comme un échec.
+	 *
+	 * @param cle La clé de la factorisation.
+	 * @param facteurs La matrice recevant les facteurs ; seul le triangle inférieur est écrit si
+	 * l'entrée a été enregistrée ainsi.
+	 * @param permutation Le tableau recevant la permutation, ou null si la méthode n'en a pas.
+	 * @return true si les facteurs étaient dans le cache.
+	 */
+	synchronized boolean charger(Cle cle, Matrice facteurs, int[] permutation) {
+		Entree e = entrees.get(cle);
+		if (e == null || !Arrays.equals(e.contenu, cle.contenu)) {
+			echecs++;
+			return false;
+		}
+		succes++;
+		copier(e.facteurs, facteurs, e.inferieure);
+		if (permutation != null) {
+			System.arraycopy(e.permutation, 0, permutation, 0, permutation.length);
+		}
+		return true;
+	}
+
+	/**
+	 * Retient une copie des facteurs calculés pour une clé, puis évince les entrées les moins
+	 * récemment utilisées tant que les limites du cache sont dépassées.
+	 *
+	 * @param cle La clé obtenue avant la factorisation.
+	 * @param facteurs Les facteurs.
+	 * @param permutation La permutation associée, ou null.
+	 * @param inferieure true si seul le triangle inférieur (diagonale comprise) des facteurs est utile.
+	 */
+	synchronized void enregistrer(Cle cle, Matrice facteurs, int[] permutation, boolean inferieure) {
+		int n = facteurs.nbLigne();
+		if ((long) n * facteurs.nbColonne() + cle.contenu.length > coefficientsMax) {
+			return;
+		}
+		Matrice copie = new Matrice(n, facteurs.nbColonne());
+		copier(facteurs, copie, inferieure);
+		Entree e = new Entree(copie, permutation == null ? null : permutation.clone(), inferieure, cle.contenu);
+		Entree ancienne = entrees.put(cle, e);
+		if (ancienne != null) {
+			coefficients -= ancienne.taille();
+		}
+		coefficients += e.taille();
+		Iterator<Entree> it = entrees.values().iterator();
+		while ((entrees.size() > entreesMax || coefficients > coefficientsMax) && it.hasNext()) {
+			coefficients -= it.next().taille();
+			it.remove();
+			evictions++;
+		}
+	}
+
+	private static void copier(Matrice source, Matrice destination, boolean inferieure) {
+		int colonnes = source.nbColonne();
+		for (int i = 0; i < source.nbLigne(); i++) {
+			int largeur = inferieure ? Math.min(i + 1, colonnes) : colonnes;
+			System.arraycopy(source.coefficient, i * source.pas, destination.coefficient, i * destination.pas, largeur);
+		}
+	}
+
+	/**
+	 * Supprime les entrées correspondant au contenu actuel d'une matrice.
+	 *
+	 * @param A La matrice dont les factorisations ne doivent plus être retenues.
+	 */
+	public synchronized void invalider(Matrice A) {
+		long empreinte = A.empreinte();
+		double[] contenu = contenu(A);
+		Iterator<Map.Entry<Cle, Entree>> it = entrees.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Cle, Entree> e = it.next();
+			Cle c = e.getKey();
+			if (c.empreinte == empreinte && Arrays.equals(c.contenu, contenu)) {
+				coefficients -= e.getValue().taille();
+				it.remove();
+				invalidations++;
+			}
+		}
+		empreintes.remove(A);
+	}
+
+	/**
+	 * Vide le cache ; les compteurs sont conservés.
+	 */
+	public synchronized void vider() {
+		entrees.clear();
+		empreintes.clear();
+		coefficients = 0;
+	}
+
+	/** @return Le nombre de factorisations trouvées dans le cache. */
+	public synchronized long getSucces() {
+		return succes;
+	}
+
+	/** @return Le nombre de factorisations absentes du cache. */
+	public synchronized long getEchecs() {
+		return echecs;
+	}
+
+	/** @return Le nombre d'entrées évincées pour respecter les limites du cache. */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/** @return Le nombre d'entrées supprimées parce que leur matrice a été modifiée ou invalidée. */
+	public synchronized long getInvalidations() {
+		return invalidations;
+	}
+
+	/** @return Le nombre d'entrées présentes. */
+	public synchronized int getNbEntrees() {
+		return entrees.size();
+	}
+
+	/** @return Le nombre de coefficients retenus par les entrées présentes. */
+	public synchronized long getNbCoefficients() {
+		return coefficients;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CacheFactorisation[entrées=" + entrees.size() + ", coefficients=" + coefficients
+				+ ", succès=" + succes + ", échecs=" + echecs + ", évictions=" + evictions
+				+ ", invalidations=" + invalidations + "]";
+	}
+}
@@ -0,0 +1,156 @@
+package AlgLin;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Opérations sur les vecteurs des méthodes itératives, séquentielles ou réparties entre les threads
+ * d'un pool.
+ * <p>
+ * Les vecteurs sont découpés en blocs fixes de {@link #BLOC} coefficients, quel que soit le nombre
+ * de threads. Un produit scalaire est la somme, dans l'ordre des blocs, des produits scalaires de
+ * chaque bloc : son résultat ne dépend donc pas du parallélisme, et une méthode itérative fait
+ * exactement les mêmes itérations en séquentiel et en parallèle.
+ *
+ * @author Syrder Baptichon
+ */
+final class CalculVecteurs {
+
+	/** Nombre de coefficients d'un bloc. */
+	static final int BLOC = 1 << 13;
+
+	/** Nombre minimal de blocs traités par une tâche. */
+	private static final int BLOCS_PAR_TACHE = 4;
+
+	/** Nombre de lignes d'un bloc du produit matrice dense - vecteur. */
+	private static final int LIGNES = 64;
+
+	private CalculVecteurs() {
+	}
+
+	/**
+	 * Calcul portant sur les blocs [b0, b1).
+	 */
+	interface Blocs {
+		void calculer(int b0, int b1);
+	}
+
+	/**
+	 * Applique un calcul à nbBlocs blocs, séquentiellement si le pool est null.
+	 */
+	static void parBlocs(int nbBlocs, Blocs calcul, ForkJoinPool pool) {
+		if (sequentiel(nbBlocs, pool)) {
+			calcul.calculer(0, nbBlocs);
+		} else {
+			pool.invoke(new TacheBlocs(calcul, 0, nbBlocs));
+		}
+	}
+
+	private static boolean sequentiel(int nbBlocs, ForkJoinPool pool) {
+		return pool == null || pool.getParallelism() == 1 || nbBlocs < 2 * BLOCS_PAR_TACHE;
+	}
+
+	private static final class TacheBlocs extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Blocs calcul;
+		private final int b0, b1;
+
+		TacheBlocs(Blocs calcul, int b0, int b1) {
+			this.calcul = calcul;
+			this.b0 = b0;
+			this.b1 = b1;
+		}
+
+		@Override
+		protected void compute() {
+			if (b1 - b0 <= BLOCS_PAR_TACHE) {
+				calcul.calculer(b0, b1);
+			} else {
+				int milieu = (b0 + b1) >>> 1;
+				invokeAll(new TacheBlocs(calcul, b0, milieu), new TacheBlocs(calcul, milieu, b1));
+			}
+		}
+	}
+
+	/**
+	 * Retourne le produit scalaire des n premiers coefficients de a et de b.
+	 */
+	static double produitScalaire(double[] a, double[] b, int n, ForkJoinPool pool) {
+		int nbBlocs = (n + BLOC - 1) / BLOC;
+		if (sequentiel(nbBlocs, pool)) {
+			// Même ordre de sommation que le calcul parallèle, sans allocation
+			NoyauCalcul noyau = NoyauCalcul.actif();
+			double s = 0;
+			for (int debut = 0; debut < n; debut += BLOC) {
+				s += noyau.produitScalaire(a, debut, b, debut, Math.min(BLOC, n - debut));
+			}
+			return s;
+		}
+		double[] partielles = new double[nbBlocs];
+		parBlocs(nbBlocs, (b0, b1) -> {
+			NoyauCalcul noyau = NoyauCalcul.actif();
+			for (int k = b0; k < b1; k++) {
+				int debut = k * BLOC;
+				partielles[k] = noyau.produitScalaire(a, debut, b, debut, Math.min(BLOC, n - debut));
+			}
+		}, pool);
+		double s = 0;
+		for (double p : partielles) {
+			s += p;
+		}
+		return s;
+	}
+
+	/**
+	 * Retourne la norme 2 des n premiers coefficients de a.
+	 */
+	static double norme(double[] a, int n, ForkJoinPool pool) {
+		return Math.sqrt(produitScalaire(a, a, n, pool));
+	}
+
+	/**
+	 * Calcule y = y + alpha x sur les n premiers coefficients.
+	 */
+	static void axpy(double alpha, double[] x, double[] y, int n, ForkJoinPool pool) {
+		parBlocs((n + BLOC - 1) / BLOC, (b0, b1) -> {
+			int debut = b0 * BLOC;
+			NoyauCalcul.actif().axpy(alpha, x, debut, y, debut, Math.min(b1 * BLOC, n) - debut);
+		}, pool);
+	}
+
+	/**
+	 * Calcule x = s x sur les n premiers coefficients.
+	 */
+	static void echelle(double s, double[] x, int n, ForkJoinPool pool) {
+		parBlocs((n + BLOC - 1) / BLOC, (b0, b1) -> {
+			int debut = b0 * BLOC;
+			NoyauCalcul.actif().echelle(s, x, debut, Math.min(b1 * BLOC, n) - debut);
+		}, pool);
+	}
+
+	/**
+	 * Calcule y = x + beta y sur les n premiers coefficients.
+	 */
+	static void xpby(double[] x, double beta, double[] y, int n, ForkJoinPool pool) {
+		parBlocs((n + BLOC - 1) / BLOC, (b0, b1) -> {
+			int debut = b0 * BLOC, longueur = Math.min(b1 * BLOC, n) - debut;
+			NoyauCalcul noyau = NoyauCalcul.actif();
+			noyau.echelle(beta, y, debut, longueur);
+			noyau.addition(y, debut, x, debut, y, debut, longueur);
+		}, pool);
+	}
+
+	/**
+	 * Calcule y = Ax pour une matrice dense carrée, par blocs de lignes.
+	 */
+	static void produit(Matrice A, double[] x, double[] y, ForkJoinPool pool) {
+		int n = A.nbLigne();
+		parBlocs((n + LIGNES - 1) / LIGNES, (b0, b1) -> {
+			NoyauCalcul noyau = NoyauCalcul.actif();
+			for (int i = b0 * LIGNES; i < Math.min(b1 * LIGNES, n); i++) {
+				y[i] = noyau.produitScalaire(A.coefficient, i * A.pas, x, 0, A.nbColonne());
+			}
+		}, pool);
+	}
+}
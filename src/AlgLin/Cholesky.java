@@ -0,0 +1,518 @@
+package AlgLin;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Résolution d'un système linéaire symétrique défini positif par la factorisation de Cholesky
+ * A = L * L^t, où L est triangulaire inférieure à diagonale strictement positive.
+ * <p>
+ * Seul le triangle inférieur (diagonale comprise) de la matrice du système est lu, et seul le
+ * triangle inférieur de la matrice de travail est écrit : L y est rangée à la place de A, le
+ * triangle supérieur n'étant pas modifié. La factorisation demande deux fois moins d'opérations
+ * que LU ou LDR, et une seule matrice.
+ * <p>
+ * Le calcul est fait par blocs de {@link #NB} colonnes : factorisation du bloc diagonal, calcul du
+ * bloc L21 situé dessous, puis mise à jour du triangle inférieur de la sous-matrice restante
+ * A22 -= L21 * L21^t par le noyau {@link ProduitMatriciel}, bloc de lignes par bloc de lignes.
+ * La variante {@link #factorLLtParallele(ForkJoinPool)} répartit le calcul de L21 et cette mise à
+ * jour sur un pool fork/join.
+ * <p>
+ * Dès qu'un pivot négatif ou nul apparaît, la factorisation s'arrête et lance une
+ * {@link IrregularSysLinException} : la matrice n'est pas définie positive (ou l'a perdu par les
+ * erreurs d'arrondi).
+ *
+ * @author Syrder Baptichon
+ */
+public class Cholesky extends SysLin {
+
+	/** Nombre de colonnes d'un bloc. */
+	static final int NB = 128;
+
+	/** Matrice recevant le facteur L dans son triangle inférieur. */
+	private final Matrice L;
+
+	/** Indique si {@link #L} contient le facteur de la matrice du système. */
+	private boolean factorisee;
+
+	/** Indique si une factorisation sur place a déjà remplacé la matrice du système par son facteur. */
+	private boolean ecrasee;
+
+	/** Norme 1 (égale à la norme infinie) de la matrice du système, relevée avant une factorisation sur place. */
+	private double norme1;
+
+	/**
+	 * Construit le système ; la factorisation sera faite dans une copie de la matrice du système,
+	 * qui n'est donc pas modifiée.
+	 *
+	 * @param matriceSystem La matrice symétrique définie positive du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si la matrice n'est pas carrée ou si sa taille ne correspond pas à celle du second membre.
+	 */
+	public Cholesky(Matrice matriceSystem, Vecteur secondMembre) throws IrregularSysLinException {
+		this(matriceSystem, secondMembre, new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne()));
+	}
+
+	/**
+	 * Construit le système avec une matrice de travail fournie, qui reçoit le facteur L. Elle peut
+	 * être la matrice du système elle-même : la factorisation se fait alors sur place, sans
+	 * allocation, et le triangle inférieur de la matrice du système est remplacé par L.
+	 *
+	 * @param matriceSystem La matrice symétrique définie positive du système.
+	 * @param secondMembre Le second membre du système.
+	 * @param travail La matrice n x n recevant le facteur.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public Cholesky(Matrice matriceSystem, Vecteur secondMembre, Matrice travail) throws IrregularSysLinException {
+		super(matriceSystem, secondMembre);
+		if (travail.nbLigne() != getOrdre() || travail.nbColonne() != getOrdre()) {
+			throw new IrregularSysLinException("Matrice de travail de mauvaise taille.");
+		}
+		this.L = travail;
+	}
+
+	/**
+	 * Factorise la matrice du système. Si la factorisation se fait sur place, un second appel ne
+	 * refait pas le calcul, et lève de nouveau l'exception si le premier a échoué. Si un cache de factorisations est installé et contient le facteur de la
+	 * matrice, il est simplement recopié.
+	 *
+	 * @throws IrregularSysLinException Si la matrice n'est pas définie positive.
+	 */
+	public void factorLLt() throws IrregularSysLinException {
+		factoriser(null);
+	}
+
+	/**
+	 * Factorise la matrice du système en parallèle sur le pool commun.
+	 *
+	 * @throws IrregularSysLinException Si la matrice n'est pas définie positive.
+	 * @see #factorLLtParallele(ForkJoinPool)
+	 */
+	public void factorLLtParallele() throws IrregularSysLinException {
+		factorLLtParallele(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Factorise la matrice du système en parallèle avec un nombre de threads donné. Un pool dédié
+	 * est créé pour l'occasion puis arrêté.
+	 *
+	 * @param parallelisme Le nombre de threads du pool (1 pour le calcul séquentiel).
+	 * @throws IrregularSysLinException Si la matrice n'est pas définie positive.
+	 */
+	public void factorLLtParallele(int parallelisme) throws IrregularSysLinException {
+		if (parallelisme <= 1) {
+			factorLLt();
+			return;
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelisme);
+		try {
+			factorLLtParallele(pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Factorise la matrice du système en parallèle sur le pool donné : pour chaque bloc de
+	 * colonnes, les lignes de L21 puis les blocs de lignes de la mise à jour sont répartis entre
+	 * les threads. Le facteur obtenu est celui de {@link #factorLLt()}.
+	 *
+	 * @param pool Le pool qui exécute les calculs.
+	 * @throws IrregularSysLinException Si la matrice n'est pas définie positive.
+	 */
+	public void factorLLtParallele(ForkJoinPool pool) throws IrregularSysLinException {
+		factoriser(pool.getParallelism() == 1 ? null : pool);
+	}
+
+	/**
+	 * Factorisation par blocs, séquentielle si le pool est null. Une factorisation sur place qui
+	 * échoue laisse la matrice du système écrasée en partie par L : les appels suivants lèvent
+	 * alors l'exception sans la factoriser de nouveau.
+	 */
+	private void factoriser(ForkJoinPool pool) throws IrregularSysLinException {
+		int n = getOrdre();
+		Matrice A = this.matriceSystem;
+		if (L == A) {
+			if (factorisee) {
+				return;
+			}
+			if (ecrasee) {
+				throw new IrregularSysLinException("Matrice non définie positive : la factorisation sur place a échoué et écrasé la matrice.");
+			}
+			norme1 = normeSymetrique(A);
+		}
+		CacheFactorisation cache = getCacheFactorisation();
+		CacheFactorisation.Cle cle = cache == null ? null : cache.cle("LLt", A);
+		if (cle != null && cache.charger(cle, L, null)) {
+			factorisee = true;
+			return;
+		}
+		if (L != A) {
+			for (int i = 0; i < n; i++) {
+				System.arraycopy(A.coefficient, i * A.pas, L.coefficient, i * L.pas, i + 1);
+			}
+		}
+		factorisee = false;
+		ecrasee = L == A;
+
+		double[] a = L.coefficient;
+		int pas = L.pas;
+		double[] transposee = new double[Math.min(NB, n) * Math.max(n - NB, 0)];
+		for (int k0 = 0; k0 < n; k0 += NB) {
+			int kb = Math.min(NB, n - k0);
+			int suite = k0 + kb;
+			factoriserBlocDiagonal(a, pas, k0, kb);
+			if (suite == n) {
+				break;
+			}
+			int m = n - suite;
+			if (pool == null) {
+				calculerL21(a, pas, k0, kb, suite, n);
+			} else {
+				pool.invoke(new TacheLignes(a, pas, k0, kb, suite, n, null, m, false));
+			}
+			// L21^t, pour que le produit L21 * L21^t lise ses deux opérandes par lignes
+			for (int i = 0; i < m; i++) {
+				int ligne = (suite + i) * pas + k0;
+				for (int p = 0; p < kb; p++) {
+					transposee[p * m + i] = a[ligne + p];
+				}
+			}
+			if (pool == null) {
+				mettreAJourLignes(a, pas, k0, kb, suite, n, transposee, m);
+			} else {
+				pool.invoke(new TacheLignes(a, pas, k0, kb, suite, n, transposee, m, true));
+			}
+		}
+		factorisee = true;
+		if (cle != null) {
+			cache.enregistrer(cle, L, null, true);
+		}
+	}
+
+	/**
+	 * Factorise le bloc diagonal [k0, k0 + kb) par l'algorithme de Cholesky-Crout, ligne par ligne :
+	 * chaque coefficient est obtenu par un produit scalaire entre deux morceaux de lignes déjà
+	 * calculés.
+	 */
+	private static void factoriserBlocDiagonal(double[] a, int pas, int k0, int kb) throws IrregularSysLinException {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i = k0; i < k0 + kb; i++) {
+			int ligne = i * pas;
+			for (int j = k0; j < i; j++) {
+				double s = a[ligne + j] - noyau.produitScalaire(a, ligne + k0, a, j * pas + k0, j - k0);
+				a[ligne + j] = s / a[j * pas + j];
+			}
+			double d = a[ligne + i] - noyau.sommeCarres(a, ligne + k0, i - k0);
+			if (!(d > 0)) {
+				throw new IrregularSysLinException("Matrice non définie positive : pivot " + d + " à la ligne " + i + ".");
+			}
+			a[ligne + i] = Math.sqrt(d);
+		}
+	}
+
+	/**
+	 * Calcule les lignes [debut, fin) de L21 = A21 * L11^-t, où L11 est le bloc diagonal
+	 * [k0, k0 + kb) déjà factorisé.
+	 */
+	private static void calculerL21(double[] a, int pas, int k0, int kb, int debut, int fin) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i = debut; i < fin; i++) {
+			int ligne = i * pas;
+			for (int j = k0; j < k0 + kb; j++) {
+				double s = a[ligne + j] - noyau.produitScalaire(a, ligne + k0, a, j * pas + k0, j - k0);
+				a[ligne + j] = s / a[j * pas + j];
+			}
+		}
+	}
+
+	/**
+	 * Met à jour le triangle inférieur des lignes [debut, fin) de A22 : A22 -= L21 * L21^t, par
+	 * blocs de NB lignes. Pour chaque bloc, la partie rectangulaire à gauche du bloc diagonal est
+	 * calculée d'un seul produit, puis le bloc diagonal ligne par ligne jusqu'à la diagonale : le
+	 * triangle supérieur n'est jamais écrit.
+	 *
+	 * @param transposee L21^t, rangée par lignes de longueur m.
+	 */
+	private static void mettreAJourLignes(double[] a, int pas, int k0, int kb, int debut, int fin,
+			double[] transposee, int m) {
+		int suite = k0 + kb;
+		for (int r0 = debut; r0 < fin; r0 += NB) {
+			int r1 = Math.min(r0 + NB, fin);
+			ProduitMatriciel.gemm(r1 - r0, r0 - suite, kb, -1.0,
+					a, r0 * pas + k0, pas,
+					transposee, 0, m,
+					1.0, a, r0 * pas + suite, pas);
+			for (int i = r0; i < r1; i++) {
+				ProduitMatriciel.gemm(1, i - r0 + 1, kb, -1.0,
+						a, i * pas + k0, pas,
+						transposee, r0 - suite, m,
+						1.0, a, i * pas + r0, pas);
+			}
+		}
+	}
+
+	/**
+	 * Tâche fork/join traitant les lignes [debut, fin) : calcul de L21, ou mise à jour du triangle
+	 * inférieur de A22. Les lignes sont coupées en deux tant qu'il en reste plus que {@link #NB}.
+	 */
+	private static final class TacheLignes extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a, transposee;
+		private final int pas, k0, kb, debut, fin, m;
+		private final boolean miseAJour;
+
+		TacheLignes(double[] a, int pas, int k0, int kb, int debut, int fin, double[] transposee, int m,
+				boolean miseAJour) {
+			this.a = a; this.pas = pas; this.k0 = k0; this.kb = kb; this.debut = debut; this.fin = fin;
+			this.transposee = transposee; this.m = m; this.miseAJour = miseAJour;
+		}
+
+		@Override
+		protected void compute() {
+			if (fin - debut <= NB) {
+				if (miseAJour) {
+					mettreAJourLignes(a, pas, k0, kb, debut, fin, transposee, m);
+				} else {
+					calculerL21(a, pas, k0, kb, debut, fin);
+				}
+			} else {
+				// Coupure alignée sur les blocs de NB lignes de la mise à jour
+				int milieu = debut + ((fin - debut) / 2 + NB - 1) / NB * NB;
+				invokeAll(new TacheLignes(a, pas, k0, kb, debut, milieu, transposee, m, miseAJour),
+						new TacheLignes(a, pas, k0, kb, milieu, fin, transposee, m, miseAJour));
+			}
+		}
+	}
+
+	/**
+	 * Résout le système, en factorisant la matrice au premier appel seulement.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la matrice n'est pas définie positive.
+	 */
+	@Override
+	public Vecteur resolution() throws IrregularSysLinException {
+		if (!factorisee) {
+			factorLLt();
+		}
+		return resolutionPartielle();
+	}
+
+	/**
+	 * Résout le système à partir du facteur déjà calculé : descente Ly = b puis remontée
+	 * L^t x = y. La remontée parcourt L par lignes, en retranchant la contribution de chaque
+	 * inconnue obtenue aux équations précédentes.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 */
+	public Vecteur resolutionPartielle() throws IrregularSysLinException {
+		if (!factorisee) {
+			throw new IrregularSysLinException("Matrice non factorisée.");
+		}
+		Vecteur x = new Vecteur(getOrdre());
+		System.arraycopy(secondMembre.coefficient, 0, x.coefficient, 0, getOrdre());
+		resoudreSurPlace(x.coefficient);
+		return x;
+	}
+
+	/**
+	 * Résout le système dans un vecteur fourni, sans allocation, en factorisant la matrice au
+	 * premier appel seulement.
+	 *
+	 * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+	 * @param travail Non utilisé.
+	 * @return Le vecteur solution.
+	 * @throws IrregularSysLinException Si la matrice n'est pas définie positive ou si la solution n'a pas la bonne taille.
+	 */
+	@Override
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+		verifierSolution(solution);
+		if (!factorisee) {
+			factorLLt();
+		}
+		if (solution != secondMembre) {
+			System.arraycopy(secondMembre.coefficient, 0, solution.coefficient, 0, getOrdre());
+		}
+		resoudreSurPlace(solution.coefficient);
+		return solution;
+	}
+
+	/**
+	 * Remplace x par A^-1 x à partir du facteur déjà calculé.
+	 */
+	private void resoudreSurPlace(double[] v) {
+		int n = getOrdre();
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		double[] a = L.coefficient;
+		int pas = L.pas;
+
+		// Résolution Ly = b
+		for (int i = 0; i < n; i++) {
+			v[i] = (v[i] - noyau.produitScalaire(a, i * pas, v, 0, i)) / a[i * pas + i];
+		}
+		// Résolution L^t x = y
+		for (int i = n - 1; i >= 0; i--) {
+			v[i] /= a[i * pas + i];
+			noyau.axpy(-v[i], a, i * pas, v, 0, i);
+		}
+	}
+
+	/**
+	 * Calcule la norme 1 d'une matrice symétrique à partir de son seul triangle inférieur.
+	 */
+	private static double normeSymetrique(Matrice A) {
+		int n = A.nbLigne();
+		double[] sommes = new double[n];
+		for (int i = 0; i < n; i++) {
+			int ligne = i * A.pas;
+			for (int j = 0; j < i; j++) {
+				double v = Math.abs(A.coefficient[ligne + j]);
+				sommes[i] += v;
+				sommes[j] += v;
+			}
+			sommes[i] += Math.abs(A.coefficient[ligne + i]);
+		}
+		double norme = 0;
+		for (double s : sommes) {
+			norme = Math.max(norme, s);
+		}
+		return norme;
+	}
+
+	/**
+	 * Estime le conditionnement (identique en norme 1 et en norme infinie pour une matrice
+	 * symétrique) à partir du facteur déjà calculé, sans former l'inverse : quelques résolutions
+	 * en O(n^2) (voir {@link EstimateurConditionnement} pour la précision de l'estimation).
+	 *
+	 * @return Une estimation de ||A||_1 * ||A^-1||_1.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 */
+	public double estimationCond_1() throws IrregularSysLinException {
+		if (!factorisee) {
+			throw new IrregularSysLinException("Matrice non factorisée.");
+		}
+		double norme = L == matriceSystem ? norme1 : normeSymetrique(matriceSystem);
+		return norme * EstimateurConditionnement.normeInverse1(getOrdre(), (x, transposee) -> resoudreSurPlace(x));
+	}
+
+	/**
+	 * Résout le système pour plusieurs seconds membres à la fois, rangés en colonnes, à partir du
+	 * facteur déjà calculé, par descente et remontée par blocs.
+	 *
+	 * @param secondsMembres La matrice n x k dont les colonnes sont les seconds membres.
+	 * @return La matrice n x k dont les colonnes sont les solutions.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 */
+	public Matrice resolutionPartielle(Matrice secondsMembres) throws IrregularSysLinException {
+		return resolutionPartielle(secondsMembres, null);
+	}
+
+	/**
+	 * Résout le système pour plusieurs seconds membres, les colonnes étant réparties entre les
+	 * threads du pool donné.
+	 *
+	 * @param secondsMembres La matrice n x k dont les colonnes sont les seconds membres.
+	 * @param pool Le pool qui exécute les calculs.
+	 * @return La matrice n x k dont les colonnes sont les solutions.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 */
+	public Matrice resolutionPartielleParallele(Matrice secondsMembres, ForkJoinPool pool) throws IrregularSysLinException {
+		return resolutionPartielle(secondsMembres, pool);
+	}
+
+	/**
+	 * Résolution à plusieurs seconds membres, séquentielle si le pool est null. La remontée
+	 * L^t X = Y utilise une copie transposée de L, pour que ses deux opérandes soient lus par
+	 * lignes.
+	 */
+	private Matrice resolutionPartielle(Matrice secondsMembres, ForkJoinPool pool) throws IrregularSysLinException {
+		if (!factorisee) {
+			throw new IrregularSysLinException("Matrice non factorisée.");
+		}
+		int n = getOrdre();
+		Matrice X = ResolutionBloc.copieSecondsMembres(n, secondsMembres);
+		Matrice Lt = L.transposee();
+		double[] x = X.coefficient;
+		int ldx = X.pas;
+		ResolutionBloc.parColonnes(X.nbColonne(), (j0, j1) -> {
+			ResolutionBloc.descente(n, j1 - j0, L.coefficient, 0, L.pas, false, x, j0, ldx);
+			ResolutionBloc.remontee(n, j1 - j0, Lt.coefficient, 0, Lt.pas, false, x, j0, ldx);
+		}, pool);
+		return X;
+	}
+
+	/**
+	 * Vérifie la détection d'une matrice non définie positive, puis compare Cholesky à LDR et LU
+	 * sur des matrices A^t A + n I aléatoires et mesure la factorisation parallèle.
+	 *
+	 * @param args Les ordres à mesurer (par défaut 500, 1000 et 2000).
+	 */
+	public static void main(String[] args) throws Exception {
+		Matrice indefinie = new Matrice(new double[][] {{1, 2}, {2, 1}});
+		try {
+			new Cholesky(indefinie, new Vecteur(2)).factorLLt();
+		} catch (IrregularSysLinException e) {
+			System.out.println("Détection attendue : " + e.getMessage());
+		}
+
+		int[] ordres = {500, 1000, 2000};
+		if (args.length > 0) {
+			ordres = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				ordres[i] = Integer.parseInt(args[i]);
+			}
+		}
+		Random rand = new Random(11);
+		for (int n : ordres) {
+			Matrice B = new Matrice(n, n);
+			Vecteur b = new Vecteur(n);
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					B.remplaceCoef(i, j, 2 * rand.nextDouble() - 1);
+				}
+				b.remplaceCoef(i, 2 * rand.nextDouble() - 1);
+			}
+			Matrice A = Matrice.produit(B.transposee(), B);
+			for (int i = 0; i < n; i++) {
+				A.remplaceCoef(i, i, A.getCoef(i, i) + n);
+			}
+
+			Cholesky cholesky = new Cholesky(A, b);
+			LUPivot lu = new LUPivot(A, b);
+			Helder helder = new Helder(A, b, true);
+			double tCholesky = Double.MAX_VALUE, tLU = Double.MAX_VALUE, tHelder = Double.MAX_VALUE;
+			for (int essai = 0; essai < 3; essai++) {
+				long debut = System.nanoTime();
+				cholesky.factorLLt();
+				tCholesky = Math.min(tCholesky, System.nanoTime() - debut);
+				debut = System.nanoTime();
+				lu.factorLU();
+				tLU = Math.min(tLU, System.nanoTime() - debut);
+				if (essai == 0) {
+					debut = System.nanoTime();
+					helder.factorLDR();
+					tHelder = System.nanoTime() - debut;
+				}
+			}
+			Vecteur ecart = Vecteur.soustraction(cholesky.resolutionPartielle(), lu.resolutionPartielle());
+			System.out.printf("n = %d : Cholesky %.1f ms, LU %.1f ms, LDR compact %.1f ms, écart des solutions %.2e%n",
+					n, tCholesky / 1e6, tLU / 1e6, tHelder / 1e6, ecart.normeInfini());
+
+			for (int threads = 2; threads <= 32; threads *= 2) {
+				ForkJoinPool pool = new ForkJoinPool(threads);
+				double meilleur = Double.MAX_VALUE;
+				for (int essai = 0; essai < 3; essai++) {
+					long debut = System.nanoTime();
+					cholesky.factorLLtParallele(pool);
+					meilleur = Math.min(meilleur, System.nanoTime() - debut);
+				}
+				pool.shutdown();
+				System.out.printf("    %2d threads : %.1f ms, accélération x%.2f%n", threads, meilleur / 1e6, tCholesky / meilleur);
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package AlgLin;
+
+/**
+ * Tableaux de travail réutilisables d'une résolution à l'autre, passés à
+ * {@link SysLin#resolution(Vecteur, EspaceTravail)}.
+ * <p>
+ * Un solveur demande ses tableaux par numéro ; un tableau n'est alloué que s'il n'existe pas
+ * encore ou s'il est trop petit, puis conservé. Après une première résolution, les suivantes, pour
+ * des systèmes d'ordre au plus égal, n'allouent donc plus rien. Le contenu d'un tableau n'est pas
+ * conservé d'un appel à l'autre. Un même espace peut servir à des solveurs différents, mais pas à
+ * deux résolutions simultanées : il en faut un par thread.
+ *
+ * @author Syrder Baptichon
+ */
+public final class EspaceTravail {
+
+	/** Tableaux alloués, par numéro. */
+	private double[][] tableaux = new double[2][];
+
+	/**
+	 * Retourne le tableau de travail numéro indice, d'au moins taille coefficients.
+	 *
+	 * @param indice Le numéro du tableau, à partir de 0.
+	 * @param taille Le nombre de coefficients nécessaires.
+	 * @return Le tableau, de contenu quelconque.
+	 */
+	double[] tableau(int indice, int taille) {
+		if (indice >= tableaux.length) {
+			tableaux = java.util.Arrays.copyOf(tableaux, indice + 1);
+		}
+		double[] t = tableaux[indice];
+		if (t == null || t.length < taille) {
+			t = new double[taille];
+			tableaux[indice] = t;
+		}
+		return t;
+	}
+
+	/**
+	 * Retourne le nombre d'octets occupés par les tableaux de travail.
+	 *
+	 * @return La taille des tableaux alloués, en octets.
+	 */
+	public long getTaille() {
+		long taille = 0;
+		for (double[] t : tableaux) {
+			if (t != null) {
+				taille += 8L * t.length;
+			}
+		}
+		return taille;
+	}
+}
@@ -0,0 +1,143 @@
+package AlgLin;
+
+/**
+ * Estimation de la norme 1 de l'inverse d'une matrice déjà factorisée, sans former l'inverse,
+ * par l'algorithme de Hager amélioré par Higham (celui de la routine xLACON de LAPACK).
+ * <p>
+ * L'algorithme cherche le maximum de ||A^-1 x||_1 sur la boule unité de la norme 1 par une
+ * montée de type gradient : chaque itération demande une résolution avec A et une avec A^t, et
+ * il s'arrête dès que l'estimation ne progresse plus (au plus {@link #ITERATIONS_MAX}
+ * itérations). Une résolution supplémentaire avec un vecteur de signes alternés corrige les cas
+ * défavorables connus. Le coût total est de quelques résolutions en O(n^2), en général 4 ou 5.
+ * <p>
+ * <b>Précision :</b> le résultat est toujours une borne inférieure de ||A^-1||_1 (c'est la norme
+ * d'un vecteur A^-1 x avec ||x||_1 = 1). Il est exact dans la grande majorité des cas, et les
+ * essais de Higham (1988) sur de larges familles de matrices ne le trouvent pratiquement jamais
+ * inférieur au tiers de la valeur exacte. Le conditionnement estimé est donc compris entre
+ * cond / 3 et cond, sauf matrices construites pour mettre l'algorithme en défaut.
+ * <p>
+ * Comme ||A^-1||_inf = ||A^-t||_1, la même méthode estime la norme infinie en échangeant les
+ * résolutions avec A et avec A^t.
+ *
+ * @author Syrder Baptichon
+ */
+final class EstimateurConditionnement {
+
+	/** Nombre maximal d'itérations de la montée. */
+	static final int ITERATIONS_MAX = 5;
+
+	private EstimateurConditionnement() {
+	}
+
+	/**
+	 * Résolutions en place avec une matrice factorisée ou avec sa transposée.
+	 */
+	interface Solveur {
+		/**
+		 * Remplace x par A^-1 x, ou par A^-t x si transposee est vrai.
+		 */
+		void resoudre(double[] x, boolean transposee);
+	}
+
+	/**
+	 * Estime ||A^-1||_1.
+	 *
+	 * @param n Ordre de la matrice.
+	 * @param solveur Les résolutions avec A et A^t.
+	 * @return Une borne inférieure, en général exacte, de ||A^-1||_1.
+	 */
+	static double normeInverse1(int n, Solveur solveur) {
+		return estimer(n, solveur, false);
+	}
+
+	/**
+	 * Estime ||A^-1||_inf, c'est-à-dire ||A^-t||_1.
+	 *
+	 * @param n Ordre de la matrice.
+	 * @param solveur Les résolutions avec A et A^t.
+	 * @return Une borne inférieure, en général exacte, de ||A^-1||_inf.
+	 */
+	static double normeInverseInf(int n, Solveur solveur) {
+		return estimer(n, solveur, true);
+	}
+
+	/**
+	 * Estime ||B^-1||_1, où B est A (transposee faux) ou A^t (transposee vrai).
+	 */
+	private static double estimer(int n, Solveur solveur, boolean transposee) {
+		if (n == 0) {
+			return 0;
+		}
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		double[] x = new double[n];
+		double[] signes = new double[n];
+		java.util.Arrays.fill(x, 1.0 / n);
+
+		solveur.resoudre(x, transposee);
+		double estimation = noyau.sommeAbs(x, 0, n);
+		if (n == 1) {
+			return estimation;
+		}
+		for (int i = 0; i < n; i++) {
+			signes[i] = x[i] >= 0 ? 1 : -1;
+		}
+
+		// Indice du vecteur de base e_j courant, -1 pour le point de départ e / n
+		int courant = -1;
+		for (int iteration = 1; iteration < ITERATIONS_MAX; iteration++) {
+			// z = B^-t * signe(B^-1 x) : gradient de ||B^-1 x||_1
+			System.arraycopy(signes, 0, x, 0, n);
+			solveur.resoudre(x, !transposee);
+			int j = 0;
+			for (int i = 1; i < n; i++) {
+				if (Math.abs(x[i]) > Math.abs(x[j])) {
+					j = i;
+				}
+			}
+			// Maximum local : aucune direction ne fait mieux que le point courant
+			double pente = courant < 0 ? somme(x) / n : x[courant];
+			if (Math.abs(x[j]) <= pente || j == courant) {
+				break;
+			}
+			courant = j;
+			// Nouveau point : le vecteur de base e_j de plus forte pente
+			java.util.Arrays.fill(x, 0.0);
+			x[j] = 1.0;
+			solveur.resoudre(x, transposee);
+			double precedente = estimation;
+			estimation = noyau.sommeAbs(x, 0, n);
+			if (estimation <= precedente) {
+				estimation = precedente;
+				break;
+			}
+			boolean memesSignes = true;
+			for (int i = 0; i < n; i++) {
+				double s = x[i] >= 0 ? 1 : -1;
+				if (s != signes[i]) {
+					memesSignes = false;
+					signes[i] = s;
+				}
+			}
+			if (memesSignes) {
+				break;
+			}
+		}
+
+		// Vecteur de signes alternés et de modules croissants, qui met en défaut la montée sur
+		// certaines matrices : l'estimation retenue est la plus grande des deux
+		for (int i = 0; i < n; i++) {
+			x[i] = (i % 2 == 0 ? 1 : -1) * (1 + (double) i / (n - 1));
+		}
+		solveur.resoudre(x, transposee);
+		double alternee = 2 * noyau.sommeAbs(x, 0, n) / (3 * n);
+		return Math.max(estimation, alternee);
+	}
+
+	private static double somme(double[] x) {
+		double s = 0;
+		for (double v : x) {
+			s += v;
+		}
+		return s;
+	}
+}
@@ -0,0 +1,305 @@
+package AlgLin;
+
+import java.util.Random;
+
+/**
+ * Résolution d'un système quelconque (non symétrique) par la méthode GMRES(m) redémarrée.
+ * <p>
+ * Chaque cycle construit par le procédé d'Arnoldi (Gram-Schmidt modifié) une base orthonormée de
+ * l'espace de Krylov de dimension au plus m, puis choisit dans cet espace la solution qui minimise
+ * la norme du résidu ; les rotations de Givens appliquées au fur et à mesure à la matrice de
+ * Hessenberg donnent cette norme à chaque itération sans calculer la solution. Après m itérations,
+ * la solution est mise à jour et la méthode redémarre à partir d'elle, ce qui borne la mémoire à
+ * m + 1 vecteurs de taille n et le coût d'une itération à O(nnz + m n).
+ * <p>
+ * Le vrai résidu est recalculé à chaque redémarrage ; la résolution ne s'arrête que s'il vérifie
+ * la tolérance. Un départ proche de la solution ({@link #setSolutionInitiale(Vecteur)}) réduit le
+ * nombre de cycles.
+ *
+ * @author Syrder Baptichon
+ */
+public class GMRES extends SysLinIteratif {
+
+	/** Dimension par défaut de l'espace de Krylov avant redémarrage. */
+	public static final int REDEMARRAGE = 30;
+
+	private int m = REDEMARRAGE;
+
+	/** Base de Krylov (m + 1 vecteurs), résidu, vecteurs de travail. */
+	private Vecteur[] V;
+	private Vecteur r, w, z;
+
+	/** Matrice de Hessenberg ((m + 1) x m, rangée ligne par ligne), rotations de Givens, second membre réduit. */
+	private double[] h, cs, sn, g, y;
+
+	/**
+	 * Construit le système d'une matrice dense.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public GMRES(Matrice A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+	}
+
+	/**
+	 * Construit le système d'une matrice creuse.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public GMRES(MatriceCreuse A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+	}
+
+	/**
+	 * Construit le système d'un opérateur quelconque.
+	 *
+	 * @param A L'opérateur du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public GMRES(OperateurLineaire A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+	}
+
+	/**
+	 * Modifie la dimension de l'espace de Krylov avant redémarrage ({@link #REDEMARRAGE} par
+	 * défaut). Une valeur plus grande converge en moins d'itérations mais coûte m + 1 vecteurs de
+	 * mémoire et une orthogonalisation plus longue.
+	 * @param m La dimension, strictement positive.
+	 */
+	public void setRedemarrage(int m) {
+		if (m <= 0) {
+			throw new IllegalArgumentException("La dimension de redémarrage doit être strictement positive");
+		}
+		if (m != this.m) {
+			this.m = m;
+			this.V = null;
+		}
+	}
+
+	/**
+	 * Retourne la dimension de l'espace de Krylov avant redémarrage.
+	 * @return La dimension de redémarrage.
+	 */
+	public int getRedemarrage() {
+		return m;
+	}
+
+	/**
+	 * Cycles de GMRES(m).
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la tolérance n'est pas atteinte en {@link #getIterationsMax()}
+	 * itérations, ou si la matrice de Hessenberg réduite est singulière.
+	 */
+	@Override
+	protected Vecteur resoudre() throws IrregularSysLinException {
+		int n = getOrdre();
+		int mc = Math.min(m, n);
+		if (V == null || V.length != mc + 1) {
+			V = new Vecteur[mc + 1];
+			for (int i = 0; i <= mc; i++) {
+				V[i] = new Vecteur(n);
+			}
+			r = new Vecteur(n);
+			w = new Vecteur(n);
+			z = new Vecteur(n);
+			h = new double[(mc + 1) * mc];
+			cs = new double[mc];
+			sn = new double[mc];
+			g = new double[mc + 1];
+			y = new double[mc];
+		}
+		Vecteur x = new Vecteur(n);
+
+		double normeB = norme(secondMembre);
+		if (normeB == 0) {
+			noterResidu(0, 0);
+			return x;
+		}
+		// Norme de référence du résidu suivi : ||b||, ou ||M^-1 b|| à gauche
+		double reference = normeB;
+		if (!preconditionnementDroite) {
+			preconditionneur.appliquer(secondMembre, z);
+			reference = norme(z);
+		}
+		initialiser(x, r);
+		if (noterResidu(0, norme(r) / normeB)) {
+			return x;
+		}
+
+		while (iterations < getIterationsMax()) {
+			// Vecteur de départ du cycle : r, ou M^-1 r à gauche
+			Vecteur depart = r;
+			if (!preconditionnementDroite) {
+				preconditionneur.appliquer(r, z);
+				depart = z;
+			}
+			double beta = norme(depart);
+			System.arraycopy(depart.coefficient, 0, V[0].coefficient, 0, n);
+			echelle(1 / beta, V[0]);
+			java.util.Arrays.fill(g, 0.0);
+			g[0] = beta;
+
+			int k = 0;
+			while (k < mc && iterations < getIterationsMax()) {
+				int j = k++;
+				// w = A M^-1 v_j à droite, M^-1 A v_j à gauche
+				if (preconditionnementDroite) {
+					preconditionneur.appliquer(V[j], z);
+					appliquerOperateur(z, w);
+				} else {
+					appliquerOperateur(V[j], z);
+					preconditionneur.appliquer(z, w);
+				}
+				// Orthogonalisation de Gram-Schmidt modifiée
+				for (int i = 0; i <= j; i++) {
+					double hij = produitScalaire(w, V[i]);
+					h[i * mc + j] = hij;
+					axpy(-hij, V[i], w);
+				}
+				double suivant = norme(w);
+				h[(j + 1) * mc + j] = suivant;
+				if (suivant != 0) {
+					System.arraycopy(w.coefficient, 0, V[j + 1].coefficient, 0, n);
+					echelle(1 / suivant, V[j + 1]);
+				}
+				// Rotations de Givens : les précédentes, puis celle qui annule h(j + 1, j)
+				for (int i = 0; i < j; i++) {
+					double a = h[i * mc + j], b = h[(i + 1) * mc + j];
+					h[i * mc + j] = cs[i] * a + sn[i] * b;
+					h[(i + 1) * mc + j] = -sn[i] * a + cs[i] * b;
+				}
+				double a = h[j * mc + j], d = Math.hypot(a, suivant);
+				cs[j] = d == 0 ? 1 : a / d;
+				sn[j] = d == 0 ? 0 : suivant / d;
+				h[j * mc + j] = d;
+				h[(j + 1) * mc + j] = 0;
+				g[j + 1] = -sn[j] * g[j];
+				g[j] = cs[j] * g[j];
+
+				// |g(j + 1)| est la norme du résidu (préconditionné à gauche) de la solution du cycle
+				if (noterResidu(iterations + 1, Math.abs(g[j + 1]) / reference) || suivant == 0) {
+					break;
+				}
+			}
+
+			// Solution du cycle : y = H^-1 g, puis x += M^-1 V y (à droite) ou V y (à gauche)
+			for (int i = k - 1; i >= 0; i--) {
+				double s = g[i];
+				for (int l = i + 1; l < k; l++) {
+					s -= h[i * mc + l] * y[l];
+				}
+				if (h[i * mc + i] == 0) {
+					throw new IrregularSysLinException("Matrice singulière : échec de GMRES à l'itération " + iterations + ".");
+				}
+				y[i] = s / h[i * mc + i];
+			}
+			java.util.Arrays.fill(w.coefficient, 0.0);
+			for (int i = 0; i < k; i++) {
+				axpy(y[i], V[i], w);
+			}
+			if (preconditionnementDroite) {
+				preconditionneur.appliquer(w, z);
+				axpy(1, z, x);
+			} else {
+				axpy(1, w, x);
+			}
+
+			// Vrai résidu au redémarrage
+			calculerResidu(x, r);
+			residu = norme(r) / normeB;
+			if (residu <= getTolerance()) {
+				return x;
+			}
+		}
+		verifierConvergence();
+		return x;
+	}
+
+	/**
+	 * Construit la matrice creuse d'un problème de convection-diffusion 2D (différences finies à
+	 * 5 points, convection décentrée amont), non symétrique, sur une grille de cote x cote points.
+	 */
+	static MatriceCreuse convectionDiffusion(int cote, double convection) {
+		int n = cote * cote;
+		MatriceCreuse.Assembleur assembleur = new MatriceCreuse.Assembleur(n, n);
+		for (int i = 0; i < cote; i++) {
+			for (int j = 0; j < cote; j++) {
+				int k = i * cote + j;
+				assembleur.ajouter(k, k, 4 + convection);
+				if (i > 0) {
+					assembleur.ajouter(k, k - cote, -1);
+				}
+				if (i < cote - 1) {
+					assembleur.ajouter(k, k + cote, -1);
+				}
+				if (j > 0) {
+					assembleur.ajouter(k, k - 1, -1 - convection);
+				}
+				if (j < cote - 1) {
+					assembleur.ajouter(k, k + 1, -1);
+				}
+			}
+		}
+		return assembleur.construire();
+	}
+
+	/**
+	 * Méthode principale : compare GMRES(m) et BiCGSTAB, avec et sans préconditionneur, au
+	 * solveur direct LUPivot sur un problème de convection-diffusion, puis montre l'effet d'un
+	 * départ proche de la solution.
+	 */
+	public static void main(String[] args) throws Exception {
+		Random rand = new Random(42);
+		int cote = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+		MatriceCreuse A = convectionDiffusion(cote, 2.0);
+		int n = A.nbLigne();
+		Vecteur b = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			b.remplaceCoef(i, 2 * rand.nextDouble() - 1);
+		}
+		System.out.println("Convection-diffusion 2D, " + n + " inconnues");
+		System.out.println("méthode                 itérations  résidu      temps (ms)");
+
+		Matrice dense = A.versMatrice();
+		long t0 = System.nanoTime();
+		Vecteur xDirect = new LUPivot(dense, b).resolution();
+		long t1 = System.nanoTime();
+		System.out.printf("%-23s %10s  %.3e  %10.1f%n", "LUPivot (dense)", "-",
+				Vecteur.soustraction(A.produit(xDirect), b).normeL2() / b.normeL2(), (t1 - t0) / 1e6);
+
+		String[] noms = {"GMRES(30)", "GMRES(30) SSOR droite", "GMRES(30) SSOR gauche",
+				"BiCGSTAB", "BiCGSTAB SSOR droite", "BiCGSTAB SSOR gauche"};
+		Preconditionneur ssor = Preconditionneur.ssor(A, 1.0);
+		for (int essai = 0; essai < noms.length; essai++) {
+			SysLinIteratif s = essai < 3 ? new GMRES(A, b) : new BiCGSTAB(A, b);
+			if (essai % 3 != 0) {
+				s.setPreconditionneur(ssor);
+				s.setPreconditionnementDroite(essai % 3 == 1);
+			}
+			t0 = System.nanoTime();
+			Vecteur x = s.resolution();
+			t1 = System.nanoTime();
+			double res = Vecteur.soustraction(A.produit(x), b).normeL2() / b.normeL2();
+			System.out.printf("%-23s %10d  %.3e  %10.1f%n", noms[essai], s.getIterations(), res, (t1 - t0) / 1e6);
+		}
+
+		// Départ à chaud : second membre légèrement modifié
+		Vecteur b2 = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			b2.remplaceCoef(i, b.getCoef(i) * (1 + 1e-3 * rand.nextDouble()));
+		}
+		GMRES froid = new GMRES(A, b2);
+		froid.resolution();
+		GMRES chaud = new GMRES(A, b2);
+		chaud.setSolutionInitiale(xDirect);
+		chaud.resolution();
+		System.out.println("Départ à froid : " + froid.getIterations() + " itérations, départ à chaud : "
+				+ chaud.getIterations() + " itérations");
+	}
+}
@@ -1,9 +1,15 @@
 package AlgLin;
 
 import java.io.File;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * La classe {@code Helder} permet de résoudre un système linéaire en utilisant la factorisation LDR (L, D, R).
+ * <p>
+ * En mode compact, les trois facteurs sont rangés dans une seule matrice n x n : L (sans sa diagonale
+ * unitaire) sous la diagonale, D sur la diagonale et R (sans sa diagonale unitaire) au-dessus. Ce mode
+ * n'alloue qu'une matrice de travail au lieu de trois, ou aucune si la factorisation écrase la matrice
+ * du système, et parcourt la mémoire ligne par ligne.
  * @author Syrder BAPTICHON
  */
 public class Helder extends SysLin {
@@ -11,6 +17,24 @@ public class Helder extends SysLin {
 	private Matrice L;
     private Matrice D;
     private Matrice R;
+
+    /** Nombre de colonnes d'un panneau de la factorisation compacte. */
+    static final int NB = 128;
+
+    /** Indique si les facteurs sont rangés sous forme compacte dans {@link #LDR}. */
+    private final boolean compacte;
+
+    /** Facteurs L\D\R rangés dans une seule matrice (mode compact uniquement). */
+    private Matrice LDR;
+
+    /** Indique si les facteurs de la matrice du système ont été calculés. */
+    private boolean factorisee;
+
+    /** Indique si une factorisation sur place a déjà remplacé la matrice du système par ses facteurs. */
+    private boolean ecrasee;
+
+    /** Normes 1 et infinie de la matrice du système, relevées avant une factorisation sur place. */
+    private double norme1, normeInf;
     
     /**
      * Constructeur de la classe {@code Helder}.
@@ -21,23 +45,73 @@ public class Helder extends SysLin {
      * @throws Exception si une exception liée au système linéaire se produit.
      */
     public Helder(Matrice matriceSystem, Vecteur secondMembre) throws Exception  {
+        this(matriceSystem, secondMembre, false);
+    }
+
+    /**
+     * Constructeur de la classe {@code Helder} avec choix du rangement des facteurs.
+     * En mode compact, la factorisation est faite dans une copie de la matrice du système, allouée
+     * au premier appel de {@link #factorLDR()} ; la matrice du système n'est pas modifiée.
+     * 
+     * @param matriceSystem la matrice du système linéaire.
+     * @param secondMembre le vecteur représentant le second membre du système.
+     * @param compacte true pour ranger L, D et R dans une seule matrice.
+     * @throws Exception si une exception liée au système linéaire se produit.
+     */
+    public Helder(Matrice matriceSystem, Vecteur secondMembre, boolean compacte) throws Exception  {
         super(matriceSystem, secondMembre);
-        
-        this.L = new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne());
-        this.D = new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne());
-        this.R = new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne());
+        this.compacte = compacte;
+
+        if (!compacte) {
+            this.L = new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne());
+            this.D = new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne());
+            this.R = new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne());
+        }
+    }
+
+    /**
+     * Constructeur de la classe {@code Helder} en mode compact, avec une matrice de travail fournie.
+     * Les facteurs sont écrits dans {@code travail}, qui peut être la matrice du système elle-même :
+     * la factorisation se fait alors sur place, sans aucune allocation, et la matrice du système est
+     * remplacée par ses facteurs.
+     * 
+     * @param matriceSystem la matrice du système linéaire.
+     * @param secondMembre le vecteur représentant le second membre du système.
+     * @param travail la matrice n x n recevant les facteurs.
+     * @throws Exception si la matrice de travail n'a pas la taille du système.
+     */
+    public Helder(Matrice matriceSystem, Vecteur secondMembre, Matrice travail) throws Exception  {
+        this(matriceSystem, secondMembre, true);
+        if (travail.nbLigne() != getOrdre() || travail.nbColonne() != getOrdre()) {
+            throw new IrregularSysLinException("Matrice de travail de mauvaise taille.");
+        }
+        this.LDR = travail;
     }
 
     /**
      * Factorise la matrice du système en trois matrices L, D et R (LDR).
      * La matrice est factorisée en matrice triangulaire inférieure (L), diagonale (D) et 
      * triangulaire supérieure (R) à diagonale unitaire. Si la matrice est singulière ou presque singulière, une exception est lancée.
+     * Si un cache de factorisations est installé et contient les facteurs de la matrice, ils sont simplement recopiés.
      * 
      * @throws IrregularSysLinException si la matrice est singulière ou presque singulière.
      */
     public void factorLDR() throws IrregularSysLinException {
+        if (compacte) {
+            factorCompacte();
+            return;
+        }
         int n = getOrdre();
         Matrice A = this.matriceSystem;
+        CacheFactorisation cache = getCacheFactorisation();
+        CacheFactorisation.Cle cle = cache == null ? null : cache.cle("LDR", A);
+        Matrice compact = cle == null ? null : new Matrice(n, n);
+        if (cle != null && cache.charger(cle, compact, null)) {
+            deployer(compact);
+            factorisee = true;
+            return;
+        }
+        factorisee = false;
         double val = 0.0;
         double somme = 0.0;
 
@@ -95,6 +169,135 @@ public class Helder extends SysLin {
             this.L.remplaceCoef(i, i, 1);
             this.R.remplaceCoef(i, i, 1);
         }
+        verifierPivots();
+        factorisee = true;
+        if (cle != null) {
+            compacter(compact);
+            cache.enregistrer(cle, compact, null, false);
+        }
+    }
+
+    /**
+     * Vérifie, une fois pour toutes à la fin de la factorisation, qu'aucun coefficient de D n'est
+     * nul : les résolutions divisent ensuite par D sans contrôle. Des facteurs à pivot nul ne sont
+     * donc jamais marqués comme calculés ni retenus par le cache.
+     */
+    private void verifierPivots() throws IrregularSysLinException {
+        int n = getOrdre();
+        Matrice d = compacte ? LDR : D;
+        for (int i = 0; i < n; i++) {
+            if (d.coefficient[i * d.pas + i] == 0.0) {
+                throw new IrregularSysLinException("Pivot nul : factorisation LDR impossible sans pivotage.");
+            }
+        }
+    }
+
+    /**
+     * Range L, D et R dans une seule matrice, sous la forme compacte (le cache de factorisations
+     * retient les facteurs des deux modes sous cette forme).
+     */
+    private void compacter(Matrice compact) {
+        int n = getOrdre();
+        for (int i = 0; i < n; i++) {
+            int ligne = i * compact.pas;
+            System.arraycopy(L.coefficient, i * L.pas, compact.coefficient, ligne, i);
+            compact.coefficient[ligne + i] = D.coefficient[i * D.pas + i];
+            System.arraycopy(R.coefficient, i * R.pas + i + 1, compact.coefficient, ligne + i + 1, n - i - 1);
+        }
+    }
+
+    /**
+     * Recopie des facteurs rangés sous forme compacte dans L, D et R.
+     */
+    private void deployer(Matrice compact) {
+        int n = getOrdre();
+        for (int i = 0; i < n; i++) {
+            int ligne = i * compact.pas;
+            System.arraycopy(compact.coefficient, ligne, L.coefficient, i * L.pas, i);
+            L.coefficient[i * L.pas + i] = 1;
+            D.coefficient[i * D.pas + i] = compact.coefficient[ligne + i];
+            R.coefficient[i * R.pas + i] = 1;
+            System.arraycopy(compact.coefficient, ligne + i + 1, R.coefficient, i * R.pas + i + 1, n - i - 1);
+        }
+    }
+
+    /**
+     * Factorisation LDR sous forme compacte, par blocs de {@link #NB} colonnes. Le panneau courant
+     * est éliminé colonne par colonne (a_ik devient l_ik = a_ik / a_kk et la ligne i est mise à
+     * jour sur les colonnes du panneau) ; la bande de lignes située à sa droite est obtenue par une
+     * descente triangulaire, puis la sous-matrice restante est mise à jour par un seul produit
+     * matriciel. On obtient ainsi L et U = DR ; chaque ligne de U est enfin divisée par son
+     * coefficient diagonal pour donner R. Toutes les boucles internes portent sur des morceaux de
+     * lignes, donc sur des cases contiguës.
+     * <p>
+     * Si la factorisation se fait sur place, un second appel ne refait pas le calcul ; il lève de
+     * nouveau l'exception si le premier a trouvé un pivot nul.
+     */
+    private void factorCompacte() throws IrregularSysLinException {
+        int n = getOrdre();
+        Matrice A = this.matriceSystem;
+        if (LDR == A) {
+            if (factorisee) {
+                return;
+            }
+            if (ecrasee) {
+                throw new IrregularSysLinException("Pivot nul : factorisation LDR impossible sans pivotage.");
+            }
+            norme1 = A.norme_1();
+            normeInf = A.norme_inf();
+        } else if (LDR == null) {
+            LDR = new Matrice(n, n);
+        }
+        CacheFactorisation cache = getCacheFactorisation();
+        CacheFactorisation.Cle cle = cache == null ? null : cache.cle("LDR", A);
+        if (cle != null && cache.charger(cle, LDR, null)) {
+            factorisee = true;
+            return;
+        }
+        factorisee = false;
+        if (LDR != A) {
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(A.coefficient, i * A.pas, LDR.coefficient, i * LDR.pas, n);
+            }
+        }
+        ecrasee = LDR == A;
+
+        NoyauCalcul noyau = NoyauCalcul.actif();
+        double[] a = LDR.coefficient;
+        int pas = LDR.pas;
+        for (int k0 = 0; k0 < n; k0 += NB) {
+            int suite = Math.min(k0 + NB, n);
+            for (int k = k0; k < suite; k++) {
+                int kk = k * pas + k;
+                double d = a[kk];
+                for (int i = k + 1; i < n; i++) {
+                    int ik = i * pas + k;
+                    double t = a[ik] / d;
+                    a[ik] = t;
+                    if (t != 0) {
+                        noyau.axpy(-t, a, kk + 1, a, ik + 1, suite - k - 1);
+                    }
+                }
+            }
+            if (suite < n) {
+                // U12 = L11^-1 * A12, puis A22 -= L21 * U12
+                ResolutionBloc.descente(suite - k0, n - suite, a, k0 * pas + k0, pas, true, a, k0 * pas + suite, pas);
+                ProduitMatriciel.gemm(n - suite, n - suite, suite - k0, -1.0,
+                        a, suite * pas + k0, pas,
+                        a, k0 * pas + suite, pas,
+                        1.0, a, suite * pas + suite, pas);
+            }
+        }
+        // R = D^-1 * U
+        for (int k = 0; k < n; k++) {
+            int kk = k * pas + k;
+            noyau.echelle(1 / a[kk], a, kk + 1, n - k - 1);
+        }
+        verifierPivots();
+        factorisee = true;
+        if (cle != null) {
+            cache.enregistrer(cle, LDR, null, false);
+        }
     }
    
 
@@ -112,35 +315,180 @@ public class Helder extends SysLin {
         return resolutionPartielle();
     }
 
+    /**
+     * Résout le système dans un vecteur fourni, sans allocation ni système intermédiaire : descente,
+     * division par D et remontée se font sur place, à partir des facteurs (dans l'un ou l'autre
+     * mode). Comme pour {@link LUPivot}, la matrice n'est factorisée qu'au premier appel : après une
+     * modification de la matrice du système, appeler {@link #factorLDR()}.
+     * 
+     * @param solution le vecteur recevant la solution ; il peut être le second membre.
+     * @param travail non utilisé.
+     * @return le vecteur solution.
+     * @throws IrregularSysLinException si la solution n'a pas la bonne taille ou si D a un coefficient nul.
+     */
+    @Override
+    public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+        verifierSolution(solution);
+        if (!factorisee) {
+            factorLDR();
+        }
+        if (solution != secondMembre) {
+            System.arraycopy(secondMembre.coefficient, 0, solution.coefficient, 0, getOrdre());
+        }
+        resoudreSurPlace(solution.coefficient, false);
+        return solution;
+    }
+
     /**
      * Résout le système linéaire en utilisant les matrices L, D et R déjà factorisées.
      * Cette méthode suppose que la matrice du système a déjà été factorisée en L, D et R.
+     * Descente Ly = b, division par D puis remontée Rx = z se font sur place dans la solution,
+     * chaque étape étant un produit scalaire sur un morceau de ligne, sans système intermédiaire.
      * 
      * @return le vecteur solution du système.
-     * @throws IrregularSysLinException si le système est irrégulier.
+     * @throws IrregularSysLinException si la matrice n'a pas été factorisée ou si D a un coefficient nul.
      */
     public Vecteur resolutionPartielle() throws IrregularSysLinException {     
-        // Résolution Ly = b
-        SysTriangInfUnite sysL = new SysTriangInfUnite(L, secondMembre);
-        Vecteur y = sysL.resolution();
+        if (!factorisee) {
+            throw new IrregularSysLinException("Matrice non factorisée.");
+        }
+        Vecteur x = new Vecteur(getOrdre());
+        System.arraycopy(secondMembre.coefficient, 0, x.coefficient, 0, getOrdre());
+        resoudreSurPlace(x.coefficient, false);
+        return x;
+    }
+  
 
-        // Résolution Dz = y
-        SysDiagonal sysD = new SysDiagonal(D, y);
-        Vecteur z = sysD.resolution();
+    /**
+     * Résout le système pour plusieurs seconds membres à la fois, rangés en colonnes, à partir des
+     * facteurs déjà calculés. Les trois étapes (descente, division par D, remontée) sont faites
+     * par blocs sur toutes les colonnes ensemble, l'essentiel du calcul passant par le produit
+     * matriciel par blocs.
+     * 
+     * @param secondsMembres la matrice n x k dont les colonnes sont les seconds membres.
+     * @return la matrice n x k dont les colonnes sont les solutions.
+     * @throws IrregularSysLinException si la matrice n'a pas été factorisée ou si D a un coefficient nul.
+     */
+    public Matrice resolutionPartielle(Matrice secondsMembres) throws IrregularSysLinException {
+        return resolutionPartielle(secondsMembres, null);
+    }
 
-        // Résolution Rx = z
-        SysTriangSupUnite sysR = new SysTriangSupUnite(R, z);
-        return sysR.resolution();
+    /**
+     * Résout le système pour plusieurs seconds membres, les colonnes étant réparties entre les
+     * threads du pool commun.
+     * 
+     * @param secondsMembres la matrice n x k dont les colonnes sont les seconds membres.
+     * @return la matrice n x k dont les colonnes sont les solutions.
+     * @throws IrregularSysLinException si la matrice n'a pas été factorisée ou si D a un coefficient nul.
+     * @see #resolutionPartielle(Matrice)
+     */
+    public Matrice resolutionPartielleParallele(Matrice secondsMembres) throws IrregularSysLinException {
+        return resolutionPartielle(secondsMembres, ForkJoinPool.commonPool());
     }
-  
 
     /**
-     * Modifie le second membre du système.
+     * Résout le système pour plusieurs seconds membres, les colonnes étant réparties entre les
+     * threads du pool donné.
      * 
-     * @param secondMembre le nouveau vecteur représentant le second membre du système.
+     * @param secondsMembres la matrice n x k dont les colonnes sont les seconds membres.
+     * @param pool le pool qui exécute les calculs.
+     * @return la matrice n x k dont les colonnes sont les solutions.
+     * @throws IrregularSysLinException si la matrice n'a pas été factorisée ou si D a un coefficient nul.
+     * @see #resolutionPartielle(Matrice)
      */
-    public void setSecondMembre(Vecteur secondMembre) {
-        this.secondMembre = secondMembre;
+    public Matrice resolutionPartielleParallele(Matrice secondsMembres, ForkJoinPool pool) throws IrregularSysLinException {
+        return resolutionPartielle(secondsMembres, pool);
+    }
+
+    /**
+     * Résolution à plusieurs seconds membres, séquentielle si le pool est null.
+     */
+    private Matrice resolutionPartielle(Matrice secondsMembres, ForkJoinPool pool) throws IrregularSysLinException {
+        if (!factorisee) {
+            throw new IrregularSysLinException("Matrice non factorisée.");
+        }
+        int n = getOrdre();
+        Matrice l = compacte ? LDR : L, d = compacte ? LDR : D, r = compacte ? LDR : R;
+        ResolutionBloc.verifierDiagonale(n, d.coefficient, 0, d.pas + 1);
+        Matrice X = ResolutionBloc.copieSecondsMembres(n, secondsMembres);
+        double[] x = X.coefficient;
+        int ldx = X.pas;
+        ResolutionBloc.parColonnes(X.nbColonne(), (j0, j1) -> {
+            ResolutionBloc.descente(n, j1 - j0, l.coefficient, 0, l.pas, true, x, j0, ldx);
+            ResolutionBloc.diagonale(n, j1 - j0, d.coefficient, 0, d.pas + 1, x, j0, ldx);
+            ResolutionBloc.remontee(n, j1 - j0, r.coefficient, 0, r.pas, true, x, j0, ldx);
+        }, pool);
+        return X;
+    }
+
+    /**
+     * Remplace x par A^-1 x, ou par A^-t x, à partir des facteurs déjà calculés (dans l'un ou
+     * l'autre mode). Pour A^t = R^t D L^t, les systèmes R^t et L^t sont résolus par colonnes :
+     * chaque inconnue obtenue est retranchée des équations suivantes à l'aide d'une ligne de R
+     * ou de L, ce qui garde des accès contigus.
+     */
+    private void resoudreSurPlace(double[] v, boolean transposee) {
+        int n = getOrdre();
+        NoyauCalcul noyau = NoyauCalcul.actif();
+        Matrice l = compacte ? LDR : L, d = compacte ? LDR : D, r = compacte ? LDR : R;
+        if (!transposee) {
+            // Résolution Ly = b
+            for (int i = 0; i < n; i++) {
+                v[i] -= noyau.produitScalaire(l.coefficient, i * l.pas, v, 0, i);
+            }
+            // Résolution Dz = y
+            for (int i = 0; i < n; i++) {
+                v[i] /= d.coefficient[i * d.pas + i];
+            }
+            // Résolution Rx = z
+            for (int i = n - 2; i >= 0; i--) {
+                v[i] -= noyau.produitScalaire(r.coefficient, i * r.pas + i + 1, v, i + 1, n - i - 1);
+            }
+        } else {
+            // Résolution R^t y = b
+            for (int i = 0; i < n - 1; i++) {
+                noyau.axpy(-v[i], r.coefficient, i * r.pas + i + 1, v, i + 1, n - i - 1);
+            }
+            // Résolution Dz = y
+            for (int i = 0; i < n; i++) {
+                v[i] /= d.coefficient[i * d.pas + i];
+            }
+            // Résolution L^t x = z
+            for (int i = n - 1; i > 0; i--) {
+                noyau.axpy(-v[i], l.coefficient, i * l.pas, v, 0, i);
+            }
+        }
+    }
+
+    /**
+     * Estime le conditionnement en norme 1 à partir de la factorisation déjà calculée, sans
+     * former l'inverse : quelques résolutions en O(n^2) (voir {@link EstimateurConditionnement}
+     * pour la précision de l'estimation, qui est une borne inférieure en général exacte).
+     * 
+     * @return une estimation de ||A||_1 * ||A^-1||_1.
+     * @throws IrregularSysLinException si la matrice n'a pas été factorisée.
+     */
+    public double estimationCond_1() throws IrregularSysLinException {
+        if (!factorisee) {
+            throw new IrregularSysLinException("Matrice non factorisée.");
+        }
+        double norme = compacte && LDR == matriceSystem ? norme1 : matriceSystem.norme_1();
+        return norme * EstimateurConditionnement.normeInverse1(getOrdre(), this::resoudreSurPlace);
+    }
+
+    /**
+     * Estime le conditionnement en norme infinie à partir de la factorisation déjà calculée.
+     * 
+     * @return une estimation de ||A||_inf * ||A^-1||_inf.
+     * @throws IrregularSysLinException si la matrice n'a pas été factorisée.
+     * @see #estimationCond_1()
+     */
+    public double estimationCond_inf() throws IrregularSysLinException {
+        if (!factorisee) {
+            throw new IrregularSysLinException("Matrice non factorisée.");
+        }
+        double norme = compacte && LDR == matriceSystem ? normeInf : matriceSystem.norme_inf();
+        return norme * EstimateurConditionnement.normeInverseInf(getOrdre(), this::resoudreSurPlace);
     }
     
     /**
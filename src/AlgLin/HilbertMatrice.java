@@ -15,7 +15,7 @@ public class HilbertMatrice extends Matrice {
 		}
 		for (int i = 0; i < ordre; i++) {
 			for (int j = 0; j < ordre; j++) {
-				coefficient[i][j] = 1.0 / (i + j + 1);
+				coefficient[i * pas + j] = 1.0 / (i + j + 1);
 			}
 		}
 	}
@@ -37,7 +37,7 @@ public class HilbertMatrice extends Matrice {
 				System.out.println(produit(hilbertMatrice, inverseHilbert));
 	
 				// Produit de d et son inverse
-				Matrice produitParInverse = Matrice.produit(hilbertMatrice, inverseHilbert);
+				Matrice produitParInverse = Matrice.produitParallele(hilbertMatrice, inverseHilbert);
 
 				// Création de la matrice identité de même taille
 				Matrice identite = new Matrice(ordre, ordre);
@@ -0,0 +1,111 @@
+package AlgLin;
+
+/**
+ * Résolution d'un système par la méthode de Jacobi, éventuellement amortie :
+ * x(k+1) = x(k) + omega D^-1 (b - A x(k)), où D est la diagonale de A. Chaque balayage coûte un
+ * produit matrice-vecteur et une mise à jour de vecteur.
+ * <p>
+ * La méthode converge pour une matrice à diagonale strictement dominante (les systèmes des
+ * splines cubiques, par exemple), avec un taux égal au rayon spectral de I - omega D^-1 A. Elle
+ * tient ses deux tampons, la solution et le résidu, séparés : le résidu est calculé entièrement à
+ * partir de x(k) avant que x ne soit corrigé, si bien que toutes les lignes sont indépendantes et
+ * que {@link #resolutionParallele(java.util.concurrent.ForkJoinPool)} les répartit librement entre
+ * les threads. Le résidu de chaque balayage sert aussi au suivi de la convergence, sans calcul
+ * supplémentaire.
+ * <p>
+ * Remplacer D par un préconditionneur M ({@link #setPreconditionneur(Preconditionneur)}) donne
+ * la méthode de Richardson préconditionnée x(k+1) = x(k) + omega M^-1 (b - A x(k)).
+ *
+ * @author Syrder Baptichon
+ */
+public class Jacobi extends SysLinIteratif {
+
+	/** Paramètre d'amortissement. */
+	private double relaxation = 1;
+
+	/** Vecteurs de travail : résidu et correction M^-1 r. */
+	private Vecteur r, z;
+
+	/**
+	 * Construit le système d'une matrice dense, tridiagonale ({@link Mat3Diag}) ou bande ({@link MatBande}).
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles ou si un coefficient diagonal est nul.
+	 */
+	public Jacobi(Matrice A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+		this.preconditionneur = Preconditionneur.jacobi(A);
+	}
+
+	/**
+	 * Construit le système d'une matrice creuse.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles ou si un coefficient diagonal est nul.
+	 */
+	public Jacobi(MatriceCreuse A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+		this.preconditionneur = Preconditionneur.jacobi(A);
+	}
+
+	/**
+	 * Modifie le paramètre d'amortissement (1 par défaut). Un amortissement inférieur à 1 peut
+	 * rendre la méthode convergente quand les valeurs propres de D^-1 A dépassent 2, au prix d'un
+	 * taux de convergence plus lent.
+	 * @param omega Le paramètre, dans ]0, 1].
+	 */
+	public void setRelaxation(double omega) {
+		if (!(omega > 0 && omega <= 1)) {
+			throw new IllegalArgumentException("Le paramètre d'amortissement doit être dans ]0, 1]");
+		}
+		this.relaxation = omega;
+	}
+
+	/**
+	 * Retourne le paramètre d'amortissement.
+	 * @return Le paramètre d'amortissement.
+	 */
+	public double getRelaxation() {
+		return relaxation;
+	}
+
+	/**
+	 * Balayages de Jacobi.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la tolérance n'est pas atteinte en {@link #getIterationsMax()}
+	 * balayages, ou si les itérations divergent.
+	 */
+	@Override
+	protected Vecteur resoudre() throws IrregularSysLinException {
+		int n = getOrdre();
+		if (r == null) {
+			r = new Vecteur(n);
+			z = new Vecteur(n);
+		}
+		Vecteur x = new Vecteur(n);
+
+		double normeB = norme(secondMembre);
+		if (normeB == 0) {
+			noterResidu(0, 0);
+			return x;
+		}
+		initialiser(x, r);
+		for (int k = 0;; k++) {
+			double residuRelatif = norme(r) / normeB;
+			if (noterResidu(k, residuRelatif) || k == getIterationsMax()) {
+				break;
+			}
+			if (!Double.isFinite(residuRelatif)) {
+				throw new IrregularSysLinException("La méthode de Jacobi diverge au balayage " + k + ".");
+			}
+			preconditionneur.appliquer(r, z);
+			axpy(relaxation, z, x);
+			calculerResidu(x, r);
+		}
+		verifierConvergence();
+		return x;
+	}
+}
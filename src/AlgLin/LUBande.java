@@ -0,0 +1,299 @@
+package AlgLin;
+
+import java.util.Random;
+
+/**
+ * Résolution d'un système à matrice bande ({@link MatBande}) par factorisation LU en bande,
+ * avec ou sans pivotage partiel, en O(n kl (kl + ku)) opérations et O(n (kl + ku)) mémoire au
+ * lieu des O(n^3) et O(n^2) d'un solveur dense.
+ * <p>
+ * Les facteurs sont rangés comme dans LAPACK (dgbtrf) : chaque colonne de la bande est contiguë,
+ * et les lignes échangées par le pivotage peuvent faire déborder U de kl diagonales au-dessus de
+ * la bande de A ; la matrice de travail compte donc 2 kl + ku + 1 diagonales avec pivotage,
+ * kl + ku + 1 sans. L'élimination de la colonne j met à jour, colonne par colonne, le bloc
+ * kl x (ku + kl) qui la suit par des mises à jour de vecteurs contigus.
+ * <p>
+ * Sans pivotage et pour kl = ku = 1, l'élimination est celle de la méthode de {@link Thomas} et
+ * donne les mêmes résultats, aux arrondis près. Le pivotage, activé par défaut, permet de
+ * factoriser toute matrice inversible, même de mineurs principaux nuls ;
+ * il peut être désactivé pour une matrice à diagonale dominante ou symétrique définie positive,
+ * dont la bande de U reste alors celle de A. La factorisation n'est faite qu'une fois : après un
+ * changement de second membre, une résolution coûte O(n (2 kl + ku)).
+ *
+ * @author Syrder Baptichon
+ */
+public class LUBande extends SysLin {
+
+	/** Indique si la factorisation cherche un pivot dans chaque colonne. */
+	private final boolean pivotage;
+
+	/** Nombres de sous-diagonales et de sur-diagonales de A. */
+	private final int kl, ku;
+
+	/** Nombre de sur-diagonales de U : ku, plus kl avec pivotage. */
+	private final int kv;
+
+	/** Nombre de coefficients d'une colonne de la bande des facteurs. */
+	private final int hauteur;
+
+	/** Facteurs, colonne par colonne : le coefficient (i, j) est à l'indice j * hauteur + kv + i - j. */
+	private double[] lu;
+
+	/** pivots[j] est la ligne échangée avec la ligne j lors de l'élimination de la colonne j. */
+	private final int[] pivots;
+
+	/** Indique si {@link #lu} contient les facteurs de la matrice du système. */
+	private boolean factorisee;
+
+	/**
+	 * Construit le système, résolu avec pivotage partiel.
+	 *
+	 * @param matriceSystem La matrice bande du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si la taille du second membre ne correspond pas à l'ordre de la matrice.
+	 */
+	public LUBande(MatBande matriceSystem, Vecteur secondMembre) throws IrregularSysLinException {
+		this(matriceSystem, secondMembre, true);
+	}
+
+	/**
+	 * Construit le système.
+	 *
+	 * @param matriceSystem La matrice bande du système.
+	 * @param secondMembre Le second membre du système.
+	 * @param pivotage true pour le pivotage partiel, false pour éliminer dans l'ordre naturel.
+	 * @throws IrregularSysLinException Si la taille du second membre ne correspond pas à l'ordre de la matrice.
+	 */
+	public LUBande(MatBande matriceSystem, Vecteur secondMembre, boolean pivotage) throws IrregularSysLinException {
+		super(matriceSystem.getOrdre(), secondMembre);
+		this.matriceSystem = matriceSystem;
+		this.pivotage = pivotage;
+		this.kl = matriceSystem.getNbSousDiagonales();
+		this.ku = matriceSystem.getNbSurDiagonales();
+		this.kv = pivotage ? ku + kl : ku;
+		this.hauteur = kv + kl + 1;
+		this.pivots = new int[getOrdre()];
+	}
+
+	/**
+	 * Factorise la matrice du système, recopiée dans la bande des facteurs : PA = LU.
+	 *
+	 * @throws IrregularSysLinException Si un pivot est nul (matrice singulière, ou, sans pivotage,
+	 * mineur principal nul).
+	 */
+	public void factorLU() throws IrregularSysLinException {
+		int n = getOrdre();
+		if (lu == null) {
+			lu = new double[n * hauteur];
+		}
+		double[] a = lu;
+		MatBande A = (MatBande) matriceSystem;
+		double[] bande = A.coefficient;
+		int pas = A.pas;
+		// Recopie des colonnes de A sous les kv - ku diagonales réservées au remplissage
+		java.util.Arrays.fill(a, 0.0);
+		for (int j = 0; j < n; j++) {
+			for (int i = Math.max(0, j - ku); i <= Math.min(n - 1, j + kl); i++) {
+				a[j * hauteur + kv + i - j] = bande[(ku + i - j) * pas + j];
+			}
+		}
+
+		// Dernière colonne atteinte par les échanges de lignes déjà faits
+		int ju = 0;
+		for (int j = 0; j < n; j++) {
+			int km = Math.min(kl, n - 1 - j);
+			int jj = j * hauteur + kv;
+			int p = 0;
+			if (pivotage) {
+				double max = Math.abs(a[jj]);
+				for (int t = 1; t <= km; t++) {
+					if (Math.abs(a[jj + t]) > max) {
+						max = Math.abs(a[jj + t]);
+						p = t;
+					}
+				}
+			}
+			pivots[j] = j + p;
+			if (a[jj + p] == 0) {
+				factorisee = false;
+				throw new IrregularSysLinException("Pivot nul à la colonne " + j + ".");
+			}
+			ju = Math.max(ju, Math.min(j + ku + p, n - 1));
+			if (p != 0) {
+				// Échange des lignes j et j + p sur les colonnes j à ju
+				for (int c = j; c <= ju; c++) {
+					int k = c * hauteur + kv + j - c;
+					double t = a[k];
+					a[k] = a[k + p];
+					a[k + p] = t;
+				}
+			}
+			if (km > 0) {
+				double inverse = 1 / a[jj];
+				for (int t = 1; t <= km; t++) {
+					a[jj + t] *= inverse;
+				}
+				for (int c = j + 1; c <= ju; c++) {
+					int k = c * hauteur + kv + j - c;
+					double f = a[k];
+					if (f != 0) {
+						for (int t = 1; t <= km; t++) {
+							a[k + t] -= f * a[jj + t];
+						}
+					}
+				}
+			}
+		}
+		factorisee = true;
+	}
+
+	/**
+	 * Résout le système, en factorisant la matrice au premier appel seulement.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la matrice est singulière.
+	 */
+	@Override
+	public Vecteur resolution() throws IrregularSysLinException {
+		if (!factorisee) {
+			factorLU();
+		}
+		return resolutionPartielle();
+	}
+
+	/**
+	 * Résout le système à partir des facteurs déjà calculés : descente Ly = Pb, les échanges de
+	 * lignes étant appliqués au fil de l'élimination, puis remontée Ux = y.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 */
+	public Vecteur resolutionPartielle() throws IrregularSysLinException {
+		if (!factorisee) {
+			throw new IrregularSysLinException("Matrice non factorisée.");
+		}
+		return resoudre(new Vecteur(getOrdre()));
+	}
+
+	/**
+	 * Résout le système dans un vecteur fourni, sans allocation, en factorisant la matrice au
+	 * premier appel seulement.
+	 *
+	 * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+	 * @param travail Non utilisé.
+	 * @return Le vecteur solution.
+	 * @throws IrregularSysLinException Si la matrice est singulière ou si la solution n'a pas la bonne taille.
+	 */
+	@Override
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+		verifierSolution(solution);
+		if (!factorisee) {
+			factorLU();
+		}
+		return resoudre(solution);
+	}
+
+	/**
+	 * Descente et remontée sur place dans la solution, initialisée au second membre.
+	 */
+	private Vecteur resoudre(Vecteur solution) {
+		int n = getOrdre();
+		double[] x = solution.coefficient, a = lu;
+		if (solution != secondMembre) {
+			System.arraycopy(secondMembre.coefficient, 0, x, 0, n);
+		}
+		for (int j = 0; j < n - 1; j++) {
+			int p = pivots[j];
+			if (p != j) {
+				double t = x[p];
+				x[p] = x[j];
+				x[j] = t;
+			}
+			double xj = x[j];
+			int l = j * hauteur + kv;
+			for (int t = 1; t <= Math.min(kl, n - 1 - j); t++) {
+				x[j + t] -= xj * a[l + t];
+			}
+		}
+		for (int j = n - 1; j >= 0; j--) {
+			int jj = j * hauteur + kv;
+			double xj = x[j] / a[jj];
+			x[j] = xj;
+			for (int t = 1; t <= Math.min(kv, j); t++) {
+				x[j - t] -= xj * a[jj - t];
+			}
+		}
+		return solution;
+	}
+
+	/**
+	 * Compare la factorisation en bande à la méthode de Thomas (kl = ku = 1) et à {@link LUPivot}
+	 * sur la matrice dense équivalente, puis mesure la résolution de systèmes pentadiagonaux de
+	 * grande taille.
+	 */
+	public static void main(String[] args) throws Exception {
+		Random rand = new Random(42);
+
+		// kl = ku = 1 : mêmes résultats que Thomas
+		int n = 1000;
+		Mat3Diag T = new Mat3Diag(n);
+		Vecteur b = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			T.remplaceCoef(0, i, i > 0 ? rand.nextDouble() : 0);
+			T.remplaceCoef(1, i, 2 + rand.nextDouble());
+			T.remplaceCoef(2, i, i < n - 1 ? rand.nextDouble() : 0);
+			b.remplaceCoef(i, rand.nextDouble());
+		}
+		Vecteur xThomas = new Thomas(T, b).resolution();
+		Vecteur xBande = new LUBande(new MatBande(T), b, false).resolution();
+		Vecteur xPivot = new LUBande(new MatBande(T), b).resolution();
+		System.out.println("Tridiagonal, n = " + n + " : écart à Thomas "
+				+ Vecteur.soustraction(xThomas, xBande).normeInfini() + " sans pivotage, "
+				+ Vecteur.soustraction(xThomas, xPivot).normeInfini() + " avec pivotage");
+
+		// Bande générale non symétrique, comparée au solveur dense
+		n = 800;
+		int kl = 2, ku = 3;
+		MatBande B = new MatBande(n, kl, ku);
+		b = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			for (int j = Math.max(0, i - kl); j <= Math.min(n - 1, i + ku); j++) {
+				B.remplaceElement(i, j, 2 * rand.nextDouble() - 1);
+			}
+			b.remplaceCoef(i, rand.nextDouble());
+		}
+		long debut = System.nanoTime();
+		Vecteur xDense = new LUPivot(B.versMatrice(), b).resolution();
+		double tDense = (System.nanoTime() - debut) / 1e6;
+		debut = System.nanoTime();
+		Vecteur x = new LUBande(B, b).resolution();
+		double tBande = (System.nanoTime() - debut) / 1e6;
+		Vecteur r = Vecteur.soustraction(MatBande.produit_par_vecteur(B, x), b);
+		System.out.printf("Bande kl = %d, ku = %d, n = %d : LUPivot dense %.1f ms, LUBande %.2f ms, écart %.2e, résidu %.2e%n",
+				kl, ku, n, tDense, tBande, Vecteur.soustraction(xDense, x).normeInfini(), r.normeInfini());
+
+		// Systèmes pentadiagonaux de grande taille
+		for (int taille : new int[] {100000, 1000000}) {
+			MatBande P = new MatBande(taille, 2, 2);
+			Vecteur c = new Vecteur(taille);
+			for (int i = 0; i < taille; i++) {
+				for (int j = Math.max(0, i - 2); j <= Math.min(taille - 1, i + 2); j++) {
+					P.remplaceElement(i, j, i == j ? 6 : -1);
+				}
+				c.remplaceCoef(i, rand.nextDouble());
+			}
+			for (boolean pivotage : new boolean[] {false, true}) {
+				LUBande sys = new LUBande(P, c, pivotage);
+				debut = System.nanoTime();
+				sys.factorLU();
+				double tFacto = (System.nanoTime() - debut) / 1e6;
+				debut = System.nanoTime();
+				Vecteur y = sys.resolutionPartielle();
+				double tRes = (System.nanoTime() - debut) / 1e6;
+				Vecteur res = Vecteur.soustraction(MatBande.produit_par_vecteur(P, y), c);
+				System.out.printf("Pentadiagonal, n = %d, pivotage %s : factorisation %.1f ms, résolution %.1f ms, résidu %.2e%n",
+						taille, pivotage, tFacto, tRes, res.normeInfini());
+			}
+		}
+	}
+}
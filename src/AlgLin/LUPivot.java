@@ -0,0 +1,577 @@
+package AlgLin;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Résolution d'un système linéaire par factorisation LU avec pivotage partiel : PA = LU, où P est
+ * une permutation des lignes, L une matrice triangulaire inférieure à diagonale unitaire et U une
+ * matrice triangulaire supérieure.
+ * <p>
+ * La factorisation est faite par blocs de {@link #NB} colonnes, de gauche à droite : le panneau
+ * courant est factorisé colonne par colonne (recherche du pivot, échange de lignes), la bande de U
+ * à sa droite est obtenue par une descente triangulaire, puis toute la sous-matrice restante est
+ * mise à jour par un seul produit matriciel A22 -= L21 * U12 confié à {@link ProduitMatriciel}.
+ * L'essentiel des opérations passe ainsi par le noyau de produit par blocs.
+ * <p>
+ * Les facteurs sont rangés dans une seule matrice (L strictement sous la diagonale, U au-dessus et
+ * sur la diagonale). La factorisation n'est faite qu'une fois : les appels suivants à
+ * {@link #resolution()}, après un changement de second membre, ne coûtent que O(n^2).
+ * <p>
+ * La variante parallèle {@link #factorLUParallele(ForkJoinPool)} découpe la mise à jour de la
+ * sous-matrice restante en tâches par blocs de colonnes, et anticipe d'un panneau : pendant que le
+ * pool met à jour les colonnes situées au-delà du panneau suivant, le thread appelant met à jour ce
+ * panneau et le factorise. Les échanges de lignes de ce panneau sont limités à ses propres colonnes
+ * pendant le calcul, puis appliqués au reste de la matrice une fois toutes les tâches terminées.
+ *
+ * @author Syrder Baptichon
+ */
+public class LUPivot extends SysLin {
+
+	/** Nombre de colonnes d'un panneau factorisé d'un bloc. */
+	static final int NB = 128;
+
+	/** Matrice recevant les facteurs L et U. */
+	private final Matrice LU;
+
+	/** permutation[i] est l'indice, dans le système d'origine, de la ligne i de PA. */
+	private final int[] permutation;
+
+	/** pivots[j] est la ligne échangée avec la ligne j lors de l'élimination de la colonne j. */
+	private final int[] pivots;
+
+	/** Indique si {@link #LU} contient les facteurs de la matrice du système. */
+	private boolean factorisee;
+
+	/** Indique si une factorisation sur place a déjà remplacé la matrice du système par ses facteurs. */
+	private boolean ecrasee;
+
+	/** Normes 1 et infinie de la matrice du système, relevées avant une factorisation sur place. */
+	private double norme1, normeInf;
+
+	/** Clé de la factorisation en cours dans le cache de factorisations, ou null. */
+	private CacheFactorisation.Cle cle;
+
+	/**
+	 * Construit le système ; la factorisation sera faite dans une copie de la matrice du système,
+	 * qui n'est donc pas modifiée.
+	 *
+	 * @param matriceSystem La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si la matrice n'est pas carrée ou si sa taille ne correspond pas à celle du second membre.
+	 */
+	public LUPivot(Matrice matriceSystem, Vecteur secondMembre) throws IrregularSysLinException {
+		this(matriceSystem, secondMembre, new Matrice(matriceSystem.nbLigne(), matriceSystem.nbColonne()));
+	}
+
+	/**
+	 * Construit le système avec une matrice de travail fournie, qui reçoit les facteurs. Elle peut
+	 * être la matrice du système elle-même : la factorisation se fait alors sur place, sans
+	 * allocation, et la matrice du système est remplacée par ses facteurs.
+	 *
+	 * @param matriceSystem La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @param travail La matrice n x n recevant les facteurs.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public LUPivot(Matrice matriceSystem, Vecteur secondMembre, Matrice travail) throws IrregularSysLinException {
+		super(matriceSystem, secondMembre);
+		if (travail.nbLigne() != getOrdre() || travail.nbColonne() != getOrdre()) {
+			throw new IrregularSysLinException("Matrice de travail de mauvaise taille.");
+		}
+		this.LU = travail;
+		this.permutation = new int[getOrdre()];
+		this.pivots = new int[getOrdre()];
+	}
+
+	/**
+	 * Factorise la matrice du système. Si la factorisation se fait sur place, un second appel ne
+	 * refait pas le calcul, et lève de nouveau l'exception si le premier a échoué ; sinon la
+	 * matrice du système est recopiée puis factorisée à nouveau.
+	 * Si un cache de factorisations est installé et contient les facteurs de la matrice, ils sont
+	 * simplement recopiés.
+	 *
+	 * @throws IrregularSysLinException Si la matrice est singulière (colonne sans pivot non nul).
+	 */
+	public void factorLU() throws IrregularSysLinException {
+		if (!preparer()) {
+			return;
+		}
+		int n = getOrdre();
+		double[] a = LU.coefficient;
+		int pas = LU.pas;
+		for (int k0 = 0; k0 < n; k0 += NB) {
+			int kb = Math.min(NB, n - k0);
+			int suite = k0 + kb;
+			factoriserPanneau(a, pas, n, k0, kb, 0, n);
+			if (suite < n) {
+				mettreAJourColonnes(a, pas, n, k0, kb, suite, n);
+			}
+		}
+		terminer();
+	}
+
+	/**
+	 * Factorise la matrice du système en parallèle sur le pool commun.
+	 *
+	 * @throws IrregularSysLinException Si la matrice est singulière.
+	 * @see #factorLUParallele(ForkJoinPool)
+	 */
+	public void factorLUParallele() throws IrregularSysLinException {
+		factorLUParallele(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Factorise la matrice du système en parallèle avec un nombre de threads donné. Un pool dédié
+	 * est créé pour l'occasion puis arrêté.
+	 *
+	 * @param parallelisme Le nombre de threads du pool (1 pour le calcul séquentiel).
+	 * @throws IrregularSysLinException Si la matrice est singulière.
+	 */
+	public void factorLUParallele(int parallelisme) throws IrregularSysLinException {
+		if (parallelisme <= 1) {
+			factorLU();
+			return;
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelisme);
+		try {
+			factorLUParallele(pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Factorise la matrice du système en parallèle sur le pool donné, avec anticipation d'un
+	 * panneau. Les facteurs obtenus sont ceux de {@link #factorLU()} (mêmes pivots), aux arrondis
+	 * près.
+	 *
+	 * @param pool Le pool qui exécute les mises à jour.
+	 * @throws IrregularSysLinException Si la matrice est singulière.
+	 */
+	public void factorLUParallele(ForkJoinPool pool) throws IrregularSysLinException {
+		if (pool.getParallelism() == 1) {
+			factorLU();
+			return;
+		}
+		if (!preparer()) {
+			return;
+		}
+		int n = getOrdre();
+		double[] a = LU.coefficient;
+		int pas = LU.pas;
+		// Largeur des blocs de colonnes : assez de tâches pour occuper le pool jusqu'à la fin
+		int largeur = Math.max(64, ((n / (4 * pool.getParallelism()) + ProduitMatriciel.NR - 1)
+				/ ProduitMatriciel.NR) * ProduitMatriciel.NR);
+
+		factoriserPanneau(a, pas, n, 0, Math.min(NB, n), 0, n);
+		for (int k0 = 0; k0 < n; k0 += NB) {
+			int kb = Math.min(NB, n - k0);
+			int suite = k0 + kb;
+			if (suite >= n) {
+				break;
+			}
+			int finPanneau = Math.min(suite + NB, n);
+
+			ForkJoinTask<Void> reste = null;
+			if (finPanneau < n) {
+				reste = pool.submit(new MiseAJourColonnes(a, pas, n, k0, kb, finPanneau, n, largeur));
+			}
+			try {
+				// Anticipation : le panneau suivant est mis à jour puis factorisé sans attendre le reste
+				mettreAJourColonnes(a, pas, n, k0, kb, suite, finPanneau);
+				factoriserPanneau(a, pas, n, suite, finPanneau - suite, suite, finPanneau);
+			} finally {
+				if (reste != null) {
+					reste.join();
+				}
+			}
+			// Échanges différés du panneau suivant, hors de ses propres colonnes
+			for (int j = suite; j < finPanneau; j++) {
+				if (pivots[j] != j) {
+					echangerLignes(a, pas, 0, suite, j, pivots[j]);
+					echangerLignes(a, pas, finPanneau, n, j, pivots[j]);
+				}
+			}
+		}
+		terminer();
+	}
+
+	/**
+	 * Recopie si besoin la matrice du système dans la matrice de travail et initialise la
+	 * permutation, à moins que les facteurs ne soient trouvés dans le cache de factorisations.
+	 *
+	 * @return false si la factorisation, faite sur place ou trouvée dans le cache, est déjà disponible.
+	 * @throws IrregularSysLinException Si une factorisation sur place a déjà échoué : la matrice du
+	 * système, écrasée par des facteurs partiels, ne peut plus être factorisée.
+	 */
+	private boolean preparer() throws IrregularSysLinException {
+		int n = getOrdre();
+		Matrice A = this.matriceSystem;
+		if (LU == A) {
+			if (factorisee) {
+				return false;
+			}
+			if (ecrasee) {
+				throw new IrregularSysLinException("Matrice singulière : la factorisation sur place a échoué et écrasé la matrice.");
+			}
+			norme1 = A.norme_1();
+			normeInf = A.norme_inf();
+		}
+		CacheFactorisation cache = getCacheFactorisation();
+		cle = cache == null ? null : cache.cle("LU", A);
+		if (cle != null && cache.charger(cle, LU, permutation)) {
+			cle = null;
+			factorisee = true;
+			return false;
+		}
+		factorisee = false;
+		if (LU != A) {
+			for (int i = 0; i < n; i++) {
+				System.arraycopy(A.coefficient, i * A.pas, LU.coefficient, i * LU.pas, n);
+			}
+		}
+		ecrasee = LU == A;
+		for (int i = 0; i < n; i++) {
+			permutation[i] = i;
+		}
+		return true;
+	}
+
+	/**
+	 * Marque la factorisation comme disponible et la confie au cache de factorisations.
+	 */
+	private void terminer() {
+		factorisee = true;
+		CacheFactorisation cache = getCacheFactorisation();
+		if (cle != null && cache != null) {
+			cache.enregistrer(cle, LU, permutation, false);
+		}
+		cle = null;
+	}
+
+	/**
+	 * Met à jour les colonnes [debut, fin) après la factorisation du panneau [k0, k0 + kb) :
+	 * U12 = L11^-1 * A12 sur les lignes du panneau, puis A22 -= L21 * U12 sur les lignes suivantes.
+	 * Deux appels sur des colonnes disjointes sont indépendants.
+	 */
+	private static void mettreAJourColonnes(double[] a, int pas, int n, int k0, int kb, int debut, int fin) {
+		int suite = k0 + kb;
+		descenteBande(a, pas, k0, kb, debut, fin - debut);
+		ProduitMatriciel.gemm(n - suite, fin - debut, kb, -1.0,
+				a, suite * pas + k0, pas,
+				a, k0 * pas + debut, pas,
+				1.0, a, suite * pas + debut, pas);
+	}
+
+	/**
+	 * Tâche fork/join mettant à jour les colonnes [debut, fin), coupées en deux tant qu'elles
+	 * dépassent la largeur donnée.
+	 */
+	private static final class MiseAJourColonnes extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a;
+		private final int pas, n, k0, kb, debut, fin, largeur;
+
+		MiseAJourColonnes(double[] a, int pas, int n, int k0, int kb, int debut, int fin, int largeur) {
+			this.a = a; this.pas = pas; this.n = n; this.k0 = k0; this.kb = kb;
+			this.debut = debut; this.fin = fin; this.largeur = largeur;
+		}
+
+		@Override
+		protected void compute() {
+			if (fin - debut <= largeur) {
+				mettreAJourColonnes(a, pas, n, k0, kb, debut, fin);
+			} else {
+				int milieu = debut + (((fin - debut) / 2 + ProduitMatriciel.NR - 1) / ProduitMatriciel.NR) * ProduitMatriciel.NR;
+				invokeAll(new MiseAJourColonnes(a, pas, n, k0, kb, debut, milieu, largeur),
+						new MiseAJourColonnes(a, pas, n, k0, kb, milieu, fin, largeur));
+			}
+		}
+	}
+
+	/**
+	 * Factorise le panneau formé des colonnes [k0, k0 + kb) et des lignes k0 à n - 1. Les échanges
+	 * de lignes portent sur les colonnes [debutEchange, finEchange) : la matrice entière pour le
+	 * calcul séquentiel, qui les applique ainsi en une fois aux blocs déjà factorisés et à la partie
+	 * restant à traiter, ou le seul panneau pour le calcul parallèle. Les pivots sont notés dans
+	 * {@link #pivots}.
+	 */
+	private void factoriserPanneau(double[] a, int pas, int n, int k0, int kb, int debutEchange, int finEchange)
+			throws IrregularSysLinException {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		int fin = k0 + kb;
+		for (int j = k0; j < fin; j++) {
+			int p = j;
+			double max = Math.abs(a[j * pas + j]);
+			for (int i = j + 1; i < n; i++) {
+				double v = Math.abs(a[i * pas + j]);
+				if (v > max) {
+					max = v;
+					p = i;
+				}
+			}
+			if (max == 0) {
+				throw new IrregularSysLinException("Matrice singulière : pas de pivot non nul en colonne " + j + ".");
+			}
+			pivots[j] = p;
+			if (p != j) {
+				echangerLignes(a, pas, debutEchange, finEchange, j, p);
+				int t = permutation[j];
+				permutation[j] = permutation[p];
+				permutation[p] = t;
+			}
+
+			int jj = j * pas + j;
+			double inverse = 1 / a[jj];
+			int reste = fin - j - 1;
+			for (int i = j + 1; i < n; i++) {
+				int ij = i * pas + j;
+				double l = a[ij] * inverse;
+				a[ij] = l;
+				if (l != 0 && reste > 0) {
+					noyau.axpy(-l, a, jj + 1, a, ij + 1, reste);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Résout L11 * X = A12 sur place, où L11 est le bloc diagonal kb x kb (diagonale unitaire) et
+	 * A12 la bande de largeur largeur commençant à la colonne colonne. Chaque ligne est mise à jour
+	 * par des combinaisons de lignes contiguës.
+	 */
+	private static void descenteBande(double[] a, int pas, int k0, int kb, int colonne, int largeur) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i = k0 + 1; i < k0 + kb; i++) {
+			int ligne = i * pas;
+			for (int t = k0; t < i; t++) {
+				double l = a[ligne + t];
+				if (l != 0) {
+					noyau.axpy(-l, a, t * pas + colonne, a, ligne + colonne, largeur);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Échange les lignes i et j sur les colonnes [debut, fin).
+	 */
+	private static void echangerLignes(double[] a, int pas, int debut, int fin, int i, int j) {
+		int li = i * pas, lj = j * pas;
+		for (int c = debut; c < fin; c++) {
+			double t = a[li + c];
+			a[li + c] = a[lj + c];
+			a[lj + c] = t;
+		}
+	}
+
+	/**
+	 * Résout le système, en factorisant la matrice au premier appel seulement.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la matrice est singulière.
+	 */
+	@Override
+	public Vecteur resolution() throws IrregularSysLinException {
+		if (!factorisee) {
+			factorLU();
+		}
+		return resolutionPartielle();
+	}
+
+	/**
+	 * Résout le système à partir des facteurs déjà calculés : permutation du second membre,
+	 * descente Ly = Pb puis remontée Ux = y.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 */
+	public Vecteur resolutionPartielle() throws IrregularSysLinException {
+		if (!factorisee) {
+			throw new IrregularSysLinException("Matrice non factorisée.");
+		}
+		Vecteur x = new Vecteur(getOrdre());
+		System.arraycopy(secondMembre.coefficient, 0, x.coefficient, 0, getOrdre());
+		resoudreSurPlace(x.coefficient, false);
+		return x;
+	}
+
+	/**
+	 * Résout le système dans un vecteur fourni, en factorisant la matrice au premier appel
+	 * seulement. La descente lit le second membre permuté directement ; il n'est recopié, dans
+	 * l'espace de travail, que si la solution doit le remplacer. Aucune allocation sinon.
+	 *
+	 * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+	 * @param travail L'espace de travail, ou null.
+	 * @return Le vecteur solution.
+	 * @throws IrregularSysLinException Si la matrice est singulière ou si la solution n'a pas la bonne taille.
+	 */
+	@Override
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+		verifierSolution(solution);
+		if (!factorisee) {
+			factorLU();
+		}
+		int n = getOrdre();
+		double[] b = secondMembre.coefficient;
+		if (solution == secondMembre) {
+			b = travail == null ? new double[n] : travail.tableau(0, n);
+			System.arraycopy(secondMembre.coefficient, 0, b, 0, n);
+		}
+		descenteRemontee(b, solution.coefficient);
+		return solution;
+	}
+
+	/**
+	 * Calcule v = A^-1 b à partir des facteurs : descente Ly = Pb puis remontée Ux = y ; b et v
+	 * sont distincts.
+	 */
+	private void descenteRemontee(double[] b, double[] v) {
+		int n = getOrdre();
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		double[] a = LU.coefficient;
+		int pas = LU.pas;
+		// Résolution Ly = Pb
+		for (int i = 0; i < n; i++) {
+			v[i] = b[permutation[i]] - noyau.produitScalaire(a, i * pas, v, 0, i);
+		}
+		// Résolution Ux = y
+		for (int i = n - 1; i >= 0; i--) {
+			int ii = i * pas + i;
+			v[i] = (v[i] - noyau.produitScalaire(a, ii + 1, v, i + 1, n - i - 1)) / a[ii];
+		}
+	}
+
+	/**
+	 * Remplace x par A^-1 x, ou par A^-t x, à partir des facteurs déjà calculés. Comme
+	 * A^t = U^t L^t P, les systèmes U^t et L^t sont résolus par colonnes, chaque inconnue obtenue
+	 * étant retranchée des équations suivantes à l'aide d'une ligne de U ou de L.
+	 */
+	private void resoudreSurPlace(double[] v, boolean transposee) {
+		int n = getOrdre();
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		double[] a = LU.coefficient;
+		int pas = LU.pas;
+		double[] b = v.clone();
+		if (!transposee) {
+			descenteRemontee(b, v);
+		} else {
+			// Résolution U^t y = b
+			for (int i = 0; i < n; i++) {
+				int ii = i * pas + i;
+				b[i] /= a[ii];
+				noyau.axpy(-b[i], a, ii + 1, b, i + 1, n - i - 1);
+			}
+			// Résolution L^t z = y
+			for (int i = n - 1; i > 0; i--) {
+				noyau.axpy(-b[i], a, i * pas, b, 0, i);
+			}
+			// x = P^t z
+			for (int i = 0; i < n; i++) {
+				v[permutation[i]] = b[i];
+			}
+		}
+	}
+
+	/**
+	 * Estime le conditionnement en norme 1 à partir de la factorisation déjà calculée, sans
+	 * former l'inverse : quelques résolutions en O(n^2) (voir {@link EstimateurConditionnement}
+	 * pour la précision de l'estimation, qui est une borne inférieure en général exacte).
+	 *
+	 * @return Une estimation de ||A||_1 * ||A^-1||_1.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 */
+	public double estimationCond_1() throws IrregularSysLinException {
+		if (!factorisee) {
+			throw new IrregularSysLinException("Matrice non factorisée.");
+		}
+		double norme = LU == matriceSystem ? norme1 : matriceSystem.norme_1();
+		return norme * EstimateurConditionnement.normeInverse1(getOrdre(), this::resoudreSurPlace);
+	}
+
+	/**
+	 * Estime le conditionnement en norme infinie à partir de la factorisation déjà calculée.
+	 *
+	 * @return Une estimation de ||A||_inf * ||A^-1||_inf.
+	 * @throws IrregularSysLinException Si la matrice n'a pas été factorisée.
+	 * @see #estimationCond_1()
+	 */
+	public double estimationCond_inf() throws IrregularSysLinException {
+		if (!factorisee) {
+			throw new IrregularSysLinException("Matrice non factorisée.");
+		}
+		double norme = LU == matriceSystem ? normeInf : matriceSystem.norme_inf();
+		return norme * EstimateurConditionnement.normeInverseInf(getOrdre(), this::resoudreSurPlace);
+	}
+
+	/**
+	 * Résout un système dont le premier mineur principal est nul (Helder produirait des NaN), puis
+	 * mesure le débit de la factorisation sur des matrices aléatoires, en séquentiel puis en
+	 * parallèle de 1 à 32 threads.
+	 *
+	 * @param args Les ordres à mesurer (par défaut 500, 1000 et 2000).
+	 */
+	public static void main(String[] args) throws Exception {
+		Matrice A = new Matrice(new double[][] {{0, 2, 1}, {1, 1, 1}, {2, 1, 0}});
+		Vecteur b = new Vecteur(new double[] {3, 3, 3});
+		LUPivot systeme = new LUPivot(A, b);
+		System.out.println("Solution (attendue 1, 1, 1) :\n" + systeme.resolution());
+
+		int[] ordres = {500, 1000, 2000};
+		if (args.length > 0) {
+			ordres = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				ordres[i] = Integer.parseInt(args[i]);
+			}
+		}
+		Random rand = new Random(3);
+		for (int n : ordres) {
+			Matrice M = new Matrice(n, n);
+			Vecteur c = new Vecteur(n);
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					M.remplaceCoef(i, j, 2 * rand.nextDouble() - 1);
+				}
+				c.remplaceCoef(i, 2 * rand.nextDouble() - 1);
+			}
+			LUPivot lu = new LUPivot(M, c);
+			double meilleur = Double.MAX_VALUE;
+			for (int essai = 0; essai < 3; essai++) {
+				long debut = System.nanoTime();
+				lu.factorLU();
+				meilleur = Math.min(meilleur, System.nanoTime() - debut);
+			}
+			long debut = System.nanoTime();
+			Vecteur x = lu.resolutionPartielle();
+			long tempsResolution = System.nanoTime() - debut;
+
+			Vecteur residu = new Vecteur(n);
+			for (int i = 0; i < n; i++) {
+				double somme = -c.getCoef(i);
+				for (int j = 0; j < n; j++) {
+					somme += M.getCoef(i, j) * x.getCoef(j);
+				}
+				residu.remplaceCoef(i, somme);
+			}
+			System.out.printf("n = %d : factorisation %.1f ms (%.2f GFLOP/s), résolution %.2f ms, résidu %.2e%n",
+					n, meilleur / 1e6, 2.0 * n * n * n / 3 / meilleur, tempsResolution / 1e6, residu.normeInfini());
+
+			for (int threads = 1; threads <= 32; threads *= 2) {
+				ForkJoinPool pool = new ForkJoinPool(threads);
+				double meilleurParallele = Double.MAX_VALUE;
+				for (int essai = 0; essai < 3; essai++) {
+					long debutParallele = System.nanoTime();
+					lu.factorLUParallele(pool);
+					meilleurParallele = Math.min(meilleurParallele, System.nanoTime() - debutParallele);
+				}
+				pool.shutdown();
+				System.out.printf("    %2d threads : %.1f ms (%.2f GFLOP/s), accélération x%.2f%n", threads,
+						meilleurParallele / 1e6, 2.0 * n * n * n / 3 / meilleurParallele, meilleur / meilleurParallele);
+			}
+		}
+	}
+}
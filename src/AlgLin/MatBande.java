@@ -0,0 +1,215 @@
+package AlgLin;
+
+/**
+ * La classe MatBande représente une matrice bande carrée d'ordre n, à kl sous-diagonales et ku
+ * sur-diagonales, généralisant {@link Mat3Diag} (kl = ku = 1).
+ * <p>
+ * Les diagonales sont rangées comme dans LAPACK : le coefficient (i, j) de la matrice, pour
+ * max(0, j - ku) &lt;= i &lt;= min(n - 1, j + kl), occupe la ligne ku + i - j et la colonne j du
+ * tableau (kl + ku + 1) x n hérité de {@link Matrice}. La ligne 0 contient donc la sur-diagonale
+ * la plus éloignée, la ligne ku la diagonale et la ligne kl + ku la dernière sous-diagonale ;
+ * chaque diagonale est contiguë en mémoire. Comme pour {@link Mat3Diag}, {@link #getCoef(int, int)}
+ * et {@link #remplaceCoef(int, int, double)} donnent accès à ce tableau ;
+ * {@link #getElement(int, int)} et {@link #remplaceElement(int, int, double)} désignent les
+ * coefficients par leur position dans la matrice.
+ * <p>
+ * La matrice occupe 8 (kl + ku + 1) n octets au lieu de 8 n^2, et son produit par un vecteur
+ * coûte O(n (kl + ku)). Les systèmes correspondants se résolvent par {@link LUBande}.
+ *
+ * @author Syrder Baptichon
+ */
+public class MatBande extends Matrice {
+
+	/** Nombre de sous-diagonales. */
+	private final int kl;
+
+	/** Nombre de sur-diagonales. */
+	private final int ku;
+
+	/**
+	 * Construit une matrice bande nulle.
+	 *
+	 * @param n L'ordre de la matrice.
+	 * @param kl Le nombre de sous-diagonales.
+	 * @param ku Le nombre de sur-diagonales.
+	 */
+	public MatBande(int n, int kl, int ku) {
+		super(kl + ku + 1, n);
+		if (kl < 0 || ku < 0 || (n > 0 && (kl >= n || ku >= n))) {
+			throw new IllegalArgumentException("Largeur de bande invalide : kl = " + kl + ", ku = " + ku + " pour n = " + n);
+		}
+		this.kl = kl;
+		this.ku = ku;
+	}
+
+	/**
+	 * Construit la matrice bande d'une matrice tridiagonale (kl = ku = 1).
+	 *
+	 * @param A La matrice tridiagonale.
+	 */
+	public MatBande(Mat3Diag A) {
+		this(A.nbColonne(), A.nbColonne() > 1 ? 1 : 0, A.nbColonne() > 1 ? 1 : 0);
+		int n = A.nbColonne();
+		for (int i = 0; i < n; i++) {
+			if (i > 0) {
+				remplaceElement(i, i - 1, A.getCoef(0, i));
+			}
+			remplaceElement(i, i, A.getCoef(1, i));
+			if (i < n - 1) {
+				remplaceElement(i, i + 1, A.getCoef(2, i));
+			}
+		}
+	}
+
+	/**
+	 * Construit la matrice bande formée des kl sous-diagonales, de la diagonale et des ku
+	 * sur-diagonales d'une matrice dense carrée ; les coefficients hors de la bande sont ignorés.
+	 *
+	 * @param A La matrice dense.
+	 * @param kl Le nombre de sous-diagonales.
+	 * @param ku Le nombre de sur-diagonales.
+	 */
+	public MatBande(Matrice A, int kl, int ku) {
+		this(A.nbLigne(), kl, ku);
+		if (A.nbLigne() != A.nbColonne()) {
+			throw new IllegalArgumentException("Matrice non carrée");
+		}
+		int n = A.nbLigne();
+		for (int j = 0; j < n; j++) {
+			for (int i = Math.max(0, j - ku); i <= Math.min(n - 1, j + kl); i++) {
+				coefficient[(ku + i - j) * pas + j] = A.coefficient[i * A.pas + j];
+			}
+		}
+	}
+
+	/**
+	 * Retourne l'ordre de la matrice.
+	 * @return L'ordre de la matrice.
+	 */
+	public int getOrdre() {
+		return colonnes;
+	}
+
+	/**
+	 * Retourne le nombre de sous-diagonales.
+	 * @return kl.
+	 */
+	public int getNbSousDiagonales() {
+		return kl;
+	}
+
+	/**
+	 * Retourne le nombre de sur-diagonales.
+	 * @return ku.
+	 */
+	public int getNbSurDiagonales() {
+		return ku;
+	}
+
+	/**
+	 * Indique si le coefficient (i, j) appartient à la bande.
+	 */
+	private boolean dansBande(int i, int j) {
+		return j - ku <= i && i <= j + kl;
+	}
+
+	/**
+	 * Retourne le coefficient (i, j) de la matrice, nul hors de la bande.
+	 *
+	 * @param i L'indice de ligne.
+	 * @param j L'indice de colonne.
+	 * @return Le coefficient (i, j).
+	 */
+	public double getElement(int i, int j) {
+		if (i < 0 || i >= colonnes || j < 0 || j >= colonnes) {
+			throw new IndexOutOfBoundsException("Position (" + i + ", " + j + ") hors de la matrice");
+		}
+		return dansBande(i, j) ? coefficient[(ku + i - j) * pas + j] : 0;
+	}
+
+	/**
+	 * Remplace le coefficient (i, j) de la matrice, qui doit appartenir à la bande.
+	 *
+	 * @param i L'indice de ligne.
+	 * @param j L'indice de colonne.
+	 * @param valeur La nouvelle valeur.
+	 */
+	public void remplaceElement(int i, int j, double valeur) {
+		if (i < 0 || i >= colonnes || j < 0 || j >= colonnes) {
+			throw new IndexOutOfBoundsException("Position (" + i + ", " + j + ") hors de la matrice");
+		}
+		if (!dansBande(i, j)) {
+			throw new IllegalArgumentException("Position (" + i + ", " + j + ") hors de la bande");
+		}
+		coefficient[(ku + i - j) * pas + j] = valeur;
+	}
+
+	/**
+	 * Retourne la forme dense de la matrice.
+	 *
+	 * @return La matrice dense n x n.
+	 */
+	public Matrice versMatrice() {
+		int n = colonnes;
+		Matrice dense = new Matrice(n, n);
+		for (int j = 0; j < n; j++) {
+			for (int i = Math.max(0, j - ku); i <= Math.min(n - 1, j + kl); i++) {
+				dense.coefficient[i * dense.pas + j] = coefficient[(ku + i - j) * pas + j];
+			}
+		}
+		return dense;
+	}
+
+	/**
+	 * Calcule y = Ax dans un tableau fourni, diagonale par diagonale : pour la diagonale
+	 * d = j - i, y_i += a(i, i + d) x_(i + d) parcourt une ligne du tableau de la bande, x et y
+	 * dans l'ordre, ce que le compilateur vectorise.
+	 *
+	 * @param x Le vecteur, de taille n.
+	 * @param y Le tableau recevant le produit, de taille n au moins, distinct de x.
+	 */
+	void produit(double[] x, double[] y) {
+		int n = colonnes;
+		java.util.Arrays.fill(y, 0, n, 0.0);
+		for (int d = -kl; d <= ku; d++) {
+			int ligne = (ku - d) * pas;
+			int debut = Math.max(0, -d), fin = Math.min(n, n - d);
+			for (int i = debut; i < fin; i++) {
+				y[i] += coefficient[ligne + i + d] * x[i + d];
+			}
+		}
+	}
+
+	/**
+	 * Effectue le produit d'une matrice bande par un vecteur.
+	 *
+	 * @param matrice La matrice bande.
+	 * @param vecteur Le vecteur à multiplier.
+	 * @return Le vecteur résultant du produit matrice-vecteur.
+	 * @throws IrregularSysLinException Si les dimensions de la matrice et du vecteur ne sont pas compatibles.
+	 */
+	public static Vecteur produit_par_vecteur(MatBande matrice, Vecteur vecteur) throws IrregularSysLinException {
+		if (matrice.getOrdre() != vecteur.getTaille()) {
+			throw new IrregularSysLinException("Les dimensions de la matrice et du vecteur sont incompatibles.");
+		}
+		Vecteur resultat = new Vecteur(matrice.getOrdre());
+		matrice.produit(vecteur.coefficient, resultat.coefficient);
+		return resultat;
+	}
+
+	/**
+	 * @return Une chaîne de caractères représentant la matrice bande sous sa forme pleine.
+	 */
+	@Override
+	public String toString() {
+		int n = colonnes;
+		StringBuilder matr = new StringBuilder();
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				matr.append(getElement(i, j)).append(" ");
+			}
+			matr.append("\n");
+		}
+		return matr.toString();
+	}
+}
@@ -8,18 +8,39 @@ package AlgLin;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 
 public class Matrice {
 	/** Définir ici les attributs de la classe **/
 
 	/**
-	 * Tableau 2D contenant les coefficients de la matrice.
+	 * Tableau contigu contenant les coefficients de la matrice, rangés ligne par ligne.
+	 * Le coefficient (i, j) se trouve à l'indice {@code i * pas + j}.
 	 */
-	protected double coefficient[][];
+	protected double coefficient[];
+
+	/**
+	 * Nombre de lignes de la matrice.
+	 */
+	protected int lignes;
+
+	/**
+	 * Nombre de colonnes de la matrice.
+	 */
+	protected int colonnes;
+
+	/**
+	 * Pas (stride) entre le début de deux lignes consécutives dans le tableau des coefficients.
+	 * Il vaut le nombre de colonnes pour une matrice stockée de façon compacte.
+	 */
+	protected int pas;
 
 	public static final double EPSILON = 1.0E-06;
 
+	/** Côté des tuiles utilisées pour la transposition. */
+	private static final int TUILE_TRANSPOSITION = 32;
+
 	/** Définir ici les constructeur de la classe **/
 
 	/**
@@ -28,16 +49,37 @@ public class Matrice {
 	 * @param nbcolonne  Le nombre de colonnes de la matrice
 	 */
 	Matrice (int nbligne, int nbcolonne){
-		this.coefficient = new double[nbligne][nbcolonne];
+		allouer(nbligne, nbcolonne);
 	}
 
 	/**
 	 * Construit une matrice à partir d'un tableau à 2 dimensions.
+	 * Les coefficients sont recopiés dans le stockage contigu de la matrice.
 	 *
 	 * @param tableau	Tableau à 2 dimensions dont les coefficients sont de type double
 	 */
 	Matrice(double[][] tableau){
-		coefficient = tableau;
+		allouer(tableau.length, tableau.length == 0 ? 0 : tableau[0].length);
+		for (int i = 0; i < lignes; i++)
+			System.arraycopy(tableau[i], 0, coefficient, i * pas, Math.min(tableau[i].length, colonnes));
+	}
+
+	/**
+	 * Construit une matrice qui utilise directement un tableau contigu rangé ligne par ligne (sans recopie).
+	 *
+	 * @param donnees	Tableau contenant les coefficients, le coefficient (i, j) étant à l'indice {@code i * pas + j}
+	 * @param nbligne	Le nombre de lignes de la matrice
+	 * @param nbcolonne	Le nombre de colonnes de la matrice
+	 * @param pas	Le pas entre le début de deux lignes consécutives (au moins égal à nbcolonne)
+	 */
+	Matrice(double[] donnees, int nbligne, int nbcolonne, int pas){
+		if (pas < nbcolonne || (nbligne > 0 && donnees.length < (nbligne - 1) * pas + nbcolonne)) {
+			throw new IllegalArgumentException("Tableau de coefficients trop petit pour les dimensions demandées");
+		}
+		this.coefficient = donnees;
+		this.lignes = nbligne;
+		this.colonnes = nbcolonne;
+		this.pas = pas;
 	}
 
 	/**
@@ -50,19 +92,31 @@ public class Matrice {
 			Scanner sc = new Scanner(new File(fichier));
 			int ligne = sc.nextInt();
 			int colonne = sc.nextInt();
-			this.coefficient = new double[ligne][colonne];
-			for(int i=0; i < ligne;i++)
-				for(int j = 0; j < colonne; j++)
-					this.coefficient[i][j] = sc.nextDouble();
+			allouer(ligne, colonne);
+			for(int i = 0; i < ligne * colonne; i++)
+				this.coefficient[i] = sc.nextDouble();
 			sc.close();	
 		}
 		catch(FileNotFoundException e) {
 			System.out.println("Fichier absent");
+			allouer(0, 0);
 		}
 	}
 
 	/** Definir ici les autres methodes */
 
+	/**
+	 * Alloue un stockage contigu et nul pour une matrice de dimensions données.
+	 * @param nbligne Le nombre de lignes de la matrice
+	 * @param nbcolonne Le nombre de colonnes de la matrice
+	 */
+	protected void allouer(int nbligne, int nbcolonne){
+		this.coefficient = new double[nbligne * nbcolonne];
+		this.lignes = nbligne;
+		this.colonnes = nbcolonne;
+		this.pas = nbcolonne;
+	}
+
 	/**
 	 * Recopie les coefficients d'une matrice donnée dans la matrice actuelle.
 	 * @param arecopier La matrice dont les coefficients sont copiés dans la matrice actuelle.
@@ -71,10 +125,9 @@ public class Matrice {
 		int ligne, colonne;
 		ligne = arecopier.nbLigne(); 
 		colonne = arecopier.nbColonne();
-		this.coefficient = new double[ligne][colonne];
+		allouer(ligne, colonne);
 		for(int i = 0; i < ligne; i++)
-			for (int j = 0;j < colonne;j++)
-				this.coefficient[i][j] = arecopier.coefficient[i][j];	
+			System.arraycopy(arecopier.coefficient, i * arecopier.pas, this.coefficient, i * colonne, colonne);
 	}
 
 	/**
@@ -82,7 +135,7 @@ public class Matrice {
 	 * @return Le nombre de lignes de la matrice.
 	 */
 	public int nbLigne(){
-		return this.coefficient.length;
+		return this.lignes;
 	}
 
 	/**
@@ -90,7 +143,7 @@ public class Matrice {
 	 * @return Le nombre de colonnes de la matrice.
 	 */
 	public int nbColonne(){
-		return this.coefficient[0].length;
+		return this.colonnes;
 	}
 
 
@@ -101,7 +154,7 @@ public class Matrice {
 	 * @return La valeur du coefficient à la position donnée.
 	 */
 	public double getCoef(int ligne, int colonne){
-		return this.coefficient[ligne][colonne];
+		return this.coefficient[ligne * pas + colonne];
 	}
 
 	/**
@@ -111,7 +164,53 @@ public class Matrice {
 	 * @param value La nouvelle valeur du coefficient à mettre à la position spécifiée.
 	 */
 	public void remplaceCoef(int ligne, int colonne, double value){
-		this.coefficient[ligne][colonne] = value;
+		this.coefficient[ligne * pas + colonne] = value;
+	}
+
+	/**
+	 * Calcule une empreinte de 64 bits du contenu de la matrice (dimensions et valeurs exactes de
+	 * tous les coefficients), qui sert de clé au {@link CacheFactorisation}. Deux matrices de même
+	 * contenu ont la même empreinte ; chaque coefficient est mélangé par SplitMix64 avant d'être
+	 * combiné, si bien qu'un changement de signe ou de quelques bits modifie toute l'empreinte et
+	 * que deux contenus différents n'ont la même empreinte qu'avec une probabilité de l'ordre de
+	 * 2^-64. Le calcul, en O(n^2), est refait à chaque appel : il suit donc toute modification des
+	 * coefficients.
+	 * @return L'empreinte du contenu de la matrice.
+	 */
+	public long empreinte(){
+		// Quatre accumulateurs indépendants, pour ne pas enchaîner les multiplications
+		long h0 = lignes, h1 = colonnes, h2 = 0x9E3779B97F4A7C15L, h3 = 0xC2B2AE3D27D4EB4FL;
+		for (int i = 0; i < lignes; i++) {
+			int debut = i * pas, fin = debut + colonnes, j = debut;
+			for (; j + 3 < fin; j += 4) {
+				h0 = (h0 ^ melange(Double.doubleToLongBits(coefficient[j]))) * 0x9E3779B97F4A7C15L;
+				h1 = (h1 ^ melange(Double.doubleToLongBits(coefficient[j + 1]))) * 0xC2B2AE3D27D4EB4FL;
+				h2 = (h2 ^ melange(Double.doubleToLongBits(coefficient[j + 2]))) * 0x165667B19E3779F9L;
+				h3 = (h3 ^ melange(Double.doubleToLongBits(coefficient[j + 3]))) * 0xD6E8FEB86659FD93L;
+			}
+			for (; j < fin; j++) {
+				h0 = (h0 ^ melange(Double.doubleToLongBits(coefficient[j]))) * 0x9E3779B97F4A7C15L;
+			}
+			h0 = Long.rotateLeft(h0, 31) ^ h1;
+			h1 = Long.rotateLeft(h1, 27) ^ h2;
+			h2 = Long.rotateLeft(h2, 33) ^ h3;
+			h3 = Long.rotateLeft(h3, 29) ^ h0;
+		}
+		long h = h0 * 31 + h1;
+		h = h * 31 + h2;
+		h = h * 31 + h3;
+		return melange(h);
+	}
+
+	/**
+	 * Mélange final de SplitMix64 : chaque bit de x influe sur tous les bits du résultat. Sans lui,
+	 * la multiplication ne propageant les bits que vers le haut, deux changements de signe dans un
+	 * même accumulateur s'annuleraient.
+	 */
+	private static long melange(long x) {
+		x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+		x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+		return x ^ (x >>> 31);
 	}
 
 	/**
@@ -145,9 +244,9 @@ public class Matrice {
 	public Matrice produit(double scalaire){
 		int ligne = this.nbLigne();
 		int colonne = this.nbColonne();
+		NoyauCalcul noyau = NoyauCalcul.actif();
 		for(int i = 0; i < ligne;i++)
-			for(int j = 0; j < colonne; j++)
-				this.coefficient[i][j] *= scalaire;
+			noyau.echelle(scalaire, this.coefficient, i * pas, colonne);
 		return this;
 	}
 
@@ -161,9 +260,9 @@ public class Matrice {
 		int ligne = a.nbLigne();
 		int colonne = a.nbColonne();
 		Matrice mat = new Matrice(ligne, colonne);
+		NoyauCalcul noyau = NoyauCalcul.actif();
 		for(int i=0; i<ligne;i++)
-			for(int j=0; j< colonne; j++)
-				mat.coefficient[i][j]=a.coefficient[i][j] + b.coefficient[i][j];
+			noyau.addition(a.coefficient, i * a.pas, b.coefficient, i * b.pas, mat.coefficient, i * colonne, colonne);
 		return mat;
 	}
 
@@ -177,13 +276,7 @@ public class Matrice {
 	static Matrice verif_addition(Matrice a, Matrice b) throws Exception{
 		if((a.nbLigne() == b.nbLigne()) && (a.nbColonne() == b.nbColonne()))
 		{
-			int ligne = a.nbLigne();
-			int colonne = a.nbColonne();
-			Matrice mat = new Matrice(ligne, colonne);
-			for(int i=0; i<ligne;i++)
-				for(int j=0; j< colonne; j++)
-					mat.coefficient[i][j]=a.coefficient[i][j] + b.coefficient[i][j];
-			return mat;
+			return addition(a, b);
 		}
 		else {
 			throw new Exception("Les deux matrices n'ont pas les mêmes dimensions !!!"); 
@@ -199,18 +292,118 @@ public class Matrice {
 	static Matrice produit(Matrice a, Matrice b){
 		int ligne, colonne;
 		ligne = a.nbLigne();
-		colonne = b.nbColonne();		
+		colonne = b.nbColonne();
 		Matrice mat = new Matrice(ligne, colonne);
-		for(int i=0; i<ligne;i++)
-			for(int j=0; j< colonne; j++)
-			{
-				mat.coefficient[i][j]=0;
-				for(int k=0; k <a.nbColonne();k++)
-					mat.coefficient[i][j] += a.coefficient[i][k] * b.coefficient[k][j];
-			}
+		// Produit par blocs : voir ProduitMatriciel
+		ProduitMatriciel.gemm(ligne, colonne, a.nbColonne(), 1.0,
+				a.coefficient, 0, a.pas,
+				b.coefficient, 0, b.pas,
+				0.0, mat.coefficient, 0, mat.pas);
 		return mat;					
 	}
 
+	/**
+	 * Effectue le produit de deux matrices en répartissant le calcul sur le pool fork/join commun.
+	 * En dessous du seuil réglé par {@link #setSeuilParallele(long)}, le calcul reste séquentiel.
+	 * @param a La première matrice à multiplier.
+	 * @param b La deuxième matrice à multiplier.
+	 * @return La matrice résultant du produit des deux matrices.
+	 */
+	public static Matrice produitParallele(Matrice a, Matrice b){
+		return produitParallele(a, b, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Effectue le produit de deux matrices en répartissant le calcul sur le pool fourni.
+	 * @param a La première matrice à multiplier.
+	 * @param b La deuxième matrice à multiplier.
+	 * @param pool Le pool fork/join qui exécute les tuiles du produit.
+	 * @return La matrice résultant du produit des deux matrices.
+	 */
+	public static Matrice produitParallele(Matrice a, Matrice b, ForkJoinPool pool){
+		Matrice mat = new Matrice(a.nbLigne(), b.nbColonne());
+		ProduitMatriciel.gemmParallele(mat.nbLigne(), mat.nbColonne(), a.nbColonne(), 1.0,
+				a.coefficient, 0, a.pas,
+				b.coefficient, 0, b.pas,
+				0.0, mat.coefficient, 0, mat.pas, pool);
+		return mat;
+	}
+
+	/**
+	 * Effectue le produit de deux matrices avec un degré de parallélisme donné.
+	 * Un pool dédié est créé pour l'occasion puis arrêté. Chacun de ses threads alloue ses propres
+	 * tampons d'empaquetage (environ 2 Mo), perdus avec le pool : pour des produits répétés, mieux
+	 * vaut garder un pool et appeler {@link #produitParallele(Matrice, Matrice, ForkJoinPool)}.
+	 * @param a La première matrice à multiplier.
+	 * @param b La deuxième matrice à multiplier.
+	 * @param parallelisme Le nombre de threads à utiliser (au moins 1).
+	 * @return La matrice résultant du produit des deux matrices.
+	 */
+	public static Matrice produitParallele(Matrice a, Matrice b, int parallelisme){
+		if (parallelisme < 1) {
+			throw new IllegalArgumentException("Le degré de parallélisme doit être au moins égal à 1");
+		}
+		if (parallelisme == 1) {
+			return produit(a, b);
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelisme);
+		try {
+			return produitParallele(a, b, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Règle la taille (nombre de multiplications m * n * k) en dessous de laquelle les produits
+	 * parallèles sont effectués de façon séquentielle.
+	 * @param seuil Le nouveau seuil.
+	 */
+	public static void setSeuilParallele(long seuil){
+		ProduitMatriciel.seuilParallele = seuil;
+	}
+
+	/**
+	 * Retourne le seuil en dessous duquel les produits parallèles restent séquentiels.
+	 * @return Le nombre de multiplications m * n * k servant de seuil.
+	 */
+	public static long getSeuilParallele(){
+		return ProduitMatriciel.seuilParallele;
+	}
+
+	/**
+	 * Effectue le produit de deux matrices carrées de même ordre par l'algorithme de
+	 * Strassen-Winograd, plus rapide que le produit classique pour les très grandes matrices.
+	 * Les erreurs d'arrondi sont en revanche plus grandes : le résultat n'est garanti qu'en norme,
+	 * et non coefficient par coefficient. Si les matrices ne sont pas carrées de même ordre,
+	 * le produit classique est utilisé.
+	 * @param a La première matrice à multiplier.
+	 * @param b La deuxième matrice à multiplier.
+	 * @return La matrice résultant du produit des deux matrices.
+	 * @see #setSeuilStrassen(int)
+	 */
+	public static Matrice produitStrassen(Matrice a, Matrice b){
+		int n = a.nbLigne();
+		if (n != a.nbColonne() || n != b.nbLigne() || n != b.nbColonne()) {
+			return produit(a, b);
+		}
+		Matrice mat = new Matrice(n, n);
+		Strassen.produit(n, a.coefficient, a.pas, b.coefficient, b.pas, mat.coefficient, mat.pas);
+		return mat;
+	}
+
+	/**
+	 * Règle l'ordre en dessous duquel la récursion de Strassen-Winograd s'arrête au profit du
+	 * produit classique par blocs.
+	 * @param seuil Le nouvel ordre limite (au moins 16).
+	 */
+	public static void setSeuilStrassen(int seuil){
+		if (seuil < 16) {
+			throw new IllegalArgumentException("Le seuil de Strassen doit être au moins égal à 16");
+		}
+		Strassen.seuil = seuil;
+	}
+
 	/**
 	 * Vérifie si deux matrices peuvent être multipliées (le nombre de colonnes de la première matrice 
 	 * doit être égal au nombre de lignes de la deuxième matrice), et retourne la matrice résultante du produit
@@ -221,64 +414,29 @@ public class Matrice {
 	 * @throws Exception Si les dimensions des matrices ne permettent pas de les multiplier, une exception est lancée.
 	 */
 	static Matrice verif_produit(Matrice a, Matrice b) throws Exception{
-		int ligne = 0;
-		int colonne = 0;
-		if(a.nbColonne()==b.nbLigne())
+		if(a.nbColonne()!=b.nbLigne())
 		{
-			ligne = a.nbLigne();
-			colonne = b.nbColonne();
-		}
-		else{
 			throw new Exception("Dimensions des matrices à multiplier incorrectes");
 		}
-
-		Matrice mat = new Matrice(ligne, colonne);
-		for(int i=0; i<ligne;i++)
-			for(int j=0; j< colonne; j++)
-			{
-				mat.coefficient[i][j]=0;
-				for(int k=0; k <a.nbColonne(); k++)
-					mat.coefficient[i][j] += a.coefficient[i][k] * b.coefficient[k][j];
-			}
-		return mat;					
+		return produit(a, b);
 	}
 
     public Matrice inverse() throws Exception {
         if (this.nbLigne() != this.nbColonne()) {
             throw new IllegalArgumentException("La matrice n'est pas carrée");
-        } else {
-            int n = this.nbLigne();
-            Vecteur b[] = new Vecteur[n];
-
-            Matrice mat = new Matrice(n, n);
-            mat.recopie(this);
-            Matrice inverse = new Matrice(n, n);
-
-            for (int nbligne = 0; nbligne < n; nbligne++) {
-                Vecteur x = new Vecteur(n);
-                x.remplaceCoef(nbligne, 1);
-                b[nbligne] = x;
-            }
-
-            Helder h = new Helder(mat, b[0]);
-            h.factorLDR();
-            for (int i = 0; i < n; i++) {
-
-                h.setSecondMembre(b[i]);
-                Vecteur x = h.resolutionPartielle();
-                for(int j = 0; j < n; j++) {
-                    inverse.coefficient[j][i] = x.getCoef(j);
-                }
-            }
-
-            return inverse;
         }
+        return inverse(this);
     }
 
 	/**
-	 * @param matrice
-	 * @return
-	 * @throws Exception
+	 * Calcule l'inverse d'une matrice carrée en résolvant A X = I pour les n colonnes de
+	 * l'identité à la fois : factorisation de Cholesky si la matrice est symétrique définie
+	 * positive, factorisation LDR compacte sinon, puis résolution par blocs à plusieurs seconds
+	 * membres, les colonnes étant réparties entre les threads du pool commun.
+	 * 
+	 * @param matrice La matrice à inverser.
+	 * @return L'inverse de la matrice.
+	 * @throws Exception Si la matrice n'est pas carrée ou n'est pas inversible.
 	 */
 	public static Matrice inverse(Matrice matrice) throws Exception {
 		int n = matrice.nbLigne();
@@ -288,44 +446,58 @@ public class Matrice {
 			throw new IllegalOperationException("La matrice n'est pas carrée !");
 		}
 
-		// Étape 1 : Appliquer la factorisation LDR
-		Helder decomposition = new Helder(matrice, new Vecteur(n));
-		decomposition.factorLDR();
-
-		// Étape 2 : Initialisation des vecteurs pour l'identité et l'inverse
-		Vecteur[] tabVecteurIdentite = new Vecteur[n];
-		Vecteur[] tabVecteurResultatInverse = new Vecteur[n];
-
-		// Remplissage des colonnes de la matrice identité
-		for (int j = 0; j < n; j++) {
-			tabVecteurIdentite[j] = new Vecteur(n);
-			for (int i = 0; i < n; i++) {
-				tabVecteurIdentite[j].remplaceCoef(i, (i == j) ? 1.0 : 0.0);
-			}
-		}
-
-		// Étape 3 : Résolution des systèmes Ax = Ei
+		// Seconds membres : les colonnes de la matrice identité
+		Matrice identite = new Matrice(n, n);
 		for (int i = 0; i < n; i++) {
-			// Remplace le second membre par Ei
-			decomposition.setSecondMembre(tabVecteurIdentite[i]);
-
-			// Résolution du système avec la factorisation LDR
-			tabVecteurResultatInverse[i] = decomposition.resolutionPartielle();
+			identite.coefficient[i * n + i] = 1.0;
 		}
 
-		// Étape 4 : Construire la matrice inverse à partir des vecteurs résultats
-		double[][] tabmatriceInverse = new double[n][n];
-		for (int j = 0; j < n; j++) {
-			for (int i = 0; i < n; i++) {
-				tabmatriceInverse[i][j] = tabVecteurResultatInverse[j].getCoef(i);
+		// Factorisation de Cholesky si la matrice est symétrique définie positive
+		if (matrice.estSymetrique()) {
+			try {
+				Cholesky cholesky = new Cholesky(matrice, new Vecteur(n));
+				cholesky.factorLLt();
+				return cholesky.resolutionPartielleParallele(identite, ForkJoinPool.commonPool());
+			} catch (IrregularSysLinException e) {
+				// Symétrique mais non définie positive : factorisation LDR
 			}
 		}
 
-		// Retourner la matrice inverse
-		return new Matrice(tabmatriceInverse);
+		// Factorisation LDR, rangée dans une seule matrice
+		Helder decomposition = new Helder(matrice, new Vecteur(n), true);
+		decomposition.factorLDR();
+		return decomposition.resolutionPartielleParallele(identite);
 	}
 	
 	
+	/**
+	 * Indique si la matrice est carrée et symétrique (égalité exacte des coefficients a_ij et a_ji).
+	 * Le triangle supérieur est parcouru par tuiles pour que la lecture des colonnes reste
+	 * dans le cache.
+	 * 
+	 * @return true si la matrice est symétrique.
+	 */
+	public boolean estSymetrique() {
+		int n = nbLigne();
+		if (n != nbColonne()) {
+			return false;
+		}
+		double[] a = this.coefficient;
+		for (int i0 = 0; i0 < n; i0 += TUILE_TRANSPOSITION) {
+			for (int j0 = i0; j0 < n; j0 += TUILE_TRANSPOSITION) {
+				int i1 = Math.min(i0 + TUILE_TRANSPOSITION, n), j1 = Math.min(j0 + TUILE_TRANSPOSITION, n);
+				for (int i = i0; i < i1; i++) {
+					for (int j = Math.max(j0, i + 1); j < j1; j++) {
+						if (a[i * pas + j] != a[j * pas + i]) {
+							return false;
+						}
+					}
+				}
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Retourne la transposée de la matrice actuelle.
 	 * La transposée d'une matrice est obtenue en échangeant les lignes et les colonnes.
@@ -336,10 +508,18 @@ public class Matrice {
 	    int lignes = this.nbLigne();
 	    int colonnes = this.nbColonne();
 	    Matrice transposée = new Matrice(colonnes, lignes);
-
-	    for (int i = 0; i < lignes; i++) {
-	        for (int j = 0; j < colonnes; j++) {
-	            transposée.remplaceCoef(j, i, this.getCoef(i, j));
+	    double[] source = this.coefficient, cible = transposée.coefficient;
+
+	    // Parcours par tuiles carrées pour que lecture et écriture restent dans le cache
+	    for (int ii = 0; ii < lignes; ii += TUILE_TRANSPOSITION) {
+	        int iFin = Math.min(ii + TUILE_TRANSPOSITION, lignes);
+	        for (int jj = 0; jj < colonnes; jj += TUILE_TRANSPOSITION) {
+	            int jFin = Math.min(jj + TUILE_TRANSPOSITION, colonnes);
+	            for (int i = ii; i < iFin; i++) {
+	                for (int j = jj; j < jFin; j++) {
+	                    cible[j * lignes + i] = source[i * pas + j];
+	                }
+	            }
 	        }
 	    }
 
@@ -349,16 +529,21 @@ public class Matrice {
 
 	/**
 	 * Méthode pour calculer la norme matricielle L1 de la différence entre deux matrices
+	 * (maximum des sommes des valeurs absolues par colonne). Les sommes de toutes les colonnes
+	 * sont accumulées en parcourant la matrice ligne par ligne.
 	 * @return
 	 */
 	public double norme_1() {
-		double norme = 0.0;
-
-		for (int j = 0; j < nbColonne(); j++) { // On itère sur les colonnes
-			double somme = 0.0;
-			for (int i = 0; i < nbLigne(); i++) {
-				somme += Math.abs(getCoef(i, j));
+		int colonnes = nbColonne();
+		double[] sommes = new double[colonnes];
+		for (int i = 0; i < nbLigne(); i++) {
+			int ligne = i * pas;
+			for (int j = 0; j < colonnes; j++) {
+				sommes[j] += Math.abs(coefficient[ligne + j]);
 			}
+		}
+		double norme = 0.0;
+		for (double somme : sommes) {
 			norme = Math.max(norme, somme); // On prend le maximum des sommes de colonnes
 		}
 		return norme;
@@ -371,44 +556,84 @@ public class Matrice {
 	 */
 	public double norme_inf() {
 		double norme = 0.0;
+		NoyauCalcul noyau = NoyauCalcul.actif();
 
 		for (int i = 0; i < nbLigne(); i++) { // On itère sur les lignes
-			double somme = 0.0;
-			for (int j = 0; j < nbColonne(); j++) {
-				somme += Math.abs(getCoef(i, j));
-			}
-			norme = Math.max(norme, somme); // On prend le maximum des sommes de lignes
+			norme = Math.max(norme, noyau.sommeAbs(coefficient, i * pas, nbColonne())); // On prend le maximum des sommes de lignes
 		}
 		return norme;
 	}
 
 
 	/**
-	 * conditionnement en utilisant la norme L1
-	 * @return
-	 * @throws IrregularSysLinException
+	 * Conditionnement en utilisant la norme L1, estimé sans former l'inverse à partir d'une
+	 * factorisation LU avec pivotage partiel.
+	 * @return Une estimation du conditionnement (borne inférieure, en général exacte).
+	 * @throws IrregularSysLinException Si la matrice n'est pas inversible.
+	 * @see #cond_1(boolean)
 	 */
 	public double cond_1() throws IrregularSysLinException {
+		return cond_1(false);
+	}
+
+	/**
+	 * Conditionnement en utilisant la norme L1.
+	 * @param exact true pour le calcul exact par l'inverse (O(n^3)), false pour l'estimation de
+	 * Hager-Higham (une factorisation LU et quelques résolutions en O(n^2)).
+	 * @return Le conditionnement exact, ou son estimation.
+	 * @throws IrregularSysLinException Si la matrice n'est pas inversible.
+	 * @see EstimateurConditionnement
+	 */
+	public double cond_1(boolean exact) throws IrregularSysLinException {
 		try {
-			return norme_1() * inverse(this).norme_1();
+			if (exact) {
+				return norme_1() * inverse(this).norme_1();
+			}
+			return factorisationLU().estimationCond_1();
 		} catch (Exception e) {
 			throw new IrregularSysLinException("La matrice n'est pas inversible !");
 		}
 	}
 
 	/**
-	 * conditionnement en utilisant la norme L_infini
-	 * @return
-	 * @throws IrregularSysLinException
+	 * Conditionnement en utilisant la norme L_infini, estimé sans former l'inverse à partir d'une
+	 * factorisation LU avec pivotage partiel.
+	 * @return Une estimation du conditionnement (borne inférieure, en général exacte).
+	 * @throws IrregularSysLinException Si la matrice n'est pas inversible.
+	 * @see #cond_inf(boolean)
 	 */
 	public double cond_inf() throws IrregularSysLinException {
+		return cond_inf(false);
+	}
+
+	/**
+	 * Conditionnement en utilisant la norme L_infini.
+	 * @param exact true pour le calcul exact par l'inverse (O(n^3)), false pour l'estimation de
+	 * Hager-Higham (une factorisation LU et quelques résolutions en O(n^2)).
+	 * @return Le conditionnement exact, ou son estimation.
+	 * @throws IrregularSysLinException Si la matrice n'est pas inversible.
+	 * @see EstimateurConditionnement
+	 */
+	public double cond_inf(boolean exact) throws IrregularSysLinException {
 		try {
-			return norme_inf() * inverse(this).norme_inf();
+			if (exact) {
+				return norme_inf() * inverse(this).norme_inf();
+			}
+			return factorisationLU().estimationCond_inf();
 		} catch (Exception e) {
 			throw new IrregularSysLinException("La matrice n'est pas inversible !");
 		}
 	}
 
+	/**
+	 * Factorise une copie de la matrice par LU avec pivotage partiel.
+	 */
+	private LUPivot factorisationLU() throws IrregularSysLinException {
+		LUPivot lu = new LUPivot(this, new Vecteur(nbLigne()));
+		lu.factorLU();
+		return lu;
+	}
+
 	/**
 	 * Méthode principale de l'application, qui va permettre de tester toutes les méthodes de la classe.
 	 * @param args Les arguments de la ligne de commande (non utilisés dans cette méthode).
@@ -0,0 +1,502 @@
+package AlgLin;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matrice creuse rangée au format CSR (Compressed Sparse Row) : pour chaque ligne i, les
+ * coefficients non nuls occupent les cases [debutLigne[i], debutLigne[i + 1]) des tableaux
+ * {@link #valeurs} et {@link #colonnesNonNuls}, par colonnes croissantes.
+ * <p>
+ * Une matrice de nnz coefficients non nuls occupe 12 nnz + 4 (n + 1) octets, contre 8 n^2 pour
+ * une {@link Matrice} dense : à 10^5 lignes et 7 coefficients par ligne, 8,8 Mo au lieu de 80 Go.
+ * La matrice est construite une fois pour toutes, à partir d'une matrice dense ou d'une liste de
+ * triplets (i, j, valeur) rassemblée par un {@link Assembleur} (format COO), puis n'est plus
+ * modifiée.
+ * <p>
+ * Le produit matrice-vecteur parcourt les tableaux dans l'ordre ; seuls les accès au vecteur sont
+ * indirects. Sa variante parallèle répartit les lignes entre les threads en blocs de même nombre
+ * de coefficients non nuls, pour que les lignes très remplies ne déséquilibrent pas le calcul.
+ *
+ * @author Syrder Baptichon
+ */
+public class MatriceCreuse {
+
+	/** Nombre minimal de coefficients non nuls traités par une tâche du produit parallèle. */
+	static final int SEUIL_PARALLELE = 1 << 15;
+
+	/** Nombre de lignes de la matrice. */
+	private final int lignes;
+
+	/** Nombre de colonnes de la matrice. */
+	private final int colonnes;
+
+	/** debutLigne[i] est l'indice du premier coefficient non nul de la ligne i ; debutLigne[lignes] = nnz. */
+	final int[] debutLigne;
+
+	/** Indices de colonne des coefficients non nuls. */
+	final int[] colonnesNonNuls;
+
+	/** Valeurs des coefficients non nuls. */
+	final double[] valeurs;
+
+	/**
+	 * Construit une matrice à partir de tableaux CSR déjà formés (sans recopie).
+	 */
+	private MatriceCreuse(int lignes, int colonnes, int[] debutLigne, int[] colonnesNonNuls, double[] valeurs) {
+		this.lignes = lignes;
+		this.colonnes = colonnes;
+		this.debutLigne = debutLigne;
+		this.colonnesNonNuls = colonnesNonNuls;
+		this.valeurs = valeurs;
+	}
+
+	/**
+	 * Construit la forme creuse d'une matrice dense : seuls ses coefficients non nuls sont
+	 * conservés.
+	 *
+	 * @param dense La matrice dense.
+	 */
+	public MatriceCreuse(Matrice dense) {
+		this.lignes = dense.nbLigne();
+		this.colonnes = dense.nbColonne();
+		this.debutLigne = new int[lignes + 1];
+		int nnz = 0;
+		for (int i = 0; i < lignes; i++) {
+			int ligne = i * dense.pas;
+			for (int j = 0; j < colonnes; j++) {
+				if (dense.coefficient[ligne + j] != 0) {
+					nnz++;
+				}
+			}
+			debutLigne[i + 1] = nnz;
+		}
+		this.colonnesNonNuls = new int[nnz];
+		this.valeurs = new double[nnz];
+		int k = 0;
+		for (int i = 0; i < lignes; i++) {
+			int ligne = i * dense.pas;
+			for (int j = 0; j < colonnes; j++) {
+				double v = dense.coefficient[ligne + j];
+				if (v != 0) {
+					colonnesNonNuls[k] = j;
+					valeurs[k++] = v;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retourne la forme creuse d'une matrice dense, ou d'une matrice rangée par diagonales si c'est
+	 * une {@link Mat3Diag} ou une {@link MatBande} : toutes les diagonales de la bande sont alors
+	 * conservées, zéros compris, sans les coefficients de bord inutilisés.
+	 *
+	 * @param A La matrice.
+	 * @return La matrice creuse.
+	 */
+	static MatriceCreuse de(Matrice A) {
+		if (A instanceof MatBande) {
+			MatBande bande = (MatBande) A;
+			int n = bande.getOrdre(), kl = bande.getNbSousDiagonales(), ku = bande.getNbSurDiagonales();
+			Assembleur assembleur = new Assembleur(n, n);
+			for (int i = 0; i < n; i++) {
+				for (int j = Math.max(0, i - kl); j <= Math.min(n - 1, i + ku); j++) {
+					assembleur.ajouter(i, j, bande.getElement(i, j));
+				}
+			}
+			return assembleur.construire();
+		}
+		if (!(A instanceof Mat3Diag)) {
+			return new MatriceCreuse(A);
+		}
+		int n = A.nbColonne(), pas = A.pas;
+		int[] debut = new int[n + 1];
+		int[] col = new int[Math.max(3 * n - 2, 0)];
+		double[] val = new double[col.length];
+		int k = 0;
+		for (int i = 0; i < n; i++) {
+			if (i > 0) {
+				col[k] = i - 1;
+				val[k++] = A.coefficient[i];
+			}
+			col[k] = i;
+			val[k++] = A.coefficient[pas + i];
+			if (i < n - 1) {
+				col[k] = i + 1;
+				val[k++] = A.coefficient[2 * pas + i];
+			}
+			debut[i + 1] = k;
+		}
+		return new MatriceCreuse(n, n, debut, col, val);
+	}
+
+	/**
+	 * Rassemble les coefficients d'une matrice creuse sous forme de triplets (i, j, valeur), dans
+	 * un ordre quelconque, puis les range au format CSR. Les coefficients donnés plusieurs fois
+	 * pour la même position sont additionnés, comme lors de l'assemblage d'éléments finis.
+	 */
+	public static final class Assembleur {
+		private final int lignes, colonnes;
+		private int[] i, j;
+		private double[] v;
+		private int taille;
+
+		/**
+		 * @param lignes Le nombre de lignes de la matrice.
+		 * @param colonnes Le nombre de colonnes de la matrice.
+		 */
+		public Assembleur(int lignes, int colonnes) {
+			if (lignes < 0 || colonnes < 0) {
+				throw new IllegalArgumentException("Dimensions négatives");
+			}
+			this.lignes = lignes;
+			this.colonnes = colonnes;
+			this.i = new int[16];
+			this.j = new int[16];
+			this.v = new double[16];
+		}
+
+		/**
+		 * Ajoute une valeur au coefficient (ligne, colonne).
+		 *
+		 * @return L'assembleur, pour enchaîner les appels.
+		 * @throws IndexOutOfBoundsException Si la position est hors de la matrice.
+		 */
+		public Assembleur ajouter(int ligne, int colonne, double valeur) {
+			if (ligne < 0 || ligne >= lignes || colonne < 0 || colonne >= colonnes) {
+				throw new IndexOutOfBoundsException("Position (" + ligne + ", " + colonne + ") hors de la matrice");
+			}
+			if (taille == i.length) {
+				int capacite = 2 * taille;
+				i = Arrays.copyOf(i, capacite);
+				j = Arrays.copyOf(j, capacite);
+				v = Arrays.copyOf(v, capacite);
+			}
+			i[taille] = ligne;
+			j[taille] = colonne;
+			v[taille++] = valeur;
+			return this;
+		}
+
+		/**
+		 * Range les triplets au format CSR : tri par lignes (par dénombrement), tri de chaque
+		 * ligne par colonnes, puis fusion des doublons. Les coefficients dont la somme est nulle
+		 * sont conservés, ce qui garde la structure voulue par l'appelant.
+		 *
+		 * @return La matrice creuse.
+		 */
+		public MatriceCreuse construire() {
+			int[] debut = new int[lignes + 1];
+			for (int t = 0; t < taille; t++) {
+				debut[i[t] + 1]++;
+			}
+			for (int r = 0; r < lignes; r++) {
+				debut[r + 1] += debut[r];
+			}
+			int[] suivant = Arrays.copyOf(debut, lignes);
+			int[] col = new int[taille];
+			double[] val = new double[taille];
+			for (int t = 0; t < taille; t++) {
+				int k = suivant[i[t]]++;
+				col[k] = j[t];
+				val[k] = v[t];
+			}
+
+			// Tri de chaque ligne par colonnes (tri par insertion : les lignes sont courtes) et
+			// fusion des doublons, en tassant les coefficients vers le début des tableaux
+			int nnz = 0;
+			for (int r = 0; r < lignes; r++) {
+				int d = debut[r], f = debut[r + 1];
+				for (int k = d + 1; k < f; k++) {
+					int c = col[k];
+					double x = val[k];
+					int p = k - 1;
+					while (p >= d && col[p] > c) {
+						col[p + 1] = col[p];
+						val[p + 1] = val[p];
+						p--;
+					}
+					col[p + 1] = c;
+					val[p + 1] = x;
+				}
+				debut[r] = nnz;
+				for (int k = d; k < f; k++) {
+					if (nnz > debut[r] && col[nnz - 1] == col[k]) {
+						val[nnz - 1] += val[k];
+					} else {
+						col[nnz] = col[k];
+						val[nnz++] = val[k];
+					}
+				}
+			}
+			debut[lignes] = nnz;
+			return new MatriceCreuse(lignes, colonnes, debut, Arrays.copyOf(col, nnz), Arrays.copyOf(val, nnz));
+		}
+	}
+
+	/**
+	 * Retourne le nombre de lignes de la matrice.
+	 * @return Le nombre de lignes de la matrice.
+	 */
+	public int nbLigne() {
+		return lignes;
+	}
+
+	/**
+	 * Retourne le nombre de colonnes de la matrice.
+	 * @return Le nombre de colonnes de la matrice.
+	 */
+	public int nbColonne() {
+		return colonnes;
+	}
+
+	/**
+	 * Retourne le nombre de coefficients rangés (non nuls).
+	 * @return Le nombre de coefficients non nuls.
+	 */
+	public int nbNonNuls() {
+		return debutLigne[lignes];
+	}
+
+	/**
+	 * Retourne la valeur du coefficient (ligne, colonne), par recherche dichotomique dans la ligne.
+	 * @param ligne L'indice de la ligne du coefficient.
+	 * @param colonne L'indice de la colonne du coefficient.
+	 * @return La valeur du coefficient, 0 s'il n'est pas rangé.
+	 */
+	public double getCoef(int ligne, int colonne) {
+		if (colonne < 0 || colonne >= colonnes) {
+			throw new IndexOutOfBoundsException("Colonne " + colonne + " hors de la matrice");
+		}
+		int k = Arrays.binarySearch(colonnesNonNuls, debutLigne[ligne], debutLigne[ligne + 1], colonne);
+		return k >= 0 ? valeurs[k] : 0.0;
+	}
+
+	/**
+	 * Retourne la forme dense de la matrice.
+	 * @return Une nouvelle matrice dense de mêmes coefficients.
+	 */
+	public Matrice versMatrice() {
+		Matrice dense = new Matrice(lignes, colonnes);
+		for (int i = 0; i < lignes; i++) {
+			int ligne = i * dense.pas;
+			for (int k = debutLigne[i]; k < debutLigne[i + 1]; k++) {
+				dense.coefficient[ligne + colonnesNonNuls[k]] = valeurs[k];
+			}
+		}
+		return dense;
+	}
+
+	/**
+	 * Retourne une estimation de la mémoire occupée par les tableaux de la matrice.
+	 * @return Le nombre d'octets des tableaux CSR.
+	 */
+	public long tailleOctets() {
+		return 12L * nbNonNuls() + 4L * (lignes + 1);
+	}
+
+	/**
+	 * Calcule le produit de la matrice par un vecteur.
+	 *
+	 * @param x Le vecteur, de taille {@link #nbColonne()}.
+	 * @return Le vecteur Ax.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public Vecteur produit(Vecteur x) throws IrregularSysLinException {
+		return produit(x, null);
+	}
+
+	/**
+	 * Calcule le produit de la matrice par un vecteur sur le pool commun.
+	 *
+	 * @param x Le vecteur, de taille {@link #nbColonne()}.
+	 * @return Le vecteur Ax.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 * @see #produitParallele(Vecteur, ForkJoinPool)
+	 */
+	public Vecteur produitParallele(Vecteur x) throws IrregularSysLinException {
+		return produit(x, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calcule le produit de la matrice par un vecteur avec un nombre de threads donné. Un pool
+	 * dédié est créé pour l'occasion puis arrêté.
+	 *
+	 * @param x Le vecteur, de taille {@link #nbColonne()}.
+	 * @param parallelisme Le nombre de threads du pool (1 pour le calcul séquentiel).
+	 * @return Le vecteur Ax.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public Vecteur produitParallele(Vecteur x, int parallelisme) throws IrregularSysLinException {
+		if (parallelisme <= 1) {
+			return produit(x, null);
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelisme);
+		try {
+			return produit(x, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Calcule le produit de la matrice par un vecteur sur le pool donné : les lignes sont coupées
+	 * en blocs de même nombre de coefficients non nuls, d'au moins {@link #SEUIL_PARALLELE}.
+	 *
+	 * @param x Le vecteur, de taille {@link #nbColonne()}.
+	 * @param pool Le pool qui exécute le calcul.
+	 * @return Le vecteur Ax.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles.
+	 */
+	public Vecteur produitParallele(Vecteur x, ForkJoinPool pool) throws IrregularSysLinException {
+		return produit(x, pool);
+	}
+
+	private Vecteur produit(Vecteur x, ForkJoinPool pool) throws IrregularSysLinException {
+		if (x.getTaille() != colonnes) {
+			throw new IrregularSysLinException("Les dimensions de la matrice et du vecteur sont incompatibles.");
+		}
+		Vecteur y = new Vecteur(lignes);
+		produit(x.coefficient, y.coefficient, pool);
+		return y;
+	}
+
+	/**
+	 * Calcule y = Ax sur des tableaux, séquentiellement si le pool est null.
+	 */
+	void produit(double[] x, double[] y, ForkJoinPool pool) {
+		if (pool == null || pool.getParallelism() == 1 || nbNonNuls() < 2 * SEUIL_PARALLELE) {
+			produitLignes(x, y, 0, lignes);
+		} else {
+			pool.invoke(new TacheProduit(x, y, 0, lignes));
+		}
+	}
+
+	/**
+	 * Calcule les lignes [debut, fin) de y = Ax.
+	 */
+	private void produitLignes(double[] x, double[] y, int debut, int fin) {
+		int[] d = debutLigne, c = colonnesNonNuls;
+		double[] a = valeurs;
+		for (int i = debut; i < fin; i++) {
+			double s = 0;
+			for (int k = d[i]; k < d[i + 1]; k++) {
+				s += a[k] * x[c[k]];
+			}
+			y[i] = s;
+		}
+	}
+
+	/**
+	 * Tâche fork/join du produit sur les lignes [debut, fin), coupées là où le nombre de
+	 * coefficients non nuls est partagé en deux.
+	 */
+	private final class TacheProduit extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] x, y;
+		private final int debut, fin;
+
+		TacheProduit(double[] x, double[] y, int debut, int fin) {
+			this.x = x;
+			this.y = y;
+			this.debut = debut;
+			this.fin = fin;
+		}
+
+		@Override
+		protected void compute() {
+			int nnz = debutLigne[fin] - debutLigne[debut];
+			if (nnz < 2 * SEUIL_PARALLELE || fin - debut < 2) {
+				produitLignes(x, y, debut, fin);
+				return;
+			}
+			// Première ligne dont le début dépasse la moitié des coefficients du bloc
+			int milieu = Arrays.binarySearch(debutLigne, debut, fin, debutLigne[debut] + nnz / 2);
+			milieu = milieu >= 0 ? milieu : -milieu - 1;
+			milieu = Math.min(Math.max(milieu, debut + 1), fin - 1);
+			invokeAll(new TacheProduit(x, y, debut, milieu), new TacheProduit(x, y, milieu, fin));
+		}
+	}
+
+	/**
+	 * Méthode principale : vérifie le produit creux contre le produit dense, puis compare
+	 * l'occupation mémoire et le débit du produit creux et du produit dense.
+	 */
+	public static void main(String[] args) throws Exception {
+		Random rand = new Random(42);
+
+		// Vérification sur une petite matrice
+		int n = 300;
+		Assembleur assembleur = new Assembleur(n, n);
+		for (int i = 0; i < n; i++) {
+			assembleur.ajouter(i, i, 4);
+			for (int t = 0; t < 5; t++) {
+				assembleur.ajouter(i, rand.nextInt(n), 2 * rand.nextDouble() - 1);
+			}
+		}
+		MatriceCreuse A = assembleur.construire();
+		Matrice dense = A.versMatrice();
+		Vecteur x = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			x.remplaceCoef(i, 2 * rand.nextDouble() - 1);
+		}
+		Vecteur y = A.produit(x);
+		double ecart = 0;
+		for (int i = 0; i < n; i++) {
+			double s = 0;
+			for (int j = 0; j < n; j++) {
+				s += dense.getCoef(i, j) * x.getCoef(j);
+			}
+			ecart = Math.max(ecart, Math.abs(s - y.getCoef(i)));
+		}
+		System.out.println("Écart produit creux / dense : " + ecart);
+		System.out.println("Aller-retour dense : " + (new MatriceCreuse(dense).nbNonNuls() == A.nbNonNuls()));
+
+		// Occupation mémoire et débit, 7 coefficients par ligne
+		System.out.println("\nlignes      nnz   CSR (Mo)  dense (Mo)  séq. (ms)  par. (ms)  GFLOP/s");
+		for (int m : new int[] {100_000, 1_000_000}) {
+			assembleur = new Assembleur(m, m);
+			for (int i = 0; i < m; i++) {
+				assembleur.ajouter(i, i, 8);
+				for (int t = 0; t < 6; t++) {
+					assembleur.ajouter(i, rand.nextInt(m), -1);
+				}
+			}
+			A = assembleur.construire();
+			double[] u = new double[m], v = new double[m];
+			Arrays.fill(u, 1.0);
+			long seq = Long.MAX_VALUE, par = Long.MAX_VALUE;
+			for (int essai = 0; essai < 20; essai++) {
+				long t0 = System.nanoTime();
+				A.produit(u, v, null);
+				long t1 = System.nanoTime();
+				A.produit(u, v, ForkJoinPool.commonPool());
+				long t2 = System.nanoTime();
+				seq = Math.min(seq, t1 - t0);
+				par = Math.min(par, t2 - t1);
+			}
+			System.out.printf("%7d %9d %10.1f %11.0f %10.2f %10.2f %8.2f%n", m, A.nbNonNuls(),
+					A.tailleOctets() / 1e6, 8.0 * m * m / 1e6, seq / 1e6, par / 1e6,
+					2.0 * A.nbNonNuls() / Math.min(seq, par));
+		}
+
+		// Produit dense de référence, à une taille où la matrice tient en mémoire
+		int nd = 4000;
+		Matrice D = new Matrice(nd, nd);
+		for (int i = 0; i < nd * nd; i++) {
+			D.coefficient[i] = rand.nextDouble();
+		}
+		Vecteur xd = new Vecteur(nd);
+		long meilleur = Long.MAX_VALUE;
+		for (int essai = 0; essai < 10; essai++) {
+			long t0 = System.nanoTime();
+			Matrice.produit(D, xd);
+			meilleur = Math.min(meilleur, System.nanoTime() - t0);
+		}
+		System.out.printf("Produit dense %d x %d : %.2f ms, %.2f GFLOP/s%n", nd, nd, meilleur / 1e6,
+				2.0 * nd * nd / meilleur);
+	}
+}
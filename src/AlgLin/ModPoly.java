@@ -105,14 +105,18 @@ public class ModPoly {
         // Résolution du système linéaire F^t * F * coefficients = F^t * Y 
         // Dans le cours : (FtF)X = FtY. La solution X correspond aux (m + 1) coefficients a_i cherchés
         Matrice Ft = F.transposee();
-        Matrice FtF = Matrice.produit(Ft, F);
+        Matrice FtF = Matrice.produitParallele(Ft, F);
         Vecteur Ftb = Vecteur.produitMatrice(Y, Ft);
 
-        // Utilisation de la décomposition LDR pour résolution de système linéaire
-        Helder sysLin = new Helder(FtF, Ftb);
-
-        // Résolution du système linéaire
-        Vecteur X = sysLin.resolution();
+        // FtF est symétrique définie positive : résolution par la factorisation de Cholesky.
+        // Si les arrondis lui font perdre son caractère défini positif (degré élevé, abscisses
+        // mal réparties), on revient à la décomposition LDR.
+        Vecteur X;
+        try {
+            X = new Cholesky(FtF, Ftb).resolution();
+        } catch (IrregularSysLinException e) {
+            X = new Helder(FtF, Ftb).resolution();
+        }
         
         // Stocke les coefficients obtenus dans l’attribut "coefficients"
         for (int i = 0; i <= m; i++) {
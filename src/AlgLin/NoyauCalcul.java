@@ -0,0 +1,156 @@
+package AlgLin;
+
+/**
+ * Couche de noyaux de calcul élémentaires (boucles internes) utilisés par {@link Matrice},
+ * {@link Vecteur} et {@link ProduitMatriciel}.
+ * <p>
+ * Deux implémentations existent : un noyau scalaire, toujours disponible, et un noyau SIMD
+ * fondé sur l'API Vector du JDK ({@code jdk.incubator.vector}). Le noyau SIMD n'est utilisable
+ * que si le module est chargé au lancement ({@code --add-modules jdk.incubator.vector}) et si le
+ * processeur a des registres vectoriels d'au moins 256 bits ; sinon le noyau scalaire est utilisé. Le choix peut être modifié à l'exécution avec
+ * {@link #utiliserSIMD(boolean)}, ou fixé au démarrage par la propriété système
+ * {@code alglin.simd=false}.
+ * <p>
+ * Tous les tableaux sont lus à partir d'un décalage donné, sur une longueur donnée.
+ *
+ * @author Syrder Baptichon
+ */
+public abstract class NoyauCalcul {
+
+	/** Noyau scalaire, toujours disponible. */
+	private static final NoyauCalcul SCALAIRE = new NoyauScalaire();
+
+	/** Noyau SIMD, ou null si l'API Vector n'est pas disponible. */
+	private static final NoyauCalcul SIMD = chargerSIMD();
+
+	/** Noyau utilisé par les méthodes de calcul. */
+	private static volatile NoyauCalcul actif =
+			SIMD != null && Boolean.parseBoolean(System.getProperty("alglin.simd", "true")) ? SIMD : SCALAIRE;
+
+	/**
+	 * Charge le noyau SIMD par réflexion, pour que l'absence du module
+	 * {@code jdk.incubator.vector} ne fasse pas échouer le chargement de cette classe. Le noyau
+	 * n'est pas chargé si les registres vectoriels du processeur ont moins de 256 bits.
+	 *
+	 * @return Le noyau SIMD, ou null s'il ne peut pas être chargé ou serait plus lent.
+	 */
+	private static NoyauCalcul chargerSIMD() {
+		try {
+			Class<?> classe = Class.forName("AlgLin.NoyauSIMD");
+			if (!(Boolean) classe.getDeclaredMethod("registresSuffisants").invoke(null)) {
+				return null;
+			}
+			return (NoyauCalcul) classe.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Retourne le noyau actuellement utilisé.
+	 *
+	 * @return Le noyau actif.
+	 */
+	static NoyauCalcul actif() {
+		return actif;
+	}
+
+	/**
+	 * Choisit entre le noyau SIMD et le noyau scalaire.
+	 *
+	 * @param simd true pour utiliser le noyau SIMD, false pour le noyau scalaire.
+	 * @return true si le noyau SIMD est effectivement utilisé après l'appel.
+	 */
+	public static boolean utiliserSIMD(boolean simd) {
+		actif = simd && SIMD != null ? SIMD : SCALAIRE;
+		return actif == SIMD;
+	}
+
+	/**
+	 * Indique si le noyau SIMD est disponible dans la JVM courante.
+	 *
+	 * @return true si l'API Vector a pu être chargée et que le processeur a des registres de 256 bits.
+	 */
+	public static boolean simdDisponible() {
+		return SIMD != null;
+	}
+
+	/**
+	 * Indique si le noyau SIMD est celui actuellement utilisé.
+	 *
+	 * @return true si les calculs passent par le noyau SIMD.
+	 */
+	public static boolean estSIMD() {
+		return actif == SIMD && SIMD != null;
+	}
+
+	/**
+	 * Calcule la somme des a[aOff + i] * b[bOff + i] pour i de 0 à n - 1.
+	 */
+	abstract double produitScalaire(double[] a, int aOff, double[] b, int bOff, int n);
+
+	/**
+	 * Calcule r[rOff + i] = a[aOff + i] + b[bOff + i] pour i de 0 à n - 1.
+	 */
+	abstract void addition(double[] a, int aOff, double[] b, int bOff, double[] r, int rOff, int n);
+
+	/**
+	 * Calcule r[rOff + i] = a[aOff + i] - b[bOff + i] pour i de 0 à n - 1.
+	 */
+	abstract void soustraction(double[] a, int aOff, double[] b, int bOff, double[] r, int rOff, int n);
+
+	/**
+	 * Multiplie a[off + i] par s pour i de 0 à n - 1.
+	 */
+	abstract void echelle(double s, double[] a, int off, int n);
+
+	/**
+	 * Calcule y[yOff + i] += alpha * x[xOff + i] pour i de 0 à n - 1.
+	 */
+	abstract void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int n);
+
+	/**
+	 * Calcule la somme des valeurs absolues de a[off + i] pour i de 0 à n - 1.
+	 */
+	abstract double sommeAbs(double[] a, int off, int n);
+
+	/**
+	 * Calcule la somme des carrés de a[off + i] pour i de 0 à n - 1.
+	 */
+	abstract double sommeCarres(double[] a, int off, int n);
+
+	/**
+	 * Calcule le maximum des valeurs absolues de a[off + i] pour i de 0 à n - 1 (0 si n = 0).
+	 */
+	abstract double maxAbs(double[] a, int off, int n);
+
+	/**
+	 * Étape de descente de la méthode de Thomas sur n systèmes rangés côte à côte : pour i de 0 à
+	 * n - 1, avec beta = a[off + i] * p[prec + i] + b[off + i],
+	 * p[off + i] = -c[off + i] / beta et q[off + i] = (d[off + i] - a[off + i] * q[prec + i]) / beta.
+	 * Les opérations sont celles de {@link Thomas}, sans contraction en FMA, pour des résultats
+	 * identiques.
+	 *
+	 * @see ThomasLot
+	 */
+	abstract void descenteThomas(double[] a, double[] b, double[] c, double[] d, double[] p, double[] q,
+			int off, int prec, int n);
+
+	/**
+	 * Étape de remontée de la méthode de Thomas sur n systèmes rangés côte à côte :
+	 * x[off + i] = p[off + i] * x[suiv + i] + x[off + i] pour i de 0 à n - 1.
+	 *
+	 * @see ThomasLot
+	 */
+	abstract void remonteeThomas(double[] p, double[] x, int off, int suiv, int n);
+
+	/**
+	 * Micro-noyau du produit par blocs : calcule la tuile MR x NR issue des panneaux empaquetés
+	 * ap et bp sur une profondeur kc, puis ajoute alpha fois le résultat aux mr x nr coefficients
+	 * de C présents à partir de l'indice co.
+	 *
+	 * @see ProduitMatriciel
+	 */
+	abstract void microNoyau(int kc, double alpha, double[] ap, int ao, double[] bp, int bo,
+			double[] c, int co, int ldc, int mr, int nr);
+}
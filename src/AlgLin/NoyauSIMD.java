@@ -0,0 +1,212 @@
+package AlgLin;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Noyau de calcul SIMD fondé sur l'API Vector du JDK. Les boucles traitent quatre
+ * coefficients à la fois (registres de 256 bits), puis terminent les derniers coefficients
+ * en scalaire.
+ * <p>
+ * Les réductions (produit scalaire, normes) accumulent dans un ordre différent du noyau
+ * scalaire : les résultats sont égaux aux arrondis près.
+ *
+ * @author Syrder Baptichon
+ * @see NoyauCalcul
+ */
+final class NoyauSIMD extends NoyauCalcul {
+
+	/**
+	 * Espèce de NR = 4 coefficients (256 bits), utilisée par toutes les boucles. Une seule espèce
+	 * garde monomorphes les appels internes de l'API Vector, condition pour que le JIT les
+	 * remplace tous par des instructions vectorielles.
+	 */
+	private static final VectorSpecies<Double> S = DoubleVector.SPECIES_256;
+
+	/** Noyau utilisé pour les tuiles de bord. */
+	private final NoyauScalaire repli = new NoyauScalaire();
+
+	/**
+	 * Indique si le processeur a des registres vectoriels d'au moins 256 bits. Sinon, l'API Vector
+	 * exécute l'espèce {@link #S} en Java pur, des centaines de fois plus lentement que le noyau
+	 * scalaire : {@link NoyauCalcul} ne charge alors pas ce noyau.
+	 *
+	 * @return true si l'espèce de 256 bits est prise en charge par le matériel.
+	 */
+	static boolean registresSuffisants() {
+		return DoubleVector.SPECIES_PREFERRED.vectorBitSize() >= S.vectorBitSize();
+	}
+
+	@Override
+	double produitScalaire(double[] a, int aOff, double[] b, int bOff, int n) {
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector va = DoubleVector.fromArray(S, a, aOff + i);
+			DoubleVector vb = DoubleVector.fromArray(S, b, bOff + i);
+			acc = va.fma(vb, acc);
+		}
+		double somme = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++) {
+			somme += a[aOff + i] * b[bOff + i];
+		}
+		return somme;
+	}
+
+	@Override
+	void addition(double[] a, int aOff, double[] b, int bOff, double[] r, int rOff, int n) {
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector.fromArray(S, a, aOff + i).add(DoubleVector.fromArray(S, b, bOff + i)).intoArray(r, rOff + i);
+		}
+		for (; i < n; i++) {
+			r[rOff + i] = a[aOff + i] + b[bOff + i];
+		}
+	}
+
+	@Override
+	void soustraction(double[] a, int aOff, double[] b, int bOff, double[] r, int rOff, int n) {
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector.fromArray(S, a, aOff + i).sub(DoubleVector.fromArray(S, b, bOff + i)).intoArray(r, rOff + i);
+		}
+		for (; i < n; i++) {
+			r[rOff + i] = a[aOff + i] - b[bOff + i];
+		}
+	}
+
+	@Override
+	void echelle(double s, double[] a, int off, int n) {
+		DoubleVector vs = DoubleVector.broadcast(S, s);
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector.fromArray(S, a, off + i).mul(vs).intoArray(a, off + i);
+		}
+		for (; i < n; i++) {
+			a[off + i] *= s;
+		}
+	}
+
+	@Override
+	void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int n) {
+		DoubleVector va = DoubleVector.broadcast(S, alpha);
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector vy = DoubleVector.fromArray(S, y, yOff + i);
+			DoubleVector.fromArray(S, x, xOff + i).fma(va, vy).intoArray(y, yOff + i);
+		}
+		for (; i < n; i++) {
+			y[yOff + i] += alpha * x[xOff + i];
+		}
+	}
+
+	@Override
+	double sommeAbs(double[] a, int off, int n) {
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			acc = acc.add(DoubleVector.fromArray(S, a, off + i).abs());
+		}
+		double somme = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++) {
+			somme += Math.abs(a[off + i]);
+		}
+		return somme;
+	}
+
+	@Override
+	double sommeCarres(double[] a, int off, int n) {
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector v = DoubleVector.fromArray(S, a, off + i);
+			acc = v.fma(v, acc);
+		}
+		double somme = acc.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++) {
+			somme += a[off + i] * a[off + i];
+		}
+		return somme;
+	}
+
+	@Override
+	double maxAbs(double[] a, int off, int n) {
+		DoubleVector acc = DoubleVector.zero(S);
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			acc = acc.max(DoubleVector.fromArray(S, a, off + i).abs());
+		}
+		double max = acc.reduceLanes(VectorOperators.MAX);
+		for (; i < n; i++) {
+			max = Math.max(max, Math.abs(a[off + i]));
+		}
+		return max;
+	}
+
+	@Override
+	void descenteThomas(double[] a, double[] b, double[] c, double[] d, double[] p, double[] q,
+			int off, int prec, int n) {
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector va = DoubleVector.fromArray(S, a, off + i);
+			DoubleVector beta = va.mul(DoubleVector.fromArray(S, p, prec + i)).add(DoubleVector.fromArray(S, b, off + i));
+			DoubleVector.fromArray(S, c, off + i).neg().div(beta).intoArray(p, off + i);
+			DoubleVector.fromArray(S, d, off + i).sub(va.mul(DoubleVector.fromArray(S, q, prec + i))).div(beta)
+					.intoArray(q, off + i);
+		}
+		for (; i < n; i++) {
+			double beta = a[off + i] * p[prec + i] + b[off + i];
+			p[off + i] = -c[off + i] / beta;
+			q[off + i] = (d[off + i] - a[off + i] * q[prec + i]) / beta;
+		}
+	}
+
+	@Override
+	void remonteeThomas(double[] p, double[] x, int off, int suiv, int n) {
+		int i = 0;
+		for (int fin = S.loopBound(n); i < fin; i += S.length()) {
+			DoubleVector.fromArray(S, p, off + i).mul(DoubleVector.fromArray(S, x, suiv + i))
+					.add(DoubleVector.fromArray(S, x, off + i)).intoArray(x, off + i);
+		}
+		for (; i < n; i++) {
+			x[off + i] = p[off + i] * x[suiv + i] + x[off + i];
+		}
+	}
+
+	/**
+	 * Chaque ligne de la tuile MR x NR tient dans un registre de NR coefficients : à chaque pas
+	 * de la dimension commune, la ligne empaquetée de B est chargée une fois et multipliée par
+	 * les MR coefficients de A diffusés dans un registre.
+	 */
+	@Override
+	void microNoyau(int kc, double alpha, double[] ap, int ao, double[] bp, int bo,
+			double[] c, int co, int ldc, int mr, int nr) {
+		// Les tuiles de bord, peu nombreuses, passent par le noyau scalaire : garder ce
+		// micro-noyau court permet au JIT d'y intégrer toutes les opérations vectorielles.
+		if (mr != ProduitMatriciel.MR || nr != ProduitMatriciel.NR) {
+			repli.microNoyau(kc, alpha, ap, ao, bp, bo, c, co, ldc, mr, nr);
+			return;
+		}
+		DoubleVector c0 = DoubleVector.zero(S);
+		DoubleVector c1 = DoubleVector.zero(S);
+		DoubleVector c2 = DoubleVector.zero(S);
+		DoubleVector c3 = DoubleVector.zero(S);
+
+		for (int p = 0; p < kc; p++) {
+			DoubleVector b = DoubleVector.fromArray(S, bp, bo);
+			c0 = b.fma(DoubleVector.broadcast(S, ap[ao]), c0);
+			c1 = b.fma(DoubleVector.broadcast(S, ap[ao + 1]), c1);
+			c2 = b.fma(DoubleVector.broadcast(S, ap[ao + 2]), c2);
+			c3 = b.fma(DoubleVector.broadcast(S, ap[ao + 3]), c3);
+			ao += ProduitMatriciel.MR;
+			bo += ProduitMatriciel.NR;
+		}
+
+		DoubleVector va = DoubleVector.broadcast(S, alpha);
+		c0.fma(va, DoubleVector.fromArray(S, c, co)).intoArray(c, co);
+		c1.fma(va, DoubleVector.fromArray(S, c, co + ldc)).intoArray(c, co + ldc);
+		c2.fma(va, DoubleVector.fromArray(S, c, co + 2 * ldc)).intoArray(c, co + 2 * ldc);
+		c3.fma(va, DoubleVector.fromArray(S, c, co + 3 * ldc)).intoArray(c, co + 3 * ldc);
+	}
+}
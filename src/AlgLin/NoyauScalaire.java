@@ -0,0 +1,153 @@
+package AlgLin;
+
+/**
+ * Noyau de calcul scalaire : boucles Java simples, laissées à l'optimisation du compilateur JIT.
+ * C'est le noyau de repli lorsque l'API Vector n'est pas disponible.
+ *
+ * @author Syrder Baptichon
+ * @see NoyauCalcul
+ */
+final class NoyauScalaire extends NoyauCalcul {
+
+	@Override
+	double produitScalaire(double[] a, int aOff, double[] b, int bOff, int n) {
+		double somme = 0.0;
+		for (int i = 0; i < n; i++) {
+			somme += a[aOff + i] * b[bOff + i];
+		}
+		return somme;
+	}
+
+	@Override
+	void addition(double[] a, int aOff, double[] b, int bOff, double[] r, int rOff, int n) {
+		for (int i = 0; i < n; i++) {
+			r[rOff + i] = a[aOff + i] + b[bOff + i];
+		}
+	}
+
+	@Override
+	void soustraction(double[] a, int aOff, double[] b, int bOff, double[] r, int rOff, int n) {
+		for (int i = 0; i < n; i++) {
+			r[rOff + i] = a[aOff + i] - b[bOff + i];
+		}
+	}
+
+	@Override
+	void echelle(double s, double[] a, int off, int n) {
+		for (int i = off; i < off + n; i++) {
+			a[i] *= s;
+		}
+	}
+
+	@Override
+	void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int n) {
+		for (int i = 0; i < n; i++) {
+			y[yOff + i] += alpha * x[xOff + i];
+		}
+	}
+
+	@Override
+	double sommeAbs(double[] a, int off, int n) {
+		double somme = 0.0;
+		for (int i = off; i < off + n; i++) {
+			somme += Math.abs(a[i]);
+		}
+		return somme;
+	}
+
+	@Override
+	double sommeCarres(double[] a, int off, int n) {
+		double somme = 0.0;
+		for (int i = off; i < off + n; i++) {
+			somme += a[i] * a[i];
+		}
+		return somme;
+	}
+
+	@Override
+	double maxAbs(double[] a, int off, int n) {
+		double max = 0.0;
+		for (int i = off; i < off + n; i++) {
+			max = Math.max(max, Math.abs(a[i]));
+		}
+		return max;
+	}
+
+	@Override
+	void descenteThomas(double[] a, double[] b, double[] c, double[] d, double[] p, double[] q,
+			int off, int prec, int n) {
+		for (int i = 0; i < n; i++) {
+			double beta = a[off + i] * p[prec + i] + b[off + i];
+			p[off + i] = -c[off + i] / beta;
+			q[off + i] = (d[off + i] - a[off + i] * q[prec + i]) / beta;
+		}
+	}
+
+	@Override
+	void remonteeThomas(double[] p, double[] x, int off, int suiv, int n) {
+		for (int i = 0; i < n; i++) {
+			x[off + i] = p[off + i] * x[suiv + i] + x[off + i];
+		}
+	}
+
+	/**
+	 * Calcule une tuile MR x NR de C en gardant les seize accumulateurs dans des variables locales,
+	 * puis ajoute alpha fois le résultat aux mr x nr coefficients effectivement présents dans C.
+	 */
+	@Override
+	void microNoyau(int kc, double alpha, double[] ap, int ao, double[] bp, int bo,
+			double[] c, int co, int ldc, int mr, int nr) {
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+		double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+		double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+		for (int p = 0; p < kc; p++) {
+			double a0 = ap[ao], a1 = ap[ao + 1], a2 = ap[ao + 2], a3 = ap[ao + 3];
+			double b0 = bp[bo], b1 = bp[bo + 1], b2 = bp[bo + 2], b3 = bp[bo + 3];
+			c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+			c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+			c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+			c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+			ao += ProduitMatriciel.MR;
+			bo += ProduitMatriciel.NR;
+		}
+
+		if (mr == ProduitMatriciel.MR && nr == ProduitMatriciel.NR) {
+			int l0 = co, l1 = co + ldc, l2 = co + 2 * ldc, l3 = co + 3 * ldc;
+			c[l0] += alpha * c00; c[l0 + 1] += alpha * c01; c[l0 + 2] += alpha * c02; c[l0 + 3] += alpha * c03;
+			c[l1] += alpha * c10; c[l1 + 1] += alpha * c11; c[l1 + 2] += alpha * c12; c[l1 + 3] += alpha * c13;
+			c[l2] += alpha * c20; c[l2 + 1] += alpha * c21; c[l2 + 2] += alpha * c22; c[l2 + 3] += alpha * c23;
+			c[l3] += alpha * c30; c[l3 + 1] += alpha * c31; c[l3 + 2] += alpha * c32; c[l3 + 3] += alpha * c33;
+		} else {
+			// Tuile de bord : on ne recopie que la partie présente dans C, sans tableau intermédiaire
+			ajouterLigne(c, co, alpha, c00, c01, c02, c03, nr);
+			if (mr > 1) {
+				ajouterLigne(c, co + ldc, alpha, c10, c11, c12, c13, nr);
+			}
+			if (mr > 2) {
+				ajouterLigne(c, co + 2 * ldc, alpha, c20, c21, c22, c23, nr);
+			}
+			if (mr > 3) {
+				ajouterLigne(c, co + 3 * ldc, alpha, c30, c31, c32, c33, nr);
+			}
+		}
+	}
+
+	/**
+	 * Ajoute alpha fois les nr premiers accumulateurs d'une ligne de tuile à la ligne de C
+	 * commençant à l'indice l.
+	 */
+	private static void ajouterLigne(double[] c, int l, double alpha, double v0, double v1, double v2, double v3, int nr) {
+		c[l] += alpha * v0;
+		if (nr > 1) {
+			c[l + 1] += alpha * v1;
+		}
+		if (nr > 2) {
+			c[l + 2] += alpha * v2;
+		}
+		if (nr > 3) {
+			c[l + 3] += alpha * v3;
+		}
+	}
+}
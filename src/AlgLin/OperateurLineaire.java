@@ -0,0 +1,125 @@
+package AlgLin;
+
+/**
+ * Opérateur linéaire carré, connu seulement par son action sur un vecteur : c'est tout ce dont les
+ * méthodes itératives ont besoin. L'opérateur peut être une matrice dense ou creuse, ou être
+ * calculé sans former de matrice (différences finies appliquées directement à la grille, produit
+ * de plusieurs opérateurs...).
+ *
+ * @author Syrder Baptichon
+ */
+public interface OperateurLineaire {
+
+	/**
+	 * Retourne la dimension de l'opérateur (ordre de la matrice qu'il représente).
+	 * @return La dimension de l'opérateur.
+	 */
+	int dimension();
+
+	/**
+	 * Calcule y = Ax dans un vecteur fourni, sans allocation.
+	 * @param x Le vecteur auquel l'opérateur est appliqué.
+	 * @param y Le vecteur recevant le résultat, distinct de x.
+	 */
+	void appliquer(Vecteur x, Vecteur y);
+
+	/**
+	 * Retourne l'opérateur d'une matrice dense carrée, tridiagonale si c'est une {@link Mat3Diag},
+	 * ou bande si c'est une {@link MatBande}. La matrice n'est pas recopiée.
+	 *
+	 * @param A La matrice.
+	 * @return L'opérateur x -> Ax.
+	 * @throws IrregularSysLinException Si la matrice n'est pas carrée.
+	 */
+	static OperateurLineaire de(Matrice A) throws IrregularSysLinException {
+		if (A instanceof Mat3Diag) {
+			return tridiagonal((Mat3Diag) A);
+		}
+		if (A instanceof MatBande) {
+			MatBande bande = (MatBande) A;
+			return new OperateurLineaire() {
+				@Override
+				public int dimension() {
+					return bande.getOrdre();
+				}
+
+				@Override
+				public void appliquer(Vecteur x, Vecteur y) {
+					bande.produit(x.coefficient, y.coefficient);
+				}
+			};
+		}
+		if (A.nbLigne() != A.nbColonne()) {
+			throw new IrregularSysLinException("Matrice non carrée.");
+		}
+		int n = A.nbLigne();
+		return new OperateurLineaire() {
+			@Override
+			public int dimension() {
+				return n;
+			}
+
+			@Override
+			public void appliquer(Vecteur x, Vecteur y) {
+				NoyauCalcul noyau = NoyauCalcul.actif();
+				for (int i = 0; i < n; i++) {
+					y.coefficient[i] = noyau.produitScalaire(A.coefficient, i * A.pas, x.coefficient, 0, n);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Retourne l'opérateur d'une matrice creuse carrée. La matrice n'est pas recopiée.
+	 *
+	 * @param A La matrice.
+	 * @return L'opérateur x -> Ax.
+	 * @throws IrregularSysLinException Si la matrice n'est pas carrée.
+	 */
+	static OperateurLineaire de(MatriceCreuse A) throws IrregularSysLinException {
+		if (A.nbLigne() != A.nbColonne()) {
+			throw new IrregularSysLinException("Matrice non carrée.");
+		}
+		return new OperateurLineaire() {
+			@Override
+			public int dimension() {
+				return A.nbLigne();
+			}
+
+			@Override
+			public void appliquer(Vecteur x, Vecteur y) {
+				A.produit(x.coefficient, y.coefficient, null);
+			}
+		};
+	}
+
+	/**
+	 * Retourne l'opérateur d'une matrice tridiagonale rangée en 3 lignes : sous-diagonale,
+	 * diagonale et sur-diagonale, comme dans {@link Mat3Diag#produit_par_vecteur(Mat3Diag, Vecteur)}.
+	 */
+	private static OperateurLineaire tridiagonal(Mat3Diag A) {
+		int n = A.nbColonne();
+		return new OperateurLineaire() {
+			@Override
+			public int dimension() {
+				return n;
+			}
+
+			@Override
+			public void appliquer(Vecteur x, Vecteur y) {
+				double[] a = A.coefficient, u = x.coefficient;
+				int pas = A.pas;
+				for (int i = 0; i < n; i++) {
+					double s = a[pas + i] * u[i];
+					if (i > 0) {
+						s += a[i] * u[i - 1];
+					}
+					if (i < n - 1) {
+						s += a[2 * pas + i] * u[i + 1];
+					}
+					y.coefficient[i] = s;
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,127 @@
+package AlgLin;
+
+/**
+ * Préconditionneur d'une méthode itérative : une approximation M de la matrice A dont on sait
+ * résoudre les systèmes à peu de frais. La méthode itère alors sur M^-1 A, mieux conditionnée
+ * que A, et converge en moins d'itérations.
+ * <p>
+ * Les préconditionneurs usuels sont construits par les méthodes statiques de cette interface ;
+ * tout autre préconditionneur (multigrille, factorisation d'un problème voisin...) peut être
+ * fourni en implémentant {@link #appliquer(Vecteur, Vecteur)}.
+ *
+ * @author Syrder Baptichon
+ */
+public interface Preconditionneur {
+
+	/**
+	 * Résout Mz = r dans un vecteur fourni, sans allocation.
+	 * @param r Le second membre (en général le résidu courant).
+	 * @param z Le vecteur recevant la solution, distinct de r.
+	 */
+	void appliquer(Vecteur r, Vecteur z);
+
+	/**
+	 * Retourne le préconditionneur identité (aucun préconditionnement).
+	 * @return Le préconditionneur M = I.
+	 */
+	static Preconditionneur identite() {
+		return (r, z) -> System.arraycopy(r.coefficient, 0, z.coefficient, 0, z.getTaille());
+	}
+
+	/**
+	 * Retourne le préconditionneur de Jacobi M = diag(A), pour une matrice dense, tridiagonale ou bande.
+	 * @param A La matrice du système.
+	 * @return Le préconditionneur de Jacobi.
+	 * @throws IrregularSysLinException Si un coefficient diagonal est nul.
+	 */
+	static Preconditionneur jacobi(Matrice A) throws IrregularSysLinException {
+		if (A instanceof Mat3Diag || A instanceof MatBande) {
+			return jacobi(MatriceCreuse.de(A));
+		}
+		double[] diagonale = new double[A.nbLigne()];
+		for (int i = 0; i < diagonale.length; i++) {
+			diagonale[i] = A.getCoef(i, i);
+		}
+		return new PreconditionneurJacobi(diagonale);
+	}
+
+	/**
+	 * Retourne le préconditionneur de Jacobi M = diag(A), pour une matrice creuse.
+	 * @param A La matrice du système.
+	 * @return Le préconditionneur de Jacobi.
+	 * @throws IrregularSysLinException Si un coefficient diagonal est nul.
+	 */
+	static Preconditionneur jacobi(MatriceCreuse A) throws IrregularSysLinException {
+		double[] diagonale = new double[A.nbLigne()];
+		for (int i = 0; i < diagonale.length; i++) {
+			diagonale[i] = A.getCoef(i, i);
+		}
+		return new PreconditionneurJacobi(diagonale);
+	}
+
+	/**
+	 * Retourne le préconditionneur de Jacobi pour une diagonale donnée, ce qui permet de
+	 * préconditionner un opérateur sans matrice dont on connaît la diagonale.
+	 * @param diagonale La diagonale de l'opérateur (recopiée).
+	 * @return Le préconditionneur de Jacobi.
+	 * @throws IrregularSysLinException Si un coefficient diagonal est nul.
+	 */
+	static Preconditionneur jacobi(double[] diagonale) throws IrregularSysLinException {
+		return new PreconditionneurJacobi(diagonale.clone());
+	}
+
+	/**
+	 * Retourne le préconditionneur SSOR d'une matrice symétrique dense ; la matrice est d'abord
+	 * rangée sous forme creuse.
+	 * @param A La matrice du système, symétrique.
+	 * @param omega Le paramètre de relaxation, dans ]0, 2[ (1 donne Gauss-Seidel symétrique).
+	 * @return Le préconditionneur SSOR.
+	 * @throws IrregularSysLinException Si un coefficient diagonal est nul.
+	 * @see #ssor(MatriceCreuse, double)
+	 */
+	static Preconditionneur ssor(Matrice A, double omega) throws IrregularSysLinException {
+		return ssor(MatriceCreuse.de(A), omega);
+	}
+
+	/**
+	 * Retourne le préconditionneur SSOR d'une matrice creuse :
+	 * M = omega / (2 - omega) (D / omega + L) (D / omega)^-1 (D / omega + U), où D est la
+	 * diagonale de A, L et U ses parties strictement inférieure et supérieure (U = L^t pour une
+	 * matrice symétrique ; sinon M n'est plus symétrique et ne convient qu'aux méthodes non
+	 * symétriques). Chaque application coûte une descente et une remontée sur les coefficients de
+	 * A, soit à peu près un produit matrice-vecteur.
+	 * @param A La matrice du système.
+	 * @param omega Le paramètre de relaxation, dans ]0, 2[ (1 donne Gauss-Seidel symétrique).
+	 * @return Le préconditionneur SSOR.
+	 * @throws IrregularSysLinException Si un coefficient diagonal est nul.
+	 */
+	static Preconditionneur ssor(MatriceCreuse A, double omega) throws IrregularSysLinException {
+		return new PreconditionneurSSOR(A, omega);
+	}
+
+	/**
+	 * Retourne le préconditionneur de Cholesky incomplet d'une matrice symétrique définie positive
+	 * dense ; la matrice est d'abord rangée sous forme creuse.
+	 * @param A La matrice du système.
+	 * @return Le préconditionneur IC(0).
+	 * @throws IrregularSysLinException Si la factorisation incomplète est impossible.
+	 * @see #choleskyIncomplet(MatriceCreuse)
+	 */
+	static Preconditionneur choleskyIncomplet(Matrice A) throws IrregularSysLinException {
+		return choleskyIncomplet(MatriceCreuse.de(A));
+	}
+
+	/**
+	 * Retourne le préconditionneur de Cholesky incomplet sans remplissage, IC(0) : M = L L^t, où L
+	 * a la structure du triangle inférieur de A. Si la factorisation rencontre un pivot négatif
+	 * (ce qui peut arriver hors des M-matrices), elle est reprise sur A + alpha diag(A) avec un
+	 * décalage alpha croissant, mais borné.
+	 * @param A La matrice du système, symétrique définie positive.
+	 * @return Le préconditionneur IC(0).
+	 * @throws IrregularSysLinException Si A n'est pas carrée, a un coefficient diagonal non positif,
+	 * ou si la factorisation échoue avec tous les décalages (coefficient infini ou NaN).
+	 */
+	static Preconditionneur choleskyIncomplet(MatriceCreuse A) throws IrregularSysLinException {
+		return new PreconditionneurIC0(A);
+	}
+}
@@ -0,0 +1,134 @@
+package AlgLin;
+
+/**
+ * Préconditionneur de Cholesky incomplet sans remplissage, IC(0) : M = L L^t, où L a exactement la
+ * structure du triangle inférieur de A. Les coefficients qui apparaîtraient hors de cette structure
+ * lors d'une factorisation de Cholesky complète sont ignorés, si bien que L occupe la moitié de la
+ * place de A et que chaque application coûte à peu près un produit matrice-vecteur.
+ * <p>
+ * Le facteur est rangé au format CSR, chaque ligne se terminant par son coefficient diagonal. Pour
+ * une matrice symétrique définie positive qui n'est pas une M-matrice, la factorisation incomplète
+ * peut rencontrer un pivot négatif ; elle est alors reprise sur A + alpha diag(A), alpha partant de
+ * {@link #DECALAGE_INITIAL} et doublant à chaque échec (décalage de Manteuffel), au plus
+ * {@link #ESSAIS_MAX} fois : une matrice à coefficients finis est alors à diagonale dominante, et un
+ * échec ne peut venir que d'un coefficient infini ou NaN.
+ *
+ * @author Syrder Baptichon
+ */
+final class PreconditionneurIC0 implements Preconditionneur {
+
+	/** Premier décalage relatif de la diagonale essayé après un pivot négatif. */
+	static final double DECALAGE_INITIAL = 1e-3;
+
+	/** Nombre maximal de décalages essayés, le dernier valant DECALAGE_INITIAL * 2^(ESSAIS_MAX - 1). */
+	static final int ESSAIS_MAX = 64;
+
+	/** Structure CSR du facteur L (triangle inférieur de A). */
+	private final int[] debut, colonnes;
+
+	/** Coefficients du facteur L. */
+	private final double[] valeurs;
+
+	/**
+	 * @param A La matrice du système, symétrique définie positive.
+	 * @throws IrregularSysLinException Si A n'est pas carrée, a un coefficient diagonal nul ou négatif,
+	 * ou si la factorisation échoue encore avec le plus grand décalage.
+	 */
+	PreconditionneurIC0(MatriceCreuse A) throws IrregularSysLinException {
+		if (A.nbLigne() != A.nbColonne()) {
+			throw new IrregularSysLinException("Matrice non carrée.");
+		}
+		int n = A.nbLigne();
+		// Structure du triangle inférieur, diagonale comprise (en dernier dans chaque ligne)
+		debut = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			int k = A.debutLigne[i];
+			while (k < A.debutLigne[i + 1] && A.colonnesNonNuls[k] < i) {
+				k++;
+			}
+			if (k == A.debutLigne[i + 1] || A.colonnesNonNuls[k] != i || !(A.valeurs[k] > 0)) {
+				throw new IrregularSysLinException("Matrice non définie positive : pivot " + A.getCoef(i, i) + " à la ligne " + i + ".");
+			}
+			debut[i + 1] = debut[i] + k - A.debutLigne[i] + 1;
+		}
+		colonnes = new int[debut[n]];
+		valeurs = new double[debut[n]];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(A.colonnesNonNuls, A.debutLigne[i], colonnes, debut[i], debut[i + 1] - debut[i]);
+		}
+
+		double decalage = 0;
+		int essais = 0;
+		while (!factoriser(A, decalage)) {
+			if (++essais > ESSAIS_MAX) {
+				throw new IrregularSysLinException("Factorisation incomplète impossible : pivot non positif avec un décalage de " + decalage + ".");
+			}
+			decalage = decalage == 0 ? DECALAGE_INITIAL : 2 * decalage;
+		}
+	}
+
+	/**
+	 * Factorise A + decalage diag(A) ligne par ligne : l_ij = (a_ij - sum l_im l_jm) / l_jj, la
+	 * somme portant sur les colonnes m < j communes aux lignes i et j de L.
+	 *
+	 * @return false si un pivot négatif ou nul a été rencontré.
+	 */
+	private boolean factoriser(MatriceCreuse A, double decalage) {
+		int n = debut.length - 1;
+		for (int i = 0; i < n; i++) {
+			int d = debut[i], f = debut[i + 1] - 1;
+			System.arraycopy(A.valeurs, A.debutLigne[i], valeurs, d, f - d + 1);
+			valeurs[f] *= 1 + decalage;
+			for (int k = d; k < f; k++) {
+				int j = colonnes[k];
+				// Produit scalaire creux des lignes i et j, sur les colonnes < j
+				double s = valeurs[k];
+				int p = d, q = debut[j], finJ = debut[j + 1] - 1;
+				while (p < k && q < finJ) {
+					int cp = colonnes[p], cq = colonnes[q];
+					if (cp == cq) {
+						s -= valeurs[p++] * valeurs[q++];
+					} else if (cp < cq) {
+						p++;
+					} else {
+						q++;
+					}
+				}
+				valeurs[k] = s / valeurs[finJ];
+			}
+			double pivot = valeurs[f];
+			for (int k = d; k < f; k++) {
+				pivot -= valeurs[k] * valeurs[k];
+			}
+			if (!(pivot > 0)) {
+				return false;
+			}
+			valeurs[f] = Math.sqrt(pivot);
+		}
+		return true;
+	}
+
+	@Override
+	public void appliquer(Vecteur r, Vecteur z) {
+		int n = debut.length - 1;
+		double[] u = r.coefficient, v = z.coefficient;
+		// Descente : L y = r
+		for (int i = 0; i < n; i++) {
+			double s = u[i];
+			int f = debut[i + 1] - 1;
+			for (int k = debut[i]; k < f; k++) {
+				s -= valeurs[k] * v[colonnes[k]];
+			}
+			v[i] = s / valeurs[f];
+		}
+		// Remontée par colonnes : L^t z = y, la ligne i de L étant la colonne i de L^t
+		for (int i = n - 1; i >= 0; i--) {
+			int f = debut[i + 1] - 1;
+			double zi = v[i] / valeurs[f];
+			v[i] = zi;
+			for (int k = debut[i]; k < f; k++) {
+				v[colonnes[k]] -= valeurs[k] * zi;
+			}
+		}
+	}
+}
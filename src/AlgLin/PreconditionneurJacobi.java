@@ -0,0 +1,35 @@
+package AlgLin;
+
+/**
+ * Préconditionneur de Jacobi : M = diag(A). Il ne coûte qu'une multiplication par coefficient et
+ * corrige les écarts d'échelle entre les lignes du système.
+ *
+ * @author Syrder Baptichon
+ */
+final class PreconditionneurJacobi implements Preconditionneur {
+
+	/** Inverses des coefficients diagonaux. */
+	private final double[] inverses;
+
+	/**
+	 * @param diagonale La diagonale de A, remplacée par ses inverses.
+	 * @throws IrregularSysLinException Si un coefficient diagonal est nul.
+	 */
+	PreconditionneurJacobi(double[] diagonale) throws IrregularSysLinException {
+		for (int i = 0; i < diagonale.length; i++) {
+			if (diagonale[i] == 0) {
+				throw new IrregularSysLinException("Coefficient nul sur la diagonale.");
+			}
+			diagonale[i] = 1 / diagonale[i];
+		}
+		this.inverses = diagonale;
+	}
+
+	@Override
+	public void appliquer(Vecteur r, Vecteur z) {
+		double[] u = r.coefficient, v = z.coefficient;
+		for (int i = 0; i < inverses.length; i++) {
+			v[i] = inverses[i] * u[i];
+		}
+	}
+}
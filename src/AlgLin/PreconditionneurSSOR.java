@@ -0,0 +1,78 @@
+package AlgLin;
+
+/**
+ * Préconditionneur SSOR (surrelaxation symétrique) d'une matrice symétrique creuse :
+ * M = omega / (2 - omega) (D / omega + L) (D / omega)^-1 (D / omega + L^t). Appliquer M^-1 revient
+ * à une descente sur le triangle inférieur de A, une mise à l'échelle par D, puis une remontée sur
+ * son triangle supérieur ; les deux balayages lisent les lignes CSR de A dans l'ordre, sans copie
+ * de la matrice.
+ *
+ * @author Syrder Baptichon
+ */
+final class PreconditionneurSSOR implements Preconditionneur {
+
+	private final MatriceCreuse A;
+
+	/** Position du coefficient diagonal de chaque ligne dans les tableaux CSR. */
+	private final int[] positionDiagonale;
+
+	/** Coefficients diagonaux divisés par omega. */
+	private final double[] diagonale;
+
+	/** Facteur (2 - omega) / omega de la mise à l'échelle centrale. */
+	private final double facteur;
+
+	/**
+	 * @param A La matrice du système, symétrique.
+	 * @param omega Le paramètre de relaxation, dans ]0, 2[.
+	 * @throws IrregularSysLinException Si A n'est pas carrée ou a un coefficient diagonal nul.
+	 */
+	PreconditionneurSSOR(MatriceCreuse A, double omega) throws IrregularSysLinException {
+		if (!(omega > 0 && omega < 2)) {
+			throw new IllegalArgumentException("Le paramètre de relaxation doit être dans ]0, 2[");
+		}
+		if (A.nbLigne() != A.nbColonne()) {
+			throw new IrregularSysLinException("Matrice non carrée.");
+		}
+		int n = A.nbLigne();
+		this.A = A;
+		this.positionDiagonale = new int[n];
+		this.diagonale = new double[n];
+		this.facteur = (2 - omega) / omega;
+		for (int i = 0; i < n; i++) {
+			int k = java.util.Arrays.binarySearch(A.colonnesNonNuls, A.debutLigne[i], A.debutLigne[i + 1], i);
+			if (k < 0 || A.valeurs[k] == 0) {
+				throw new IrregularSysLinException("Coefficient nul sur la diagonale.");
+			}
+			positionDiagonale[i] = k;
+			diagonale[i] = A.valeurs[k] / omega;
+		}
+	}
+
+	@Override
+	public void appliquer(Vecteur r, Vecteur z) {
+		int n = diagonale.length;
+		int[] debut = A.debutLigne, col = A.colonnesNonNuls;
+		double[] a = A.valeurs, u = r.coefficient, v = z.coefficient;
+		// Descente : (D / omega + L) y = r
+		for (int i = 0; i < n; i++) {
+			double s = u[i];
+			for (int k = debut[i]; k < positionDiagonale[i]; k++) {
+				s -= a[k] * v[col[k]];
+			}
+			v[i] = s / diagonale[i];
+		}
+		// Mise à l'échelle : (2 - omega) / omega * (D / omega) y
+		for (int i = 0; i < n; i++) {
+			v[i] *= facteur * diagonale[i];
+		}
+		// Remontée : (D / omega + L^t) z = w, L^t étant lu dans le triangle supérieur de A
+		for (int i = n - 1; i >= 0; i--) {
+			double s = v[i];
+			for (int k = positionDiagonale[i] + 1; k < debut[i + 1]; k++) {
+				s -= a[k] * v[col[k]];
+			}
+			v[i] = s / diagonale[i];
+		}
+	}
+}
@@ -0,0 +1,303 @@
+package AlgLin;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Noyau de produit matriciel par blocs (GEMM) travaillant directement sur des tableaux
+ * contigus rangés ligne par ligne.
+ * <p>
+ * Le calcul suit le découpage classique en trois niveaux : les colonnes de B sont traitées par
+ * blocs de {@link #NC}, la dimension commune par blocs de {@link #KC} (panneau de B empaqueté,
+ * qui tient dans le cache L2) et les lignes de A par blocs de {@link #MC} (panneau de A empaqueté,
+ * qui tient dans le cache L1/L2). Le cœur du calcul est un micro-noyau qui garde une tuile
+ * {@link #MR} x {@link #NR} de C dans des registres ; il est fourni par le {@link NoyauCalcul}
+ * actif (scalaire ou SIMD).
+ * <p>
+ * La variante parallèle découpe C en tuiles 2D traitées par un {@link ForkJoinPool}, chaque
+ * tuile étant calculée par le noyau séquentiel.
+ *
+ * @author Syrder Baptichon
+ */
+final class ProduitMatriciel {
+
+	/** Nombre de lignes de la tuile de C calculée par le micro-noyau. */
+	static final int MR = 4;
+
+	/** Nombre de colonnes de la tuile de C calculée par le micro-noyau. */
+	static final int NR = 4;
+
+	/** Nombre de lignes d'un bloc de A empaqueté. */
+	static final int MC = 64;
+
+	/** Profondeur (dimension commune) d'un bloc empaqueté. */
+	static final int KC = 256;
+
+	/** Nombre de colonnes d'un bloc de B empaqueté. */
+	static final int NC = 1024;
+
+	/** En dessous de ce nombre de multiplications, l'empaquetage ne vaut pas son coût. */
+	private static final long SEUIL_NAIF = 32L * 32 * 32;
+
+	/** Côté maximal d'une tuile de C calculée par une seule tâche du calcul parallèle. */
+	static final int TUILE_PARALLELE = 256;
+
+	/**
+	 * Nombre de multiplications (m * n * k) en dessous duquel le produit parallèle se replie sur
+	 * le calcul séquentiel. Modifiable par {@link Matrice#setSeuilParallele(long)}.
+	 */
+	static volatile long seuilParallele = 128L * 128 * 128;
+
+	/**
+	 * Tampons d'empaquetage propres à chaque thread, réutilisés d'un appel à l'autre : 128 Ko pour
+	 * A et 2 Mo pour B, alloués au premier produit de chaque thread.
+	 */
+	private static final ThreadLocal<double[]> TAMPON_A = ThreadLocal.withInitial(() -> new double[MC * KC]);
+	private static final ThreadLocal<double[]> TAMPON_B = ThreadLocal.withInitial(() -> new double[KC * NC]);
+
+	private ProduitMatriciel() {
+	}
+
+	/**
+	 * Calcule C = alpha * A * B + beta * C sur des sous-matrices rangées ligne par ligne.
+	 *
+	 * @param m Nombre de lignes de A et de C.
+	 * @param n Nombre de colonnes de B et de C.
+	 * @param k Nombre de colonnes de A (et de lignes de B).
+	 * @param alpha Facteur appliqué au produit A * B.
+	 * @param a Tableau contenant A.
+	 * @param aOff Indice du coefficient (0, 0) de A.
+	 * @param lda Pas entre deux lignes de A.
+	 * @param b Tableau contenant B.
+	 * @param bOff Indice du coefficient (0, 0) de B.
+	 * @param ldb Pas entre deux lignes de B.
+	 * @param beta Facteur appliqué à C avant accumulation (0 pour ignorer son contenu).
+	 * @param c Tableau contenant C.
+	 * @param cOff Indice du coefficient (0, 0) de C.
+	 * @param ldc Pas entre deux lignes de C.
+	 */
+	static void gemm(int m, int n, int k, double alpha,
+			double[] a, int aOff, int lda,
+			double[] b, int bOff, int ldb,
+			double beta, double[] c, int cOff, int ldc) {
+		if (m == 0 || n == 0) {
+			return;
+		}
+		if (beta != 1.0) {
+			echelonner(m, n, beta, c, cOff, ldc);
+		}
+		if (k == 0 || alpha == 0.0) {
+			return;
+		}
+		if ((long) m * n * k <= SEUIL_NAIF) {
+			gemmNaif(m, n, k, alpha, a, aOff, lda, b, bOff, ldb, c, cOff, ldc);
+			return;
+		}
+
+		double[] ap = TAMPON_A.get();
+		double[] bp = TAMPON_B.get();
+		for (int jc = 0; jc < n; jc += NC) {
+			int nc = Math.min(NC, n - jc);
+			for (int pc = 0; pc < k; pc += KC) {
+				int kc = Math.min(KC, k - pc);
+				empaqueterB(kc, nc, b, bOff + pc * ldb + jc, ldb, bp);
+				for (int ic = 0; ic < m; ic += MC) {
+					int mc = Math.min(MC, m - ic);
+					empaqueterA(mc, kc, a, aOff + ic * lda + pc, lda, ap);
+					macroNoyau(mc, nc, kc, alpha, ap, bp, c, cOff + ic * ldc + jc, ldc);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Calcule C = alpha * A * B + beta * C en répartissant des tuiles 2D de C sur un pool
+	 * fork/join. Les paramètres ont la même signification que pour
+	 * {@link #gemm(int, int, int, double, double[], int, int, double[], int, int, double, double[], int, int)}.
+	 * En dessous de {@link #seuilParallele}, le calcul reste séquentiel.
+	 *
+	 * @param pool Le pool qui exécute les tâches.
+	 */
+	static void gemmParallele(int m, int n, int k, double alpha,
+			double[] a, int aOff, int lda,
+			double[] b, int bOff, int ldb,
+			double beta, double[] c, int cOff, int ldc, ForkJoinPool pool) {
+		if ((long) m * n * k < seuilParallele || pool.getParallelism() == 1) {
+			gemm(m, n, k, alpha, a, aOff, lda, b, bOff, ldb, beta, c, cOff, ldc);
+			return;
+		}
+		pool.invoke(new TuileProduit(0, m, 0, n, k, alpha, a, aOff, lda, b, bOff, ldb, beta, c, cOff, ldc));
+	}
+
+	/**
+	 * Tâche fork/join calculant le bloc [i0, i1) x [j0, j1) de C. Le bloc est coupé en deux selon
+	 * sa plus grande dimension tant qu'il dépasse {@link #TUILE_PARALLELE}.
+	 */
+	private static final class TuileProduit extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int i0, i1, j0, j1, k;
+		private final double alpha, beta;
+		private final double[] a, b, c;
+		private final int aOff, lda, bOff, ldb, cOff, ldc;
+
+		TuileProduit(int i0, int i1, int j0, int j1, int k, double alpha,
+				double[] a, int aOff, int lda, double[] b, int bOff, int ldb,
+				double beta, double[] c, int cOff, int ldc) {
+			this.i0 = i0; this.i1 = i1; this.j0 = j0; this.j1 = j1; this.k = k;
+			this.alpha = alpha; this.beta = beta;
+			this.a = a; this.aOff = aOff; this.lda = lda;
+			this.b = b; this.bOff = bOff; this.ldb = ldb;
+			this.c = c; this.cOff = cOff; this.ldc = ldc;
+		}
+
+		@Override
+		protected void compute() {
+			int m = i1 - i0, n = j1 - j0;
+			if (m <= TUILE_PARALLELE && n <= TUILE_PARALLELE) {
+				gemm(m, n, k, alpha, a, aOff + i0 * lda, lda, b, bOff + j0, ldb,
+						beta, c, cOff + i0 * ldc + j0, ldc);
+			} else if (m >= n) {
+				int milieu = i0 + ((m / 2 + MR - 1) / MR) * MR;
+				invokeAll(new TuileProduit(i0, milieu, j0, j1, k, alpha, a, aOff, lda, b, bOff, ldb, beta, c, cOff, ldc),
+						new TuileProduit(milieu, i1, j0, j1, k, alpha, a, aOff, lda, b, bOff, ldb, beta, c, cOff, ldc));
+			} else {
+				int milieu = j0 + ((n / 2 + NR - 1) / NR) * NR;
+				invokeAll(new TuileProduit(i0, i1, j0, milieu, k, alpha, a, aOff, lda, b, bOff, ldb, beta, c, cOff, ldc),
+						new TuileProduit(i0, i1, milieu, j1, k, alpha, a, aOff, lda, b, bOff, ldb, beta, c, cOff, ldc));
+			}
+		}
+	}
+
+	/**
+	 * Multiplie par beta les coefficients de la sous-matrice C.
+	 */
+	private static void echelonner(int m, int n, double beta, double[] c, int cOff, int ldc) {
+		for (int i = 0; i < m; i++) {
+			int debut = cOff + i * ldc;
+			if (beta == 0.0) {
+				java.util.Arrays.fill(c, debut, debut + n, 0.0);
+			} else {
+				for (int j = debut; j < debut + n; j++) {
+					c[j] *= beta;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Produit direct en ordre i-k-j, utilisé pour les petites matrices.
+	 */
+	private static void gemmNaif(int m, int n, int k, double alpha,
+			double[] a, int aOff, int lda, double[] b, int bOff, int ldb,
+			double[] c, int cOff, int ldc) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i = 0; i < m; i++) {
+			int ic = cOff + i * ldc;
+			for (int p = 0; p < k; p++) {
+				noyau.axpy(alpha * a[aOff + i * lda + p], b, bOff + p * ldb, c, ic, n);
+			}
+		}
+	}
+
+	/**
+	 * Recopie un bloc mc x kc de A en micro-panneaux de MR lignes : pour chaque indice p de la
+	 * dimension commune, les MR coefficients d'une même colonne sont consécutifs. Les lignes
+	 * manquantes du dernier micro-panneau sont complétées par des zéros.
+	 */
+	private static void empaqueterA(int mc, int kc, double[] a, int aOff, int lda, double[] ap) {
+		int dst = 0;
+		for (int i = 0; i < mc; i += MR) {
+			int mr = Math.min(MR, mc - i);
+			for (int p = 0; p < kc; p++) {
+				int src = aOff + i * lda + p;
+				for (int r = 0; r < mr; r++) {
+					ap[dst + r] = a[src + r * lda];
+				}
+				for (int r = mr; r < MR; r++) {
+					ap[dst + r] = 0.0;
+				}
+				dst += MR;
+			}
+		}
+	}
+
+	/**
+	 * Recopie un bloc kc x nc de B en micro-panneaux de NR colonnes : pour chaque indice p de la
+	 * dimension commune, les NR coefficients d'une même ligne sont consécutifs. Les colonnes
+	 * manquantes du dernier micro-panneau sont complétées par des zéros.
+	 */
+	private static void empaqueterB(int kc, int nc, double[] b, int bOff, int ldb, double[] bp) {
+		int dst = 0;
+		for (int j = 0; j < nc; j += NR) {
+			int nr = Math.min(NR, nc - j);
+			for (int p = 0; p < kc; p++) {
+				int src = bOff + p * ldb + j;
+				for (int s = 0; s < nr; s++) {
+					bp[dst + s] = b[src + s];
+				}
+				for (int s = nr; s < NR; s++) {
+					bp[dst + s] = 0.0;
+				}
+				dst += NR;
+			}
+		}
+	}
+
+	/**
+	 * Parcourt les tuiles MR x NR d'un bloc mc x nc de C et applique le micro-noyau à chacune.
+	 */
+	private static void macroNoyau(int mc, int nc, int kc, double alpha,
+			double[] ap, double[] bp, double[] c, int cOff, int ldc) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int j = 0; j < nc; j += NR) {
+			int nr = Math.min(NR, nc - j);
+			int bo = j * kc;
+			for (int i = 0; i < mc; i += MR) {
+				int mr = Math.min(MR, mc - i);
+				noyau.microNoyau(kc, alpha, ap, i * kc, bp, bo, c, cOff + i * ldc + j, ldc, mr, nr);
+			}
+		}
+	}
+
+	/**
+	 * Mesure le débit (GFLOP/s) du produit séquentiel et du produit parallèle sur des matrices
+	 * carrées aléatoires, et affiche l'accélération obtenue.
+	 *
+	 * @param args Les tailles à mesurer (par défaut 512, 1024 et 2048).
+	 */
+	public static void main(String[] args) {
+		int[] tailles = {512, 1024, 2048};
+		if (args.length > 0) {
+			tailles = new int[args.length];
+			for (int t = 0; t < args.length; t++) {
+				tailles[t] = Integer.parseInt(args[t]);
+			}
+		}
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		Random rand = new Random(42);
+		System.out.println("Threads disponibles : " + pool.getParallelism());
+
+		for (int n : tailles) {
+			double[] a = new double[n * n], b = new double[n * n], c = new double[n * n];
+			for (int i = 0; i < n * n; i++) {
+				a[i] = rand.nextDouble();
+				b[i] = rand.nextDouble();
+			}
+			double flops = 2.0 * n * n * n;
+			double meilleurSeq = Double.MAX_VALUE, meilleurPar = Double.MAX_VALUE;
+			for (int essai = 0; essai < 3; essai++) {
+				long debut = System.nanoTime();
+				gemm(n, n, n, 1.0, a, 0, n, b, 0, n, 0.0, c, 0, n);
+				meilleurSeq = Math.min(meilleurSeq, System.nanoTime() - debut);
+
+				debut = System.nanoTime();
+				gemmParallele(n, n, n, 1.0, a, 0, n, b, 0, n, 0.0, c, 0, n, pool);
+				meilleurPar = Math.min(meilleurPar, System.nanoTime() - debut);
+			}
+			System.out.printf("n = %d : séquentiel %.2f GFLOP/s, parallèle %.2f GFLOP/s, accélération x%.1f%n",
+					n, flops / meilleurSeq, flops / meilleurPar, meilleurSeq / meilleurPar);
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package AlgLin;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Résolution de systèmes triangulaires à plusieurs seconds membres (TRSM) : les seconds membres
+ * forment les colonnes d'une matrice X, rangée ligne par ligne, qui est remplacée par la solution.
+ * <p>
+ * Les inconnues sont traitées par blocs de {@link #NB} lignes : la contribution des blocs déjà
+ * résolus est retranchée en un seul produit matriciel confié à {@link ProduitMatriciel}, puis le
+ * bloc diagonal est résolu ligne par ligne, chaque opération portant sur une ligne entière de X.
+ * Les colonnes de X étant indépendantes, elles sont traitées par tranches, éventuellement
+ * réparties entre plusieurs threads, par {@link #parColonnes(int, Colonnes, ForkJoinPool)}. Dans
+ * une tranche, les premières lignes nulles des seconds membres sont sautées par la descente : pour
+ * les colonnes de l'identité (calcul d'un inverse), cela évite un tiers des opérations.
+ *
+ * @author Syrder Baptichon
+ */
+final class ResolutionBloc {
+
+	/** Nombre de lignes d'un bloc d'inconnues. */
+	static final int NB = 64;
+
+	/** Nombre maximal de colonnes d'une tranche. */
+	static final int TRANCHE = 256;
+
+	/** Nombre minimal de colonnes d'une tranche du calcul parallèle. */
+	static final int TRANCHE_MIN = 64;
+
+	private ResolutionBloc() {
+	}
+
+	/**
+	 * Calcul portant sur les colonnes [j0, j1) des seconds membres.
+	 */
+	interface Colonnes {
+		void resoudre(int j0, int j1);
+	}
+
+	/**
+	 * Résout L X = B sur place, L étant triangulaire inférieure d'ordre n.
+	 *
+	 * @param n Ordre du système.
+	 * @param k Nombre de seconds membres (colonnes de X).
+	 * @param l Tableau contenant L, de pas ldl à partir de lOff ; seul son triangle inférieur est lu.
+	 * @param unite true si la diagonale de L est unitaire (elle n'est alors pas lue).
+	 * @param x Tableau contenant B puis X, de pas ldx à partir de xOff.
+	 */
+	static void descente(int n, int k, double[] l, int lOff, int ldl, boolean unite, double[] x, int xOff, int ldx) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		// Les premières lignes nulles de B restent nulles dans X : la résolution commence à la
+		// première ligne non nulle
+		int r = 0;
+		while (r < n && noyau.maxAbs(x, xOff + r * ldx, k) == 0) {
+			r++;
+		}
+		if (r > 0) {
+			descente(n - r, k, l, lOff + r * ldl + r, ldl, unite, x, xOff + r * ldx, ldx);
+			return;
+		}
+		for (int i0 = 0; i0 < n; i0 += NB) {
+			int i1 = Math.min(i0 + NB, n);
+			// X[i0:i1] -= L[i0:i1, 0:i0] * X[0:i0]
+			ProduitMatriciel.gemm(i1 - i0, k, i0, -1.0, l, lOff + i0 * ldl, ldl, x, xOff, ldx,
+					1.0, x, xOff + i0 * ldx, ldx);
+			for (int i = i0; i < i1; i++) {
+				int li = lOff + i * ldl, xi = xOff + i * ldx;
+				for (int t = i0; t < i; t++) {
+					if (l[li + t] != 0) {
+						noyau.axpy(-l[li + t], x, xOff + t * ldx, x, xi, k);
+					}
+				}
+				if (!unite) {
+					noyau.echelle(1 / l[li + i], x, xi, k);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Résout U X = B sur place, U étant triangulaire supérieure d'ordre n.
+	 *
+	 * @param n Ordre du système.
+	 * @param k Nombre de seconds membres (colonnes de X).
+	 * @param u Tableau contenant U, de pas ldu à partir de uOff ; seul son triangle supérieur est lu.
+	 * @param unite true si la diagonale de U est unitaire (elle n'est alors pas lue).
+	 * @param x Tableau contenant B puis X, de pas ldx à partir de xOff.
+	 */
+	static void remontee(int n, int k, double[] u, int uOff, int ldu, boolean unite, double[] x, int xOff, int ldx) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i1 = n; i1 > 0; i1 -= NB) {
+			int i0 = Math.max(i1 - NB, 0);
+			// X[i0:i1] -= U[i0:i1, i1:n] * X[i1:n]
+			ProduitMatriciel.gemm(i1 - i0, k, n - i1, -1.0, u, uOff + i0 * ldu + i1, ldu, x, xOff + i1 * ldx, ldx,
+					1.0, x, xOff + i0 * ldx, ldx);
+			for (int i = i1 - 1; i >= i0; i--) {
+				int ui = uOff + i * ldu, xi = xOff + i * ldx;
+				for (int t = i + 1; t < i1; t++) {
+					if (u[ui + t] != 0) {
+						noyau.axpy(-u[ui + t], x, xOff + t * ldx, x, xi, k);
+					}
+				}
+				if (!unite) {
+					noyau.echelle(1 / u[ui + i], x, xi, k);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Résout D X = B sur place, D étant diagonale : la ligne i de X est divisée par d[dOff + i * dPas].
+	 */
+	static void diagonale(int n, int k, double[] d, int dOff, int dPas, double[] x, int xOff, int ldx) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i = 0; i < n; i++) {
+			noyau.echelle(1 / d[dOff + i * dPas], x, xOff + i * ldx, k);
+		}
+	}
+
+	/**
+	 * Vérifie qu'aucun coefficient diagonal d[dOff + i * dPas] n'est nul.
+	 *
+	 * @throws IrregularSysLinException Si un coefficient diagonal est nul.
+	 */
+	static void verifierDiagonale(int n, double[] d, int dOff, int dPas) throws IrregularSysLinException {
+		for (int i = 0; i < n; i++) {
+			if (d[dOff + i * dPas] == 0) {
+				throw new IrregularSysLinException("Coefficient nul sur la diagonale.");
+			}
+		}
+	}
+
+	/**
+	 * Recopie une matrice de seconds membres dans une nouvelle matrice, qui recevra la solution.
+	 *
+	 * @throws IrregularSysLinException Si le nombre de lignes ne correspond pas à l'ordre n.
+	 */
+	static Matrice copieSecondsMembres(int n, Matrice secondsMembres) throws IrregularSysLinException {
+		if (secondsMembres.nbLigne() != n) {
+			throw new IrregularSysLinException("Mauvais second membre.");
+		}
+		int k = secondsMembres.nbColonne();
+		Matrice x = new Matrice(n, k);
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(secondsMembres.coefficient, i * secondsMembres.pas, x.coefficient, i * k, k);
+		}
+		return x;
+	}
+
+	/**
+	 * Applique un calcul aux k colonnes des seconds membres, par tranches d'au plus
+	 * {@link #TRANCHE} colonnes. Avec un pool, les tranches sont réparties entre ses threads et
+	 * réduites si besoin (jusqu'à {@link #TRANCHE_MIN} colonnes) pour que chaque thread en ait
+	 * plusieurs.
+	 *
+	 * @param pool Le pool qui exécute les tranches, ou null pour un calcul séquentiel.
+	 */
+	static void parColonnes(int k, Colonnes calcul, ForkJoinPool pool) {
+		if (pool == null || pool.getParallelism() == 1 || k < 2 * TRANCHE_MIN) {
+			for (int j0 = 0; j0 < k; j0 += TRANCHE) {
+				calcul.resoudre(j0, Math.min(j0 + TRANCHE, k));
+			}
+		} else {
+			int largeur = Math.max(TRANCHE_MIN, Math.min(TRANCHE, k / (4 * pool.getParallelism())));
+			pool.invoke(new TacheColonnes(calcul, 0, k, largeur));
+		}
+	}
+
+	/**
+	 * Tâche fork/join traitant les colonnes [j0, j1), coupées en deux tant qu'elles dépassent la
+	 * largeur donnée.
+	 */
+	private static final class TacheColonnes extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Colonnes calcul;
+		private final int j0, j1, largeur;
+
+		TacheColonnes(Colonnes calcul, int j0, int j1, int largeur) {
+			this.calcul = calcul;
+			this.j0 = j0;
+			this.j1 = j1;
+			this.largeur = largeur;
+		}
+
+		@Override
+		protected void compute() {
+			if (j1 - j0 <= largeur) {
+				calcul.resoudre(j0, j1);
+			} else {
+				int milieu = j0 + ((j1 - j0) / 2 + ProduitMatriciel.NR - 1) / ProduitMatriciel.NR * ProduitMatriciel.NR;
+				invokeAll(new TacheColonnes(calcul, j0, milieu, largeur), new TacheColonnes(calcul, milieu, j1, largeur));
+			}
+		}
+	}
+}
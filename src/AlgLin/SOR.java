@@ -0,0 +1,405 @@
+package AlgLin;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Résolution d'un système par la méthode de surrelaxation successive (SOR) en ordre rouge-noir :
+ * pour chaque ligne i, x_i = x_i + omega (b_i - (Ax)_i) / a_ii, les lignes étant parcourues couleur
+ * par couleur. Le paramètre omega = 1 donne la méthode de Gauss-Seidel.
+ * <p>
+ * Les inconnues sont coloriées de sorte que deux inconnues liées par un coefficient non nul de A
+ * n'aient pas la même couleur. Les lignes d'une même couleur ne dépendent alors que des inconnues
+ * des autres couleurs : elles peuvent être mises à jour dans n'importe quel ordre, en particulier
+ * en parallèle, et le résultat ne dépend pas du nombre de threads. Une matrice tridiagonale ou
+ * le laplacien à 5 points reçoivent deux couleurs (rouge et noir) ; une structure plus dense en
+ * demande davantage, jusqu'à n pour une matrice pleine, qui est alors balayée séquentiellement.
+ * <p>
+ * Par défaut, omega est choisi automatiquement : les premiers balayages se font avec omega = 1,
+ * et le taux de convergence observé donne une estimation du rayon spectral rho de la matrice
+ * d'itération de Jacobi, d'où omega = 2 / (1 + sqrt(1 - rho^2)), optimal pour l'ordre rouge-noir
+ * (relation de Young). L'estimation est affinée tant que le taux observé montre que omega reste
+ * en deçà de l'optimum.
+ * <p>
+ * Avec deux couleurs, le résidu de chaque balayage est obtenu sans produit matrice-vecteur
+ * supplémentaire : celui des lignes noires au moment de leur mise à jour, celui des lignes rouges
+ * au début du balayage suivant, avant leur mise à jour. Avec plus de couleurs, il est recalculé
+ * à chaque balayage. La matrice est rangée sous forme creuse ({@link MatriceCreuse}) ; le
+ * préconditionneur n'est pas utilisé.
+ *
+ * @author Syrder Baptichon
+ */
+public class SOR extends SysLinIteratif {
+
+	/** Nombre de lignes d'un bloc traité par une tâche du balayage parallèle. */
+	private static final int LIGNES = 1 << 10;
+
+	/** Nombre minimal de balayages entre deux ajustements du paramètre de relaxation. */
+	private static final int BALAYAGES_ESTIMATION = 5;
+
+	/** Matrice du système, sous forme creuse. */
+	private final MatriceCreuse A;
+
+	/** Inverses des coefficients diagonaux. */
+	private final double[] inverses;
+
+	/** Lignes rangées par couleur : la couleur c occupe ordre[debutCouleur[c]..debutCouleur[c + 1]). */
+	private final int[] ordre, debutCouleur;
+
+	/** Paramètre de relaxation imposé, ou NaN pour le choix automatique. */
+	private double relaxation = Double.NaN;
+
+	/** Paramètre de relaxation de la fin de la dernière résolution. */
+	private double relaxationUtilisee = Double.NaN;
+
+	/** Résidus des lignes du balayage en cours. */
+	private double[] s;
+
+	/** Sommes partielles des carrés des résidus, une par bloc de lignes. */
+	private double[] partielles;
+
+	/** Vecteur de travail du résidu complet, quand il y a plus de deux couleurs. */
+	private Vecteur r;
+
+	/**
+	 * Construit le système d'une matrice dense, tridiagonale ({@link Mat3Diag}) ou bande ({@link MatBande}) ; la matrice est
+	 * d'abord rangée sous forme creuse.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles ou si un coefficient diagonal est nul.
+	 */
+	public SOR(Matrice A, Vecteur secondMembre) throws IrregularSysLinException {
+		this(MatriceCreuse.de(A), secondMembre);
+		this.matriceSystem = A;
+	}
+
+	/**
+	 * Construit le système d'une matrice creuse.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si les dimensions sont incompatibles ou si un coefficient diagonal est nul.
+	 */
+	public SOR(MatriceCreuse A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A, secondMembre);
+		int n = A.nbLigne();
+		this.A = A;
+		this.inverses = new double[n];
+		for (int i = 0; i < n; i++) {
+			int k = Arrays.binarySearch(A.colonnesNonNuls, A.debutLigne[i], A.debutLigne[i + 1], i);
+			if (k < 0 || A.valeurs[k] == 0) {
+				throw new IrregularSysLinException("Coefficient nul sur la diagonale.");
+			}
+			inverses[i] = 1 / A.valeurs[k];
+		}
+		int[] couleurs = colorier(A);
+		int nbCouleurs = 0;
+		for (int c : couleurs) {
+			nbCouleurs = Math.max(nbCouleurs, c + 1);
+		}
+		this.debutCouleur = new int[nbCouleurs + 1];
+		for (int c : couleurs) {
+			debutCouleur[c + 1]++;
+		}
+		for (int c = 0; c < nbCouleurs; c++) {
+			debutCouleur[c + 1] += debutCouleur[c];
+		}
+		this.ordre = new int[n];
+		int[] suivant = Arrays.copyOf(debutCouleur, nbCouleurs);
+		for (int i = 0; i < n; i++) {
+			ordre[suivant[couleurs[i]]++] = i;
+		}
+	}
+
+	/**
+	 * Colorie les inconnues de façon gloutonne, dans l'ordre naturel : chaque inconnue reçoit la
+	 * plus petite couleur qu'aucune de ses voisines déjà coloriées ne porte. Les voisines de i
+	 * sont les j tels que a_ij ou a_ji est non nul ; la structure transposée est donc parcourue
+	 * aussi, pour les matrices non symétriques.
+	 */
+	private static int[] colorier(MatriceCreuse A) {
+		int n = A.nbLigne();
+		int[] debut = A.debutLigne, col = A.colonnesNonNuls;
+		// Structure transposée (CSC) : lignes des coefficients non nuls de chaque colonne
+		int[] debutT = new int[n + 1];
+		for (int k = 0; k < debut[n]; k++) {
+			debutT[col[k] + 1]++;
+		}
+		for (int j = 0; j < n; j++) {
+			debutT[j + 1] += debutT[j];
+		}
+		int[] lignesT = new int[debut[n]];
+		int[] suivant = Arrays.copyOf(debutT, n);
+		for (int i = 0; i < n; i++) {
+			for (int k = debut[i]; k < debut[i + 1]; k++) {
+				lignesT[suivant[col[k]]++] = i;
+			}
+		}
+
+		int[] couleurs = new int[n];
+		// interdite[c] == i + 1 si la couleur c est portée par une voisine de i
+		int[] interdite = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			for (int k = debut[i]; k < debut[i + 1]; k++) {
+				if (col[k] < i) {
+					interdite[couleurs[col[k]]] = i + 1;
+				}
+			}
+			for (int k = debutT[i]; k < debutT[i + 1]; k++) {
+				if (lignesT[k] < i) {
+					interdite[couleurs[lignesT[k]]] = i + 1;
+				}
+			}
+			int c = 0;
+			while (interdite[c] == i + 1) {
+				c++;
+			}
+			couleurs[i] = c;
+		}
+		return couleurs;
+	}
+
+	/**
+	 * Impose le paramètre de relaxation.
+	 * @param omega Le paramètre, dans ]0, 2[ (1 donne la méthode de Gauss-Seidel).
+	 */
+	public void setRelaxation(double omega) {
+		if (!(omega > 0 && omega < 2)) {
+			throw new IllegalArgumentException("Le paramètre de relaxation doit être dans ]0, 2[");
+		}
+		this.relaxation = omega;
+	}
+
+	/**
+	 * Rétablit le choix automatique du paramètre de relaxation (le comportement par défaut).
+	 */
+	public void setRelaxationAutomatique() {
+		this.relaxation = Double.NaN;
+	}
+
+	/**
+	 * Retourne le paramètre de relaxation : celui qui est imposé, ou sinon celui auquel le choix
+	 * automatique a abouti lors de la dernière résolution.
+	 * @return Le paramètre de relaxation, NaN s'il est automatique et qu'aucune résolution n'a eu lieu.
+	 */
+	public double getRelaxation() {
+		return Double.isNaN(relaxation) ? relaxationUtilisee : relaxation;
+	}
+
+	/**
+	 * Retourne le nombre de couleurs du coloriage des inconnues, c'est-à-dire le nombre de
+	 * balayages séquentiels successifs qui composent une itération.
+	 * @return Le nombre de couleurs.
+	 */
+	public int getNbCouleurs() {
+		return debutCouleur.length - 1;
+	}
+
+	/**
+	 * Balayages SOR.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la tolérance n'est pas atteinte en {@link #getIterationsMax()}
+	 * balayages, ou si les itérations divergent.
+	 */
+	@Override
+	protected Vecteur resoudre() throws IrregularSysLinException {
+		int n = getOrdre();
+		int nbCouleurs = getNbCouleurs();
+		if (s == null) {
+			s = new double[n];
+			int blocs = 0;
+			for (int c = 0; c < nbCouleurs; c++) {
+				blocs = Math.max(blocs, (debutCouleur[c + 1] - debutCouleur[c] + LIGNES - 1) / LIGNES);
+			}
+			partielles = new double[blocs];
+			r = new Vecteur(n);
+		}
+		Vecteur x = new Vecteur(n);
+		double[] b = secondMembre.coefficient;
+
+		double normeB = norme(secondMembre);
+		if (normeB == 0) {
+			noterResidu(0, 0);
+			return x;
+		}
+		initialiser(x, r);
+		boolean automatique = Double.isNaN(relaxation);
+		double omega = automatique ? 1 : relaxation;
+		double rho2 = 0;
+		int dernierAjustement = 0;
+		double tauxPrecedent = Double.NaN, residuPrecedent = Double.NaN;
+
+		// Résidu des couleurs autres que la première, connu à la fin du balayage précédent
+		double carresSuite = 0;
+		if (nbCouleurs == 2) {
+			for (int p = debutCouleur[1]; p < n; p++) {
+				double ri = r.coefficient[ordre[p]];
+				carresSuite += ri * ri;
+			}
+		}
+		for (int k = 0;; k++) {
+			// Résidu de la première couleur pour x(k), avant sa mise à jour
+			double carres = balayer(0, x.coefficient, b, 0);
+			if (nbCouleurs == 2) {
+				carres += carresSuite;
+			} else if (nbCouleurs > 2) {
+				if (k > 0) {
+					calculerResidu(x, r);
+				}
+				carres = produitScalaire(r, r);
+			}
+			double residuRelatif = Math.sqrt(carres) / normeB;
+			if (noterResidu(k, residuRelatif) || k == getIterationsMax()) {
+				break;
+			}
+			if (!Double.isFinite(residuRelatif)) {
+				throw new IrregularSysLinException("La méthode SOR diverge au balayage " + k + ".");
+			}
+
+			if (automatique && k > 0) {
+				// Taux de convergence observé ; omega est ajusté quand il s'est stabilisé
+				double taux = residuRelatif / residuPrecedent;
+				if (k - dernierAjustement >= BALAYAGES_ESTIMATION && taux < 1 && taux > omega - 1
+						&& Math.abs(taux - tauxPrecedent) <= 0.01 * (1 - taux)) {
+					// Relation de Young : (taux + omega - 1)^2 = taux omega^2 rho^2
+					double estimation = (taux + omega - 1) * (taux + omega - 1) / (taux * omega * omega);
+					if (estimation > rho2 && estimation < 1) {
+						rho2 = estimation;
+						omega = 2 / (1 + Math.sqrt(1 - rho2));
+						dernierAjustement = k;
+					}
+				}
+				tauxPrecedent = taux;
+			}
+			residuPrecedent = residuRelatif;
+
+			corriger(0, x.coefficient, omega);
+			for (int c = 1; c < nbCouleurs; c++) {
+				double carresCouleur = balayer(c, x.coefficient, b, omega);
+				if (c == nbCouleurs - 1) {
+					// Résidu des lignes de la dernière couleur après leur mise à jour
+					carresSuite = (1 - omega) * (1 - omega) * carresCouleur;
+				}
+			}
+		}
+		relaxationUtilisee = omega;
+		verifierConvergence();
+		return x;
+	}
+
+	/**
+	 * Calcule le résidu s_i = b_i - (Ax)_i des lignes de la couleur c et, si omega est non nul,
+	 * les met à jour aussitôt (x_i += omega s_i / a_ii). Les lignes sont réparties par blocs fixes
+	 * entre les threads du pool.
+	 *
+	 * @return La somme des carrés des résidus, sommée dans l'ordre des blocs.
+	 */
+	private double balayer(int c, double[] x, double[] b, double omega) {
+		int d = debutCouleur[c], f = debutCouleur[c + 1];
+		int nbBlocs = (f - d + LIGNES - 1) / LIGNES;
+		int[] debut = A.debutLigne, col = A.colonnesNonNuls;
+		double[] a = A.valeurs;
+		CalculVecteurs.parBlocs(nbBlocs, (b0, b1) -> {
+			for (int bloc = b0; bloc < b1; bloc++) {
+				double carres = 0;
+				for (int p = d + bloc * LIGNES; p < Math.min(d + (bloc + 1) * LIGNES, f); p++) {
+					int i = ordre[p];
+					double si = b[i];
+					for (int k = debut[i]; k < debut[i + 1]; k++) {
+						si -= a[k] * x[col[k]];
+					}
+					s[i] = si;
+					carres += si * si;
+					if (omega != 0) {
+						x[i] += omega * si * inverses[i];
+					}
+				}
+				partielles[bloc] = carres;
+			}
+		}, pool);
+		double somme = 0;
+		for (int bloc = 0; bloc < nbBlocs; bloc++) {
+			somme += partielles[bloc];
+		}
+		return somme;
+	}
+
+	/**
+	 * Met à jour les lignes de la couleur c à partir des résidus calculés par
+	 * {@link #balayer(int, double[], double[], double)}.
+	 */
+	private void corriger(int c, double[] x, double omega) {
+		int d = debutCouleur[c], f = debutCouleur[c + 1];
+		CalculVecteurs.parBlocs((f - d + LIGNES - 1) / LIGNES, (b0, b1) -> {
+			for (int p = d + b0 * LIGNES; p < Math.min(d + b1 * LIGNES, f); p++) {
+				int i = ordre[p];
+				x[i] += omega * s[i] * inverses[i];
+			}
+		}, pool);
+	}
+
+	/**
+	 * Méthode principale : compare Jacobi, Gauss-Seidel et SOR (omega automatique) sur le système
+	 * tridiagonal d'une spline cubique et sur le laplacien 2D.
+	 */
+	public static void main(String[] args) throws Exception {
+		Random rand = new Random(42);
+		int points = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int cote = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+		// Système des dérivées secondes d'une spline à pas irréguliers (cf. Spline)
+		Mat3Diag spline = new Mat3Diag(points);
+		double[] h = new double[points + 1];
+		for (int j = 0; j < h.length; j++) {
+			h[j] = 0.5 + rand.nextDouble();
+		}
+		Vecteur b = new Vecteur(points);
+		for (int j = 0; j < points; j++) {
+			spline.remplaceCoef(0, j, h[j]);
+			spline.remplaceCoef(1, j, 2 * (h[j] + h[j + 1]));
+			spline.remplaceCoef(2, j, h[j + 1]);
+			b.remplaceCoef(j, 0, rand.nextDouble() - 0.5);
+		}
+		System.out.println("Système tridiagonal de spline, n = " + points);
+		comparer(spline, null, b);
+
+		MatriceCreuse laplacien = GradientConjugue.laplacien(cote);
+		Vecteur c = new Vecteur(laplacien.nbLigne());
+		for (int i = 0; i < c.getTaille(); i++) {
+			c.remplaceCoef(i, 0, rand.nextDouble());
+		}
+		System.out.println("Laplacien 2D, n = " + laplacien.nbLigne());
+		comparer(null, laplacien, c);
+	}
+
+	private static void comparer(Matrice dense, MatriceCreuse creuse, Vecteur b) throws Exception {
+		String[] noms = { "Jacobi", "Gauss-Seidel rouge-noir", "SOR rouge-noir (omega auto)" };
+		for (int m = 0; m < noms.length; m++) {
+			SysLinIteratif sys;
+			if (m == 0) {
+				sys = dense != null ? new Jacobi(dense, b) : new Jacobi(creuse, b);
+			} else {
+				SOR sor = dense != null ? new SOR(dense, b) : new SOR(creuse, b);
+				if (m == 1) {
+					sor.setRelaxation(1);
+				}
+				sys = sor;
+			}
+			sys.setIterationsMax(200000);
+			long debut = System.nanoTime();
+			try {
+				sys.resolution();
+				System.out.printf("  %-28s %7d balayages, résidu %.2e, %8.1f ms", noms[m], sys.getIterations(),
+						sys.getResidu(), (System.nanoTime() - debut) / 1e6);
+			} catch (IrregularSysLinException e) {
+				System.out.printf("  %-28s %s", noms[m], e.getMessage());
+			}
+			if (sys instanceof SOR) {
+				System.out.printf(", omega = %.4f, %d couleurs", ((SOR) sys).getRelaxation(), ((SOR) sys).getNbCouleurs());
+			}
+			System.out.println();
+		}
+	}
+}
@@ -3,8 +3,10 @@ package AlgLin;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
 import javax.swing.JFrame;
@@ -23,15 +25,48 @@ import javax.swing.*;
  * Classe pour l'interpolation par splines cubiques.
  * Cette classe permet de calculer une spline cubique à partir de points de support
  * et d'évaluer la spline en un point donné.
+ * <p>
+ * Une fois les dérivées secondes calculées, la spline est mise sous forme polynomiale : sur
+ * l'intervalle [x_j ; x_{j+1}], S(x) = c0 + c1 t + c2 t^2 + c3 t^3 avec t = x - x_j. Les quatre
+ * coefficients de chaque intervalle sont rangés côte à côte dans un seul tableau, si bien qu'une
+ * évaluation se réduit à la recherche de l'intervalle et à un schéma de Horner, sans division.
+ * <p>
+ * Au-delà de {@value #SEUIL_INDEX} intervalles, la recherche de l'intervalle passe par un index
+ * construit une fois pour toutes, qui la ramène à un nombre constant de comparaisons en moyenne
+ * au lieu d'une dichotomie sur toutes les abscisses (voir {@link #getTailleIndex()}).
  * 
  * @author Syrder Baptichon
  * @version 1.0
  */
 public class Spline {
 
-	static double[] abscisses; // Tableau des abscisses des points de support
-    static double[] ordonnees; // Tableau des ordonnées des points de support
+    /**
+     * Traitement des points situés hors de l'intervalle des abscisses lors d'une évaluation par lots.
+     * Dans tous les modes, un point NaN donne NaN.
+     */
+    public enum HorsIntervalle {
+        /** Lève une DataOutOfRangeException, une seule fois et avant tout calcul, si un point est hors de l'intervalle. */
+        EXCEPTION,
+        /** Ramène le point à l'extrémité la plus proche : la spline y vaut l'ordonnée du point de support. */
+        BORNER,
+        /** Prolonge le polynôme du premier ou du dernier intervalle. */
+        EXTRAPOLER,
+        /** Donne NaN. */
+        NAN
+    }
+
+    /** Nombre maximal de pas d'un intervalle au suivant avant de revenir à la recherche dichotomique. */
+    private static final int PAS_MAX = 8;
+
+    /** Nombre d'intervalles à partir duquel la recherche des intervalles est indexée. */
+    private static final int SEUIL_INDEX = 64;
+
+	double[] abscisses; // Tableau des abscisses des points de support
+    double[] ordonnees; // Tableau des ordonnées des points de support
     private Vecteur deriveeSeconde; // Vecteur représentant la dérivée seconde de la fonction d'interpolation
+    private double[] coefficients; // Coefficients c0, c1, c2, c3 de l'intervalle j aux indices 4j à 4j+3
+    private double echelleIndex; // Inverse de la largeur des cases de l'index, 0 sans index
+    private int[] caseIntervalle; // Intervalle contenant le bord gauche de chaque case, null si les abscisses sont uniformes
 
     /**
      * Constructeur de la classe Spline.
@@ -47,6 +82,8 @@ public class Spline {
         verifierDonnees();
         
         this.deriveeSeconde = calculDeriveeSeconde();
+        this.coefficients = calculCoefficients();
+        calculIndex();
     }
     
     /**
@@ -96,6 +133,8 @@ public class Spline {
         verifierDonnees();
 
         deriveeSeconde = calculDeriveeSeconde();
+        coefficients = calculCoefficients();
+        calculIndex();
     }
     
     /** 
@@ -170,20 +209,128 @@ public class Spline {
     }
 
     /**
-     * Évalue la spline cubique en un point donné.
+     * Développe la spline en puissances de t = x - x_j sur chaque intervalle. Avec h = x_{j+1} - x_j,
+     * la formule de {@link #evaluationFormule(double)} donne :
+     * c0 = y_j, c1 = (y_{j+1} - y_j) / h - h (2 g_j + g_{j+1}) / 6, c2 = g_j / 2 et
+     * c3 = (g_{j+1} - g_j) / (6 h).
+     *
+     * @return Les coefficients, quatre par intervalle.
+     */
+    private double[] calculCoefficients() {
+        int n = abscisses.length;
+        double[] g = deriveeSeconde.coefficient;
+        double[] c = new double[4 * (n - 1)];
+        for (int j = 0; j < n - 1; j++) {
+            double h = abscisses[j + 1] - abscisses[j];
+            c[4 * j] = ordonnees[j];
+            c[4 * j + 1] = (ordonnees[j + 1] - ordonnees[j]) / h - h * (2 * g[j] + g[j + 1]) / 6.0;
+            c[4 * j + 2] = g[j] / 2.0;
+            c[4 * j + 3] = (g[j + 1] - g[j]) / (6.0 * h);
+        }
+        return c;
+    }
+
+    /**
+     * Construit l'index de recherche des intervalles, à partir de {@value #SEUIL_INDEX} intervalles.
+     * L'intervalle [x_0 ; x_n] est découpé en n cases de même largeur h, le pas moyen des abscisses.
+     * Si chaque abscisse est à moins de h / 4 de x_0 + i h, l'intervalle de x est la case de x à un
+     * pas près et l'index n'occupe aucune mémoire. Sinon, chaque case retient l'intervalle contenant
+     * son bord gauche, et la recherche se limite aux intervalles qui rencontrent la case de x : un
+     * ou deux en moyenne, quelle que soit la répartition des abscisses, sauf amas très serrés.
+     */
+    private void calculIndex() {
+        int n = abscisses.length - 1;
+        echelleIndex = 0;
+        caseIntervalle = null;
+        if (n < SEUIL_INDEX) {
+            return;
+        }
+        double x0 = abscisses[0];
+        double h = (abscisses[n] - x0) / n;
+        boolean uniforme = true;
+        for (int i = 1; i < n && uniforme; i++) {
+            uniforme = Math.abs(abscisses[i] - (x0 + i * h)) <= h / 4;
+        }
+        echelleIndex = 1 / h;
+        if (uniforme) {
+            return;
+        }
+        // Une case de plus pour le bord droit de la dernière
+        int[] cases = new int[n + 1];
+        int j = 0;
+        for (int b = 0; b <= n; b++) {
+            double bord = x0 + b * h;
+            while (j < n - 1 && abscisses[j + 1] <= bord) {
+                j++;
+            }
+            cases[b] = j;
+        }
+        caseIntervalle = cases;
+    }
+
+    /**
+     * Retourne la mémoire occupée par l'index de recherche des intervalles. Elle est nulle pour
+     * moins de {@value #SEUIL_INDEX} intervalles, où la dichotomie suffit, et pour des abscisses
+     * uniformes, dont l'intervalle se calcule directement ; sinon, l'index compte un entier par
+     * point de support.
+     *
+     * @return La taille de l'index, en octets.
+     */
+    public long getTailleIndex() {
+        return caseIntervalle == null ? 0 : 4L * caseIntervalle.length;
+    }
+
+    /**
+     * Supprime l'index de recherche des intervalles, pour comparer avec la dichotomie seule.
+     */
+    void supprimerIndex() {
+        echelleIndex = 0;
+        caseIntervalle = null;
+    }
+
+    /**
+     * Évalue la spline cubique en un point donné, par le schéma de Horner sur les coefficients de
+     * l'intervalle contenant x.
      *
      * @param x Le point où évaluer la spline.
      * @return La valeur interpolée de la spline en x.
      * @throws DataOutOfRangeException Si x est en dehors de l'intervalle des abscisses des points de support.
      */
     public double evaluation(double x) throws DataOutOfRangeException {
-        // Vérification si x est dans l'intervalle valide
+        verifierIntervalle(x);
+
+        // Recherche de l'intervalle [x_j ; x_{j+1}] contenant x
+        int j = intervalle(x);
+        double t = x - abscisses[j];
+        int k = 4 * j;
+        return coefficients[k] + t * (coefficients[k + 1] + t * (coefficients[k + 2] + t * coefficients[k + 3]));
+    }
+
+    /**
+     * Vérifie que x appartient à l'intervalle des abscisses des points de support.
+     *
+     * @param x Le point où évaluer la spline.
+     * @throws DataOutOfRangeException Si x est en dehors de l'intervalle.
+     */
+    private void verifierIntervalle(double x) throws DataOutOfRangeException {
         if (x < abscisses[0] || x > abscisses[abscisses.length - 1]) {
             throw new DataOutOfRangeException(
                 "La valeur fournie (" + x + ") est en dehors de l'intervalle [" 
                 + abscisses[0] + ", " + abscisses[abscisses.length - 1] + "]."
             );
         }
+    }
+
+    /**
+     * Évalue la spline par la formule des dérivées secondes, sans les coefficients précalculés.
+     * Sert de référence pour vérifier et mesurer {@link #evaluation(double)}.
+     *
+     * @param x Le point où évaluer la spline.
+     * @return La valeur interpolée de la spline en x.
+     * @throws DataOutOfRangeException Si x est en dehors de l'intervalle des abscisses des points de support.
+     */
+    double evaluationFormule(double x) throws DataOutOfRangeException {
+        verifierIntervalle(x);
 
         // Recherche de l'intervalle [x_j ; x_{j+1}] contenant x
         int j = intervalle(x);
@@ -205,37 +352,236 @@ public class Spline {
     }
 
     /**
-     * Trouve l'intervalle [x_j ; x_{j+1}] contenant la valeur donnée.
+     * Évalue la spline en un lot de points ; un point hors de l'intervalle des abscisses lève une
+     * exception, comme pour {@link #evaluation(double)}.
+     *
+     * @param xs Les points où évaluer la spline.
+     * @param out Le tableau recevant les valeurs, de taille au moins égale à celle de xs.
+     * @throws DataOutOfRangeException Si un point est en dehors de l'intervalle des abscisses.
+     * @see #evaluation(double[], double[], HorsIntervalle)
+     */
+    public void evaluation(double[] xs, double[] out) throws DataOutOfRangeException {
+        evaluation(xs, out, HorsIntervalle.EXCEPTION);
+    }
+
+    /**
+     * Évalue la spline en un lot de points, séquentiellement. Si les points sont croissants, les
+     * intervalles sont parcourus en même temps qu'eux, comme dans une fusion : chaque point part
+     * de l'intervalle du précédent, et la recherche dichotomique n'est faite que pour le premier
+     * point ou après un saut de plus de {@link #PAS_MAX} intervalles. Sinon, les indices des points
+     * sont d'abord triés selon leur abscisse, puis parcourus dans cet ordre de la même façon. Si la
+     * recherche des intervalles est indexée, elle ne coûte guère plus qu'un pas ; les points sont
+     * alors évalués dans leur ordre, sans tri, chacun avec l'index.
+     * Aucune exception n'est levée point par point : les points hors de l'intervalle sont traités
+     * selon le mode choisi.
      *
-     * @param val La valeur à rechercher.
-     * @return L'indice j tel que x_j <= val <= x_{j+1}.
+     * @param xs Les points où évaluer la spline.
+     * @param out Le tableau recevant les valeurs, de taille au moins égale à celle de xs.
+     * @param mode Le traitement des points hors de l'intervalle des abscisses.
+     * @throws DataOutOfRangeException En mode {@link HorsIntervalle#EXCEPTION}, si un point est hors de l'intervalle.
+     */
+    public void evaluation(double[] xs, double[] out, HorsIntervalle mode) throws DataOutOfRangeException {
+        evaluationParallele(xs, out, mode, (ForkJoinPool) null);
+    }
+
+    /**
+     * Évalue la spline en un lot de points, répartis par blocs entre les threads du pool commun.
+     *
+     * @see #evaluation(double[], double[], HorsIntervalle)
+     */
+    public void evaluationParallele(double[] xs, double[] out, HorsIntervalle mode) throws DataOutOfRangeException {
+        evaluationParallele(xs, out, mode, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Évalue la spline en un lot de points avec un nombre de threads donné. Un pool dédié est créé
+     * pour l'occasion puis arrêté.
+     *
+     * @param parallelisme Le nombre de threads du pool (1 pour le calcul séquentiel).
+     * @see #evaluation(double[], double[], HorsIntervalle)
+     */
+    public void evaluationParallele(double[] xs, double[] out, HorsIntervalle mode, int parallelisme)
+            throws DataOutOfRangeException {
+        if (parallelisme <= 1) {
+            evaluation(xs, out, mode);
+            return;
+        }
+        ForkJoinPool dedie = new ForkJoinPool(parallelisme);
+        try {
+            evaluationParallele(xs, out, mode, dedie);
+        } finally {
+            dedie.shutdown();
+        }
+    }
+
+    /**
+     * Évalue la spline en un lot de points, répartis par blocs de {@link CalculVecteurs#BLOC} points
+     * entre les threads du pool donné ; le tri des points non croissants est lui aussi parallèle.
+     * Les valeurs ne dépendent pas du nombre de threads.
+     *
+     * @param pool Le pool qui exécute les calculs, ou null pour le calcul séquentiel.
+     * @see #evaluation(double[], double[], HorsIntervalle)
+     */
+    public void evaluationParallele(double[] xs, double[] out, HorsIntervalle mode, ForkJoinPool pool)
+            throws DataOutOfRangeException {
+        int m = xs.length;
+        if (out.length < m) {
+            throw new IllegalArgumentException("Tableau des valeurs trop petit : " + out.length + " pour " + m + " points.");
+        }
+        // Un seul parcours : ordre des points et extrêmes
+        boolean croissants = true;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < m; i++) {
+            double x = xs[i];
+            croissants &= i == 0 || !(x < xs[i - 1]);
+            // Comparaisons fausses pour NaN : les points NaN sont ignorés
+            if (x < min) {
+                min = x;
+            }
+            if (x > max) {
+                max = x;
+            }
+        }
+        if (mode == HorsIntervalle.EXCEPTION && m > 0 && (min < abscisses[0] || max > abscisses[abscisses.length - 1])) {
+            verifierIntervalle(min < abscisses[0] ? min : max);
+        }
+
+        long[] cles = null;
+        boolean indexe = echelleIndex > 0;
+        if (!croissants && !indexe) {
+            // Clé : abscisse arrondie en float, rendue comparable comme un entier signé, suivie de
+            // l'indice. L'arrondi ne fait que confondre des points très proches, que le parcours
+            // des intervalles, possible dans les deux sens, traite exactement.
+            long[] c = new long[m];
+            for (int i = 0; i < m; i++) {
+                int f = Float.floatToIntBits((float) xs[i]);
+                f ^= (f >> 31) & 0x7fffffff;
+                c[i] = ((long) f << 32) | i;
+            }
+            if (pool == null || pool.getParallelism() == 1) {
+                Arrays.sort(c);
+            } else {
+                pool.submit(() -> Arrays.parallelSort(c)).join();
+            }
+            cles = c;
+        }
+        long[] ordre = cles;
+        boolean suite = !indexe;
+        int bloc = CalculVecteurs.BLOC;
+        CalculVecteurs.parBlocs((m + bloc - 1) / bloc,
+                (b0, b1) -> evaluerSuite(xs, ordre, suite, out, b0 * bloc, Math.min(b1 * bloc, m), mode), pool);
+    }
+
+    /**
+     * Évalue les points de rangs [debut, fin), dans l'ordre de xs ou, si ordre n'est pas null,
+     * dans l'ordre des indices rangés dans les 32 bits de poids faible de ses clés. Si suite est
+     * vrai, les points sont croissants dans cet ordre et chacun part de l'intervalle du précédent.
+     */
+    private void evaluerSuite(double[] xs, long[] ordre, boolean suite, double[] out, int debut, int fin,
+            HorsIntervalle mode) {
+        double x0 = abscisses[0], xn = abscisses[abscisses.length - 1];
+        int j = -1;
+        for (int k = debut; k < fin; k++) {
+            int i = ordre == null ? k : (int) ordre[k];
+            double x = xs[i];
+            if (!(x >= x0 && x <= xn)) {
+                out[i] = horsIntervalle(x, mode);
+                continue;
+            }
+            j = j < 0 || !suite ? intervalle(x) : intervalleVoisin(j, x);
+            double t = x - abscisses[j];
+            int c = 4 * j;
+            out[i] = coefficients[c] + t * (coefficients[c + 1] + t * (coefficients[c + 2] + t * coefficients[c + 3]));
+        }
+    }
+
+    /**
+     * Valeur en un point hors de l'intervalle des abscisses, ou NaN.
+     */
+    private double horsIntervalle(double x, HorsIntervalle mode) {
+        int dernier = abscisses.length - 2;
+        if (Double.isNaN(x)) {
+            return Double.NaN;
+        }
+        if (mode != HorsIntervalle.BORNER && mode != HorsIntervalle.EXTRAPOLER) {
+            return Double.NaN;
+        }
+        // Polynôme du premier ou du dernier intervalle, au point lui-même ou à l'extrémité
+        int j = x < abscisses[0] ? 0 : dernier;
+        if (mode == HorsIntervalle.BORNER) {
+            x = x < abscisses[0] ? abscisses[0] : abscisses[dernier + 1];
+        }
+        double t = x - abscisses[j];
+        int c = 4 * j;
+        return coefficients[c] + t * (coefficients[c + 1] + t * (coefficients[c + 2] + t * coefficients[c + 3]));
+    }
+
+    /**
+     * Trouve l'intervalle contenant x, qui doit appartenir à l'intervalle des abscisses, en partant
+     * de l'intervalle j d'un point voisin : quelques pas vers la gauche ou la droite, puis
+     * {@link #intervalle(double)} si x est plus loin. Le résultat est celui de
+     * {@link #intervalle(double)}, y compris pour un point confondu avec une abscisse, si bien que
+     * la valeur est exactement celle de {@link #evaluation(double)}.
+     */
+    private int intervalleVoisin(int j, double x) {
+        int dernier = abscisses.length - 2;
+        for (int pas = 0; pas < PAS_MAX; pas++) {
+            if (x < abscisses[j]) {
+                j--;
+            } else if (j < dernier && x >= abscisses[j + 1]) {
+                j++;
+            } else {
+                return j;
+            }
+        }
+        return intervalle(x);
+    }
+
+    /**
+     * Trouve l'intervalle [x_j ; x_{j+1}] contenant la valeur donnée. Une valeur confondue avec
+     * une abscisse x_j intérieure appartient à deux intervalles ; c'est toujours le j-ième qui est
+     * retenu. L'index, s'il existe, ramène la recherche aux intervalles qui rencontrent la case de
+     * la valeur, sinon elle porte sur toutes les abscisses.
+     *
+     * @param val La valeur à rechercher, dans l'intervalle des abscisses.
+     * @return Le plus grand j &lt;= n - 1 tel que x_j &lt;= val.
      */
     private int intervalle(double val) {
-        // Initialisation des indices de recherche
-        int low = 0;
-        int high = abscisses.length - 1;
-        
-        // Boucle de recherche binaire
-        while (low <= high) {
-            // Calcul de l'indice du milieu
-            int mid = low + (high - low) / 2;
-            
-            // Vérifie si la valeur est dans l'intervalle [x_mid, x_mid+1]
-            if (abscisses[mid] <= val && val <= abscisses[mid + 1]) {
-                return mid;
+        int dernier = abscisses.length - 2;
+        // Bornes de la recherche : x_bas <= val, et val < x_{haut+1} sauf si haut est le dernier intervalle
+        int bas = 0;
+        int haut = dernier;
+        if (echelleIndex > 0) {
+            int b = (int) ((val - abscisses[0]) * echelleIndex);
+            b = Math.max(0, Math.min(b, dernier));
+            if (caseIntervalle == null) {
+                // Abscisses uniformes : l'intervalle est celui de la case, à un pas près
+                bas = b;
+                haut = b;
+            } else {
+                bas = caseIntervalle[b];
+                haut = caseIntervalle[b + 1];
             }
-            // Si la valeur est supérieure à x_mid, on cherche dans la moitié droite
-            else if (abscisses[mid] < val) {
-                low = mid + 1;
-            } 
-            // Si la valeur est inférieure à x_mid, on cherche dans la moitié gauche
-            else {
-                high = mid - 1;
+            // Les arrondis sur la case peuvent décaler les bornes d'un intervalle
+            while (bas > 0 && val < abscisses[bas]) {
+                bas--;
+            }
+            while (haut < dernier && val >= abscisses[haut + 1]) {
+                haut++;
             }
         }
-        
-        // Si la valeur n'est pas trouvée (ne devrait jamais arriver si val est dans l'intervalle)
-        return -1; 
+
+        // Boucle de recherche binaire du plus grand j de [bas ; haut] tel que x_j <= val
+        while (bas < haut) {
+            // Calcul de l'indice du milieu, arrondi vers le haut pour que la boucle progresse
+            int milieu = (bas + haut + 1) >>> 1;
+            if (abscisses[milieu] <= val) {
+                bas = milieu;
+            } else {
+                haut = milieu - 1;
+            }
+        }
+        return bas;
     }
     
     
@@ -265,9 +611,15 @@ public class Spline {
         double max = spline.abscisses[spline.abscisses.length - 1]; // Dernière abscisse
         double step = (max - min) / 100.0; // Espacement régulier des points d'évaluation
 
-        // Calcul et ajout des points interpolés
-        for (double x = min; x < max; x += step) {
-            seriesSpline.add(x, spline.evaluation(x));
+        // Calcul et ajout des points interpolés, évalués en un seul lot
+        double[] xs = new double[100];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = min + i * step;
+        }
+        double[] ys = new double[xs.length];
+        spline.evaluation(xs, ys);
+        for (int i = 0; i < xs.length; i++) {
+            seriesSpline.add(xs[i], ys[i]);
         }
         
         // Création du dataset contenant les deux séries
@@ -0,0 +1,208 @@
+package AlgLin;
+
+import java.util.Random;
+
+/**
+ * Produit de matrices carrées par l'algorithme de Strassen dans sa variante de Winograd
+ * (7 produits et 15 additions par niveau, soit O(n^2.807) opérations).
+ * <p>
+ * La récursion s'arrête dès que la taille passe sous {@link #seuil}, lu une seule fois par
+ * produit puis transmis à tous les niveaux : un changement de seuil pendant un calcul ne touche
+ * que les produits suivants. Sous ce seuil, le produit est
+ * confié au noyau par blocs {@link ProduitMatriciel}. Une dimension impaire est traitée par
+ * épluchage : la partie paire est calculée récursivement, la dernière ligne et la dernière
+ * colonne sont corrigées par des produits classiques.
+ * <p>
+ * L'ordonnancement suit celui de Boyer, Dumas, Pernet et Zhou (2009) : chaque niveau n'utilise
+ * que deux matrices temporaires X et Y de taille (n/2) x (n/2), les autres résultats
+ * intermédiaires étant rangés directement dans les quadrants de C. Toutes les temporaires de
+ * tous les niveaux sont découpées dans un unique tableau alloué une seule fois.
+ * <p>
+ * La borne d'erreur de cette variante est moins bonne que celle du produit classique
+ * (l'erreur est en norme et non plus coefficient par coefficient) ; c'est pourquoi elle n'est
+ * utilisée que sur demande, par {@link Matrice#produitStrassen(Matrice, Matrice)}.
+ *
+ * @author Syrder Baptichon
+ */
+final class Strassen {
+
+	/** Taille en dessous de laquelle la récursion s'arrête. */
+	static volatile int seuil = 512;
+
+	private Strassen() {
+	}
+
+	/**
+	 * Calcule C = A * B pour des matrices carrées d'ordre n rangées ligne par ligne, avec le seuil
+	 * courant.
+	 *
+	 * @param n Ordre des matrices.
+	 * @param a Tableau contenant A, de pas lda.
+	 * @param b Tableau contenant B, de pas ldb.
+	 * @param c Tableau recevant C, de pas ldc.
+	 */
+	static void produit(int n, double[] a, int lda, double[] b, int ldb, double[] c, int ldc) {
+		produit(n, a, lda, b, ldb, c, ldc, seuil);
+	}
+
+	/**
+	 * Calcule C = A * B pour des matrices carrées d'ordre n rangées ligne par ligne, la récursion
+	 * s'arrêtant sous le seuil donné. L'espace de travail est dimensionné pour ce même seuil.
+	 *
+	 * @param n Ordre des matrices.
+	 * @param a Tableau contenant A, de pas lda.
+	 * @param b Tableau contenant B, de pas ldb.
+	 * @param c Tableau recevant C, de pas ldc.
+	 * @param seuil Taille en dessous de laquelle la récursion s'arrête.
+	 */
+	static void produit(int n, double[] a, int lda, double[] b, int ldb, double[] c, int ldc, int seuil) {
+		double[] travail = new double[tailleTravail(n, seuil)];
+		produit(n, a, 0, lda, b, 0, ldb, c, 0, ldc, travail, 0, seuil);
+	}
+
+	/**
+	 * Calcule la taille de l'espace de travail nécessaire à toute la récursion : deux
+	 * temporaires de taille (n/2)^2 par niveau.
+	 */
+	static int tailleTravail(int n, int seuil) {
+		int taille = 0;
+		while (n > seuil) {
+			int h = n / 2;
+			taille += 2 * h * h;
+			n = h;
+		}
+		return taille;
+	}
+
+	/**
+	 * Niveau de récursion : C = A * B sur des sous-matrices d'ordre n, avec l'espace de travail
+	 * disponible à partir de l'indice w.
+	 */
+	private static void produit(int n, double[] a, int aOff, int lda, double[] b, int bOff, int ldb,
+			double[] c, int cOff, int ldc, double[] t, int w, int seuil) {
+		if (n <= seuil) {
+			ProduitMatriciel.gemm(n, n, n, 1.0, a, aOff, lda, b, bOff, ldb, 0.0, c, cOff, ldc);
+			return;
+		}
+		if (n % 2 == 1) {
+			eplucher(n, a, aOff, lda, b, bOff, ldb, c, cOff, ldc, t, w, seuil);
+			return;
+		}
+
+		int h = n / 2;
+		int a11 = aOff, a12 = aOff + h, a21 = aOff + h * lda, a22 = a21 + h;
+		int b11 = bOff, b12 = bOff + h, b21 = bOff + h * ldb, b22 = b21 + h;
+		int c11 = cOff, c12 = cOff + h, c21 = cOff + h * ldc, c22 = c21 + h;
+		int x = w, y = w + h * h, suite = w + 2 * h * h;
+
+		soustraire(h, a, a11, lda, a, a21, lda, t, x, h);          // S3 = A11 - A21   -> X
+		soustraire(h, b, b22, ldb, b, b12, ldb, t, y, h);          // T3 = B22 - B12   -> Y
+		produit(h, t, x, h, t, y, h, c, c21, ldc, t, suite, seuil); // P7 = S3 * T3     -> C21
+		additionner(h, a, a21, lda, a, a22, lda, t, x, h);         // S1 = A21 + A22   -> X
+		soustraire(h, b, b12, ldb, b, b11, ldb, t, y, h);          // T1 = B12 - B11   -> Y
+		produit(h, t, x, h, t, y, h, c, c22, ldc, t, suite, seuil); // P5 = S1 * T1     -> C22
+		soustraire(h, t, x, h, a, a11, lda, t, x, h);              // S2 = S1 - A11    -> X
+		soustraire(h, b, b22, ldb, t, y, h, t, y, h);              // T2 = B22 - T1    -> Y
+		produit(h, t, x, h, t, y, h, c, c12, ldc, t, suite, seuil); // P6 = S2 * T2     -> C12
+		soustraire(h, a, a12, lda, t, x, h, t, x, h);              // S4 = A12 - S2    -> X
+		produit(h, t, x, h, b, b22, ldb, c, c11, ldc, t, suite, seuil); // P3 = S4 * B22    -> C11
+		produit(h, a, a11, lda, b, b11, ldb, t, x, h, t, suite, seuil); // P1 = A11 * B11   -> X
+		additionner(h, t, x, h, c, c12, ldc, c, c12, ldc);         // U2 = P1 + P6     -> C12
+		additionner(h, c, c12, ldc, c, c21, ldc, c, c21, ldc);     // U3 = U2 + P7     -> C21
+		additionner(h, c, c12, ldc, c, c22, ldc, c, c12, ldc);     // U4 = U2 + P5     -> C12
+		additionner(h, c, c21, ldc, c, c22, ldc, c, c22, ldc);     // U7 = U3 + P5     -> C22
+		additionner(h, c, c12, ldc, c, c11, ldc, c, c12, ldc);     // U5 = U4 + P3     -> C12
+		soustraire(h, t, y, h, b, b21, ldb, t, y, h);              // T4 = T2 - B21    -> Y
+		produit(h, a, a22, lda, t, y, h, c, c11, ldc, t, suite, seuil); // P4 = A22 * T4    -> C11
+		soustraire(h, c, c21, ldc, c, c11, ldc, c, c21, ldc);      // U6 = U3 - P4     -> C21
+		produit(h, a, a12, lda, b, b21, ldb, c, c11, ldc, t, suite, seuil); // P2 = A12 * B21 -> C11
+		additionner(h, t, x, h, c, c11, ldc, c, c11, ldc);         // U1 = P1 + P2     -> C11
+	}
+
+	/**
+	 * Traite un ordre impair n = p + 1 : le bloc p x p est calculé récursivement puis complété
+	 * par le produit de la dernière colonne de A et de la dernière ligne de B ; la dernière
+	 * colonne et la dernière ligne de C sont calculées par des produits classiques.
+	 */
+	private static void eplucher(int n, double[] a, int aOff, int lda, double[] b, int bOff, int ldb,
+			double[] c, int cOff, int ldc, double[] t, int w, int seuil) {
+		int p = n - 1;
+		produit(p, a, aOff, lda, b, bOff, ldb, c, cOff, ldc, t, w, seuil);
+		// C[0:p, 0:p] += A[0:p, p] * B[p, 0:p]
+		ProduitMatriciel.gemm(p, p, 1, 1.0, a, aOff + p, lda, b, bOff + p * ldb, ldb, 1.0, c, cOff, ldc);
+		// C[0:p, p] = A[0:p, :] * B[:, p]
+		ProduitMatriciel.gemm(p, 1, n, 1.0, a, aOff, lda, b, bOff + p, ldb, 0.0, c, cOff + p, ldc);
+		// C[p, :] = A[p, :] * B
+		ProduitMatriciel.gemm(1, n, n, 1.0, a, aOff + p * lda, lda, b, bOff, ldb, 0.0, c, cOff + p * ldc, ldc);
+	}
+
+	/**
+	 * r = x + y sur des blocs h x h.
+	 */
+	private static void additionner(int h, double[] x, int xOff, int ldx, double[] y, int yOff, int ldy,
+			double[] r, int rOff, int ldr) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i = 0; i < h; i++) {
+			noyau.addition(x, xOff + i * ldx, y, yOff + i * ldy, r, rOff + i * ldr, h);
+		}
+	}
+
+	/**
+	 * r = x - y sur des blocs h x h.
+	 */
+	private static void soustraire(int h, double[] x, int xOff, int ldx, double[] y, int yOff, int ldy,
+			double[] r, int rOff, int ldr) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		for (int i = 0; i < h; i++) {
+			noyau.soustraction(x, xOff + i * ldx, y, yOff + i * ldy, r, rOff + i * ldr, h);
+		}
+	}
+
+	/**
+	 * Compare le produit de Strassen-Winograd au produit classique sur des matrices de Hilbert et
+	 * des matrices aléatoires : affiche l'erreur relative ||C_s - C|| / (||A|| ||B||) en norme
+	 * infinie ainsi que les temps de calcul.
+	 *
+	 * @param args Les ordres à tester (par défaut 100, 257, 1000 et 2048).
+	 */
+	public static void main(String[] args) {
+		int[] ordres = {100, 257, 1000, 2048};
+		if (args.length > 0) {
+			ordres = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				ordres[i] = Integer.parseInt(args[i]);
+			}
+		}
+		Random rand = new Random(7);
+
+		for (int n : ordres) {
+			// Seuil réduit pour que même les petits ordres passent par plusieurs niveaux
+			int seuilEssai = Math.min(seuil, Math.max(16, n / 8));
+
+			Matrice hilbert = new HilbertMatrice(n);
+			Matrice aleatoire = new Matrice(n, n);
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					aleatoire.remplaceCoef(i, j, 2 * rand.nextDouble() - 1);
+				}
+			}
+
+			for (Matrice a : new Matrice[] {hilbert, aleatoire}) {
+				long debut = System.nanoTime();
+				Matrice classique = Matrice.produit(a, a);
+				long tempsClassique = System.nanoTime() - debut;
+
+				debut = System.nanoTime();
+				Matrice winograd = new Matrice(n, n);
+				produit(n, a.coefficient, a.pas, a.coefficient, a.pas, winograd.coefficient, winograd.pas, seuilEssai);
+				long tempsWinograd = System.nanoTime() - debut;
+
+				Matrice ecart = Matrice.addition(winograd, classique.produit(-1));
+				double erreur = ecart.norme_inf() / (a.norme_inf() * a.norme_inf());
+				System.out.printf("%s n = %d (seuil %d) : erreur relative %.2e, classique %.1f ms, Winograd %.1f ms%n",
+						a == hilbert ? "Hilbert  " : "Aléatoire", n, seuilEssai, erreur,
+						tempsClassique / 1e6, tempsWinograd / 1e6);
+			}
+		}
+	}
+}
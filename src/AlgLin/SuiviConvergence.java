@@ -0,0 +1,18 @@
+package AlgLin;
+
+/**
+ * Rappel appelé par les méthodes itératives à chaque itération, par exemple pour tracer l'historique
+ * de convergence ou l'afficher pendant un long calcul.
+ *
+ * @author Syrder Baptichon
+ */
+@FunctionalInterface
+public interface SuiviConvergence {
+
+	/**
+	 * Signale la fin d'une itération.
+	 * @param iteration Le numéro de l'itération (0 pour le résidu initial).
+	 * @param residu La norme 2 du résidu b - Ax, relative à celle de b.
+	 */
+	void iteration(int iteration, double residu);
+}
@@ -34,14 +34,29 @@ public class SysDiagonal extends SysLin {
      */
 	@Override
 	public Vecteur resolution() throws IrregularSysLinException {
-		Vecteur solution =  new Vecteur(getOrdre());
+		return resolution(new Vecteur(getOrdre()), null);
+	}
+
+	/**
+     * Résout le système diagonal dans un vecteur fourni, sans allocation.
+     * 
+     * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+     * @param travail Non utilisé.
+     * @return Le vecteur solution.
+     * @throws IrregularSysLinException Si un coefficient diagonal est nul ou si la solution n'a pas la bonne taille.
+     */
+	@Override
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+		verifierSolution(solution);
+		double[] a = matriceSystem.coefficient, b = secondMembre.coefficient, x = solution.coefficient;
+		int pas = matriceSystem.pas;
 		
 		for (int i = 0; i < getOrdre(); i++) {
-            double diagonalCoefficient = matriceSystem.getCoef(i, i); 
+            double diagonalCoefficient = a[i * pas + i]; 
             if (diagonalCoefficient == 0.0) {
                 throw new IrregularSysLinException();
             }
-            solution.remplaceCoef(i, secondMembre.getCoef(i) / diagonalCoefficient); 
+            x[i] = b[i] / diagonalCoefficient; 
         }
 		
 		return solution;
@@ -20,6 +20,9 @@ public abstract class SysLin {
     /** Second membre du système linéaire. */
 	protected Vecteur secondMembre;				
 
+    /** Cache de factorisations partagé par les solveurs directs, ou null s'il est désactivé. */
+	private static volatile CacheFactorisation cacheFactorisation;
+
 	/**
      * Constructeur de la classe SysLin.
      * Ce constructeur initialise un système linéaire avec la matrice et le second membre donnés.
@@ -42,13 +45,29 @@ public abstract class SysLin {
 		this.ordre = m.nbLigne();
 	}
 	
+	/**
+     * Constructeur pour les systèmes dont la matrice n'est pas rangée dans une {@link Matrice}
+     * (matrice creuse, opérateur sans matrice) : {@link #getMatriceSystem()} retourne alors null.
+     * 
+     * @param ordre L'ordre du système.
+     * @param secondMembre Le second membre du système.
+     * @throws IrregularSysLinException Si la taille du second membre ne correspond pas à l'ordre.
+     */
+	protected SysLin(int ordre, Vecteur secondMembre) throws IrregularSysLinException{
+		if(secondMembre.getTaille() != ordre) {
+			throw new IrregularSysLinException("Mauvais second membre.");
+		}
+		this.secondMembre = secondMembre;
+		this.ordre = ordre;
+	}
+
 	public SysLin(Mat3Diag m, Vecteur secondMembre) throws IrregularSysLinException{
 		if(secondMembre.getTaille() != m.nbColonne()) {
 			throw new IrregularSysLinException("Mauvais second membre.");
 		}
 		this.secondMembre = secondMembre;
 		this.matriceSystem = m;
-		this.ordre = m.nbLigne();
+		this.ordre = m.nbColonne();
 	}
 
 	/**
@@ -63,7 +82,7 @@ public abstract class SysLin {
 	/**
      * Retourne la matrice du système linéaire.
      * 
-     * @return La matrice du système.
+     * @return La matrice du système, ou null si le système a été construit sans {@link Matrice}.
      */
 	public Matrice getMatriceSystem() {
 		return matriceSystem;
@@ -78,6 +97,40 @@ public abstract class SysLin {
 		return secondMembre;
 	}
 
+	/**
+     * Modifie le second membre du système. Les calculs déjà faits sur la matrice (factorisation,
+     * préconditionneur) sont conservés : seule la résolution suivante en tient compte.
+     * 
+     * @param secondMembre Le nouveau second membre.
+     * @throws IllegalArgumentException Si sa taille n'est pas l'ordre du système.
+     */
+	public void setSecondMembre(Vecteur secondMembre) {
+		if(secondMembre.getTaille() != ordre) {
+			throw new IllegalArgumentException("Mauvais second membre : taille " + secondMembre.getTaille() + " au lieu de " + ordre);
+		}
+		this.secondMembre = secondMembre;
+	}
+
+	/**
+     * Installe le cache de factorisations consulté par {@link Helder}, {@link LUPivot} et
+     * {@link Cholesky} : un système dont la matrice a déjà été factorisée par la même méthode
+     * récupère ses facteurs en O(n^2) au lieu de les recalculer.
+     * 
+     * @param cache Le cache à utiliser, ou null pour le désactiver (par défaut).
+     */
+	public static void setCacheFactorisation(CacheFactorisation cache) {
+		cacheFactorisation = cache;
+	}
+
+	/**
+     * Retourne le cache de factorisations installé.
+     * 
+     * @return Le cache, ou null s'il est désactivé.
+     */
+	public static CacheFactorisation getCacheFactorisation() {
+		return cacheFactorisation;
+	}
+
 	/**
      * Méthode abstraite qui résout le système linéaire.
      * Cette méthode doit être implémentée dans les classes dérivées pour résoudre des systèmes particuliers.
@@ -87,4 +140,38 @@ public abstract class SysLin {
      * @throws IrregularSysLinException Si le système est irrégulier.
      */
 	public abstract Vecteur resolution() throws IrregularSysLinException;
+
+	/**
+     * Résout le système en écrivant la solution dans un vecteur fourni, les tableaux intermédiaires
+     * étant pris dans un espace de travail réutilisable. Avec le même vecteur et le même espace,
+     * des résolutions successives (après {@link #setSecondMembre(Vecteur)}) n'allouent rien pour
+     * les solveurs qui redéfinissent cette méthode : {@link Thomas}, {@link SysDiagonal}, les
+     * systèmes triangulaires, {@link Helder}, {@link LUPivot}, {@link Cholesky} et {@link LUBande}.
+     * Les autres calculent {@link #resolution()} et en recopient le résultat.
+     * <p>
+     * Le vecteur solution peut être le second membre lui-même, qui est alors remplacé par la solution.
+     * 
+     * @param solution Le vecteur recevant la solution, de taille égale à l'ordre du système.
+     * @param travail L'espace de travail, ou null pour allouer les tableaux intermédiaires.
+     * @return Le vecteur solution (celui passé en paramètre).
+     * @throws IrregularSysLinException Si le système est irrégulier ou si la solution n'a pas la bonne taille.
+     */
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+		verifierSolution(solution);
+		Vecteur x = resolution();
+		System.arraycopy(x.coefficient, 0, solution.coefficient, 0, ordre);
+		return solution;
+	}
+
+	/**
+     * Vérifie que le vecteur destiné à la solution a la taille du système.
+     * 
+     * @param solution Le vecteur recevant la solution.
+     * @throws IrregularSysLinException Si sa taille n'est pas l'ordre du système.
+     */
+	protected void verifierSolution(Vecteur solution) throws IrregularSysLinException {
+		if(solution.getTaille() != ordre) {
+			throw new IrregularSysLinException("Mauvaise taille de solution.");
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,360 @@
+package AlgLin;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe abstraite des méthodes itératives de résolution. Elles n'accèdent à la matrice que par
+ * son action sur un vecteur ({@link OperateurLineaire}) : le système peut être donné par une
+ * matrice dense, une matrice creuse ou un opérateur sans matrice.
+ * <p>
+ * Les itérations s'arrêtent dès que la norme 2 du résidu b - Ax, relative à celle de b, passe sous
+ * la tolérance ; si elle n'y parvient pas en {@link #getIterationsMax()} itérations,
+ * {@link #resolution()} lève une {@link IrregularSysLinException}. Les vecteurs de travail sont
+ * alloués au premier appel de {@link #resolution()} puis réutilisés : les itérations elles-mêmes
+ * n'allouent rien.
+ * <p>
+ * Les variantes {@code resolutionParallele} répartissent les produits scalaires, les mises à jour
+ * de vecteurs et les produits par une matrice dense ou creuse entre les threads d'un pool (un
+ * opérateur sans matrice est appliqué tel quel). Les produits scalaires étant sommés dans un ordre
+ * fixe ({@link CalculVecteurs}), les itérations sont les mêmes qu'en séquentiel.
+ *
+ * @author Syrder Baptichon
+ */
+public abstract class SysLinIteratif extends SysLin {
+
+	/** Tolérance par défaut sur le résidu relatif. */
+	public static final double TOLERANCE = 1e-8;
+
+	/** Opérateur du système. */
+	protected final OperateurLineaire operateur;
+
+	/** Matrice dense ou creuse de l'opérateur, pour le calcul parallèle de ses produits, ou null. */
+	private Matrice dense;
+	private MatriceCreuse creuse;
+
+	/** Pool de la résolution en cours, ou null pour une résolution séquentielle. */
+	protected ForkJoinPool pool;
+
+	/** Préconditionneur, l'identité par défaut. */
+	protected Preconditionneur preconditionneur = Preconditionneur.identite();
+
+	/** Rappel appelé à chaque itération, ou null. */
+	protected SuiviConvergence suivi;
+
+	/** Point de départ des itérations, ou null pour partir de zéro. */
+	protected Vecteur solutionInitiale;
+
+	/** Indique si le préconditionnement se fait à droite (A M^-1 y = b, x = M^-1 y) plutôt qu'à gauche. */
+	protected boolean preconditionnementDroite = true;
+
+	private double tolerance = TOLERANCE;
+	private int iterationsMax;
+
+	/** Nombre d'itérations de la dernière résolution. */
+	protected int iterations;
+
+	/** Résidu relatif atteint par la dernière résolution. */
+	protected double residu = Double.NaN;
+
+	/**
+	 * Construit le système d'une matrice dense, tridiagonale ({@link Mat3Diag}) ou bande ({@link MatBande}).
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si la matrice n'est pas carrée ou si sa taille ne correspond pas à celle du second membre.
+	 */
+	protected SysLinIteratif(Matrice A, Vecteur secondMembre) throws IrregularSysLinException {
+		this(OperateurLineaire.de(A), secondMembre);
+		this.matriceSystem = A;
+		if (!(A instanceof Mat3Diag || A instanceof MatBande)) {
+			this.dense = A;
+		}
+	}
+
+	/**
+	 * Construit le système d'une matrice creuse.
+	 *
+	 * @param A La matrice du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si la matrice n'est pas carrée ou si sa taille ne correspond pas à celle du second membre.
+	 */
+	protected SysLinIteratif(MatriceCreuse A, Vecteur secondMembre) throws IrregularSysLinException {
+		this(OperateurLineaire.de(A), secondMembre);
+		this.creuse = A;
+	}
+
+	/**
+	 * Construit le système d'un opérateur quelconque.
+	 *
+	 * @param A L'opérateur du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si la dimension de l'opérateur ne correspond pas à la taille du second membre.
+	 */
+	protected SysLinIteratif(OperateurLineaire A, Vecteur secondMembre) throws IrregularSysLinException {
+		super(A.dimension(), secondMembre);
+		this.operateur = A;
+		this.iterationsMax = Math.max(100, 10 * A.dimension());
+	}
+
+	/**
+	 * Modifie la tolérance sur le résidu relatif ||b - Ax|| / ||b||.
+	 * @param tolerance La tolérance, strictement positive.
+	 */
+	public void setTolerance(double tolerance) {
+		if (!(tolerance > 0)) {
+			throw new IllegalArgumentException("La tolérance doit être strictement positive");
+		}
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Retourne la tolérance sur le résidu relatif.
+	 * @return La tolérance.
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	/**
+	 * Modifie le nombre maximal d'itérations (10 fois l'ordre du système par défaut, et au moins 100).
+	 * @param iterationsMax Le nombre maximal d'itérations, strictement positif.
+	 */
+	public void setIterationsMax(int iterationsMax) {
+		if (iterationsMax <= 0) {
+			throw new IllegalArgumentException("Le nombre d'itérations doit être strictement positif");
+		}
+		this.iterationsMax = iterationsMax;
+	}
+
+	/**
+	 * Retourne le nombre maximal d'itérations.
+	 * @return Le nombre maximal d'itérations.
+	 */
+	public int getIterationsMax() {
+		return iterationsMax;
+	}
+
+	/**
+	 * Modifie le préconditionneur.
+	 * @param preconditionneur Le préconditionneur, ou null pour n'en utiliser aucun.
+	 */
+	public void setPreconditionneur(Preconditionneur preconditionneur) {
+		this.preconditionneur = preconditionneur == null ? Preconditionneur.identite() : preconditionneur;
+	}
+
+	/**
+	 * Choisit le côté du préconditionnement des méthodes non symétriques (à droite par défaut). À
+	 * droite, la méthode itère sur A M^-1 et minimise le vrai résidu ; à gauche, elle itère sur
+	 * M^-1 A et suit le résidu préconditionné M^-1 (b - Ax), le vrai résidu n'étant vérifié qu'en
+	 * fin de cycle. Le gradient conjugué, symétrique, ignore ce choix.
+	 * @param droite true pour préconditionner à droite, false pour préconditionner à gauche.
+	 */
+	public void setPreconditionnementDroite(boolean droite) {
+		this.preconditionnementDroite = droite;
+	}
+
+	/**
+	 * Installe un rappel appelé à chaque itération avec le résidu relatif courant.
+	 * @param suivi Le rappel, ou null pour n'en utiliser aucun.
+	 */
+	public void setSuivi(SuiviConvergence suivi) {
+		this.suivi = suivi;
+	}
+
+	/**
+	 * Modifie le point de départ des itérations (zéro par défaut) ; une bonne approximation de la
+	 * solution, par exemple celle d'un système voisin, réduit le nombre d'itérations.
+	 * @param solutionInitiale Le point de départ, ou null pour partir de zéro.
+	 * @throws IrregularSysLinException Si sa taille ne correspond pas à l'ordre du système.
+	 */
+	public void setSolutionInitiale(Vecteur solutionInitiale) throws IrregularSysLinException {
+		if (solutionInitiale != null && solutionInitiale.getTaille() != getOrdre()) {
+			throw new IrregularSysLinException("Mauvaise solution initiale.");
+		}
+		this.solutionInitiale = solutionInitiale;
+	}
+
+	/**
+	 * Retourne le nombre d'itérations effectuées par la dernière résolution.
+	 * @return Le nombre d'itérations.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	/**
+	 * Retourne le résidu relatif ||b - Ax|| / ||b|| atteint par la dernière résolution.
+	 * @return Le résidu relatif, NaN avant la première résolution.
+	 */
+	public double getResidu() {
+		return residu;
+	}
+
+	/**
+	 * Résout le système séquentiellement.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la tolérance n'est pas atteinte en {@link #getIterationsMax()}
+	 * itérations, ou si la méthode échoue (voir les sous-classes).
+	 */
+	@Override
+	public Vecteur resolution() throws IrregularSysLinException {
+		return resolutionParallele((ForkJoinPool) null);
+	}
+
+	/**
+	 * Résout le système en répartissant les calculs sur le pool commun.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la méthode ne converge pas.
+	 * @see #resolutionParallele(ForkJoinPool)
+	 */
+	public Vecteur resolutionParallele() throws IrregularSysLinException {
+		return resolutionParallele(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Résout le système avec un nombre de threads donné. Un pool dédié est créé pour l'occasion
+	 * puis arrêté.
+	 *
+	 * @param parallelisme Le nombre de threads du pool (1 pour le calcul séquentiel).
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la méthode ne converge pas.
+	 */
+	public Vecteur resolutionParallele(int parallelisme) throws IrregularSysLinException {
+		if (parallelisme <= 1) {
+			return resolution();
+		}
+		ForkJoinPool dedie = new ForkJoinPool(parallelisme);
+		try {
+			return resolutionParallele(dedie);
+		} finally {
+			dedie.shutdown();
+		}
+	}
+
+	/**
+	 * Résout le système en répartissant les calculs sur le pool donné.
+	 *
+	 * @param pool Le pool qui exécute les calculs, ou null pour le calcul séquentiel.
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la méthode ne converge pas.
+	 */
+	public Vecteur resolutionParallele(ForkJoinPool pool) throws IrregularSysLinException {
+		this.pool = pool != null && pool.getParallelism() > 1 ? pool : null;
+		try {
+			return resoudre();
+		} finally {
+			this.pool = null;
+		}
+	}
+
+	/**
+	 * Itérations de la méthode, les calculs passant par les méthodes de cette classe pour être
+	 * répartis sur {@link #pool}.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @throws IrregularSysLinException Si la méthode ne converge pas.
+	 */
+	protected abstract Vecteur resoudre() throws IrregularSysLinException;
+
+	/**
+	 * Calcule y = Ax.
+	 */
+	protected void appliquerOperateur(Vecteur x, Vecteur y) {
+		if (pool != null && creuse != null) {
+			creuse.produit(x.coefficient, y.coefficient, pool);
+		} else if (pool != null && dense != null) {
+			CalculVecteurs.produit(dense, x.coefficient, y.coefficient, pool);
+		} else {
+			operateur.appliquer(x, y);
+		}
+	}
+
+	/**
+	 * Retourne le produit scalaire de deux vecteurs de taille {@link #getOrdre()}.
+	 */
+	protected double produitScalaire(Vecteur a, Vecteur b) {
+		return CalculVecteurs.produitScalaire(a.coefficient, b.coefficient, getOrdre(), pool);
+	}
+
+	/**
+	 * Retourne la norme 2 d'un vecteur de taille {@link #getOrdre()}.
+	 */
+	protected double norme(Vecteur a) {
+		return CalculVecteurs.norme(a.coefficient, getOrdre(), pool);
+	}
+
+	/**
+	 * Calcule y = y + alpha x.
+	 */
+	protected void axpy(double alpha, Vecteur x, Vecteur y) {
+		CalculVecteurs.axpy(alpha, x.coefficient, y.coefficient, getOrdre(), pool);
+	}
+
+	/**
+	 * Calcule x = s x.
+	 */
+	protected void echelle(double s, Vecteur x) {
+		CalculVecteurs.echelle(s, x.coefficient, getOrdre(), pool);
+	}
+
+	/**
+	 * Calcule y = x + beta y.
+	 */
+	protected void xpby(Vecteur x, double beta, Vecteur y) {
+		CalculVecteurs.xpby(x.coefficient, beta, y.coefficient, getOrdre(), pool);
+	}
+
+	/**
+	 * Initialise la solution et le résidu r = b - Ax0.
+	 *
+	 * @param x Le vecteur recevant le point de départ.
+	 * @param r Le vecteur recevant le résidu initial.
+	 */
+	protected void initialiser(Vecteur x, Vecteur r) {
+		int n = getOrdre();
+		if (solutionInitiale == null) {
+			java.util.Arrays.fill(x.coefficient, 0, n, 0.0);
+			System.arraycopy(secondMembre.coefficient, 0, r.coefficient, 0, n);
+		} else {
+			System.arraycopy(solutionInitiale.coefficient, 0, x.coefficient, 0, n);
+			appliquerOperateur(x, r);
+			NoyauCalcul.actif().soustraction(secondMembre.coefficient, 0, r.coefficient, 0, r.coefficient, 0, n);
+		}
+	}
+
+	/**
+	 * Calcule le résidu r = b - Ax.
+	 */
+	protected void calculerResidu(Vecteur x, Vecteur r) {
+		appliquerOperateur(x, r);
+		xpby(secondMembre, -1, r);
+	}
+
+	/**
+	 * Note le résidu relatif d'une itération et le transmet au rappel.
+	 *
+	 * @return true si la tolérance est atteinte.
+	 */
+	protected boolean noterResidu(int iteration, double residu) {
+		this.iterations = iteration;
+		this.residu = residu;
+		if (suivi != null) {
+			suivi.iteration(iteration, residu);
+		}
+		return residu <= tolerance;
+	}
+
+	/**
+	 * Lève l'exception de non-convergence si la tolérance n'a pas été atteinte.
+	 *
+	 * @throws IrregularSysLinException Si le résidu relatif dépasse la tolérance.
+	 */
+	protected void verifierConvergence() throws IrregularSysLinException {
+		if (!(residu <= tolerance)) {
+			throw new IrregularSysLinException("Pas de convergence après " + iterations
+					+ " itérations (résidu relatif " + residu + ").");
+		}
+	}
+}
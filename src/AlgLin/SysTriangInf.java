@@ -34,20 +34,36 @@ public class SysTriangInf extends SysLin {
      */
 	@Override
 	public Vecteur resolution() throws IrregularSysLinException {
-		Vecteur solution =  new Vecteur(getOrdre());
+		return resolution(new Vecteur(getOrdre()), null);
+	}
+
+	/**
+     * Résout le système triangulaire inférieur dans un vecteur fourni, sans allocation, par la
+     * même substitution avant que {@link #resolution()}, ligne par ligne sur le tableau de la matrice.
+     * 
+     * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+     * @param travail Non utilisé.
+     * @return Le vecteur solution.
+     * @throws IrregularSysLinException Si un coefficient diagonal est nul ou si la solution n'a pas la bonne taille.
+     */
+	@Override
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+		verifierSolution(solution);
+		double[] a = matriceSystem.coefficient, b = secondMembre.coefficient, x = solution.coefficient;
+		int pas = matriceSystem.pas;
 		
 		for (int i = 0; i < getOrdre(); i++) {
-            double diagonalCoefficient = matriceSystem.getCoef(i, i); 
+            double diagonalCoefficient = a[i * pas + i]; 
             if (diagonalCoefficient == 0.0) {
                 throw new IrregularSysLinException("Coefficient nul sur la diagonale");
             }
-	        double somme = getSecondMembre().getCoef(i);
+	        double somme = b[i];
 	        
 	        for(int j = 0; j < i; j++) {
-	            somme -= getMatriceSystem().getCoef(i, j) * solution.getCoef(j);
+	            somme -= a[i * pas + j] * x[j];
 	        }
 	        
-            solution.remplaceCoef(i, somme/diagonalCoefficient); 
+            x[i] = somme/diagonalCoefficient; 
         }
 		
 		return solution;
@@ -51,14 +51,30 @@ public class SysTriangInfUnite extends SysTriangInf {
      */
     @Override
     public Vecteur resolution() throws IrregularSysLinException {
-        Vecteur solution = new Vecteur(getOrdre());
+        return resolution(new Vecteur(getOrdre()), null);
+    }
+
+    /**
+     * Résout le système dans un vecteur fourni, sans allocation ; la diagonale, validée à la
+     * construction, n'est pas relue.
+     * 
+     * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+     * @param travail Non utilisé.
+     * @return Le vecteur solution.
+     * @throws IrregularSysLinException Si la solution n'a pas la bonne taille.
+     */
+    @Override
+    public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+        verifierSolution(solution);
+        double[] a = matriceSystem.coefficient, b = secondMembre.coefficient, x = solution.coefficient;
+        int pas = matriceSystem.pas;
 
         for (int i = 0; i < getOrdre(); i++) {
-            double somme = getSecondMembre().getCoef(i);
+            double somme = b[i];
             for (int j = 0; j < i; j++) {
-                somme -= getMatriceSystem().getCoef(i, j) * solution.getCoef(j);
+                somme -= a[i * pas + j] * x[j];
             }
-            solution.remplaceCoef(i, somme);
+            x[i] = somme;
         }
 
         return solution;
@@ -32,21 +32,37 @@ public class SysTriangSup extends SysLin {
      */
 	@Override
 	public Vecteur resolution() throws IrregularSysLinException {
-	    Vecteur solution = new Vecteur(getOrdre());
+	    return resolution(new Vecteur(getOrdre()), null);
+	}
+
+	/**
+     * Résout le système triangulaire supérieur dans un vecteur fourni, sans allocation, par la
+     * même substitution arrière que {@link #resolution()}, ligne par ligne sur le tableau de la matrice.
+     * 
+     * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+     * @param travail Non utilisé.
+     * @return Le vecteur solution.
+     * @throws IrregularSysLinException Si un coefficient diagonal est nul ou si la solution n'a pas la bonne taille.
+     */
+	@Override
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+	    verifierSolution(solution);
+	    double[] a = matriceSystem.coefficient, b = secondMembre.coefficient, x = solution.coefficient;
+	    int pas = matriceSystem.pas;
 
 	    for(int i = getOrdre() - 1; i >= 0; i--) {
-	    	 double coeff = getMatriceSystem().getCoef(i, i);
+	    	 double coeff = a[i * pas + i];
 	            if (coeff == 0) { 
 	                throw new IrregularSysLinException("Coefficient nul sur la diagonale.");
 	            }
 
-	            double somme = getSecondMembre().getCoef(i);
+	            double somme = b[i];
 
 	            for (int j = i + 1; j < getOrdre(); j++) {
-	            	somme -= getMatriceSystem().getCoef(i, j) * solution.getCoef(j);
+	            	somme -= a[i * pas + j] * x[j];
 	            }
 
-	            solution.remplaceCoef(i, somme / coeff);
+	            x[i] = somme / coeff;
 	    }
 	    return solution;
 	}
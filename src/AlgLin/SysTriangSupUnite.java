@@ -51,14 +51,30 @@ public class SysTriangSupUnite extends SysTriangSup {
      */
     @Override
     public Vecteur resolution() throws IrregularSysLinException {
-        Vecteur solution = new Vecteur(getOrdre());
+        return resolution(new Vecteur(getOrdre()), null);
+    }
+
+    /**
+     * Résout le système dans un vecteur fourni, sans allocation ; la diagonale, validée à la
+     * construction, n'est pas relue.
+     * 
+     * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+     * @param travail Non utilisé.
+     * @return Le vecteur solution.
+     * @throws IrregularSysLinException Si la solution n'a pas la bonne taille.
+     */
+    @Override
+    public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+        verifierSolution(solution);
+        double[] a = matriceSystem.coefficient, b = secondMembre.coefficient, x = solution.coefficient;
+        int pas = matriceSystem.pas;
 
         for(int i = getOrdre() - 1; i >= 0; i--) {
-            double somme = getSecondMembre().getCoef(i);
+            double somme = b[i];
             for(int j = i + 1; j < getOrdre(); j++) {
-                somme -= getMatriceSystem().getCoef(i, j) * solution.getCoef(j);
+                somme -= a[i * pas + j] * x[j];
             }
-            solution.remplaceCoef(i, somme);
+            x[i] = somme;
         }
 
         return solution;
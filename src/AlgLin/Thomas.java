@@ -27,41 +27,62 @@ public class Thomas extends SysLin {
     @Override
     public Vecteur resolution() {
         int n = secondMembre.getTaille();
-        Vecteur p = new Vecteur(n);
-        Vecteur q = new Vecteur(n);
-        Vecteur solution = new Vecteur(n);
+        return resoudre(new Vecteur(n), new double[n]);
+    }
+
+    /**
+     * Résout le système par l'algorithme de Thomas dans un vecteur fourni, les coefficients p de la
+     * descente étant rangés dans l'espace de travail et les q dans la solution : aucune allocation.
+     * 
+     * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+     * @param travail L'espace de travail, ou null pour allouer les coefficients p.
+     * @return Le vecteur solution.
+     * @throws IrregularSysLinException Si la solution n'a pas la taille du système.
+     */
+    @Override
+    public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+        verifierSolution(solution);
+        int n = secondMembre.getTaille();
+        return resoudre(solution, travail == null ? new double[n] : travail.tableau(0, n));
+    }
+
+    /**
+     * Algorithme de Thomas ; q_k est rangé dans x_k, que la remontée remplace ensuite par la solution.
+     */
+    private Vecteur resoudre(Vecteur solution, double[] p) {
+        int n = secondMembre.getTaille();
+
+        // Accès direct aux tableaux contigus : ligne 0 = a, ligne 1 = b, ligne 2 = c
+        double[] coef = matriceSystem.coefficient;
+        int a = 0, b = matriceSystem.pas, c = 2 * matriceSystem.pas;
+        double[] d = secondMembre.coefficient;
+        double[] x = solution.coefficient;
 
         // Étape 1 : Initialisation de p1 et q1
         // p1 = -c1 / b1
-        p.remplaceCoef(0, - getMatriceSystem().getCoef(2, 0) / getMatriceSystem().getCoef(1, 0));
+        p[0] = -coef[c] / coef[b];
         // q1 = d1 / b1
-        q.remplaceCoef(0, secondMembre.getCoef(0) / getMatriceSystem().getCoef(1, 0));
+        x[0] = d[0] / coef[b];
 
-        // Étape 2 : Descente (calcul par récurrence des coefficients pk et qk pour k = 1 à n-2)
-        for (int k = 1; k <= n - 2; k++) {
+        // Étape 2 : Descente (calcul par récurrence des coefficients pk et qk pour k = 1 à n-1) ;
+        // au dernier rang, q_n = (d_n - a_n * q_{n-1}) / (a_n * p_{n-1} + b_n) est x_n
+        for (int k = 1; k < n; k++) {
             // β = a_{k+1} * p_k + b_{k+1}
-            double beta = getMatriceSystem().getCoef(0, k) * p.getCoef(k - 1) + getMatriceSystem().getCoef(1, k);
-            
+            double beta = coef[a + k] * p[k - 1] + coef[b + k];
+
             // p_{k+1} = -c_{k+1} / β
-            p.remplaceCoef(k, -getMatriceSystem().getCoef(2, k) / beta);
-            
+            p[k] = -coef[c + k] / beta;
+
             // q_{k+1} = (d_{k+1} - a_{k+1} * q_k) / β
-            q.remplaceCoef(k, (secondMembre.getCoef(k) - getMatriceSystem().getCoef(0, k) * q.getCoef(k - 1)) / beta);
+            x[k] = (d[k] - coef[a + k] * x[k - 1]) / beta;
         }
 
-        // Étape 3 : Calcul de x_n
-        // x_n = (d_n - a_n * q_{n-1}) / (a_n * p_{n-1} + b_n)
-        double a_n = getMatriceSystem().getCoef(0, n - 1);
-        double b_n = getMatriceSystem().getCoef(1, n - 1);
-        double d_n = secondMembre.getCoef(n - 1);
-        solution.remplaceCoef(n - 1, (d_n - a_n * q.getCoef(n - 2)) / (a_n * p.getCoef(n - 2) + b_n));
-
-        // Étape 4 : calcul des x_k pour k = n-1 à 1
+        // Étape 3 : calcul des x_k pour k = n-1 à 1
         for (int k = n - 2; k >= 0; k--) {
             // x_k = p_k * x_{k+1} + q_k
-            solution.remplaceCoef(k, p.getCoef(k) * solution.getCoef(k + 1) + q.getCoef(k));
+            x[k] = p[k] * x[k + 1] + x[k];
         }
-        
+
         return solution;
     }
 
@@ -0,0 +1,269 @@
+package AlgLin;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Résolution simultanée de nombreux systèmes tridiagonaux indépendants de même ordre (un par ligne
+ * d'une grille, une spline par capteur...) par la méthode de {@link Thomas}.
+ * <p>
+ * Les données sont rangées en structure de tableaux : un tableau par diagonale, un pour les
+ * seconds membres et un pour les solutions, où le coefficient k du système s se trouve à l'indice
+ * {@code k * nbSystemes + s}. Les coefficients de même rang des différents systèmes sont donc
+ * contigus, et chaque étape de la récurrence de Thomas est appliquée à tous les systèmes à la fois
+ * par les noyaux {@link NoyauCalcul#descenteThomas} et {@link NoyauCalcul#remonteeThomas}, qui la
+ * vectorisent d'un système à l'autre. Les opérations étant celles de {@link Thomas}, chaque
+ * solution est identique à celle qu'il calculerait.
+ * <p>
+ * Aucun objet n'est créé par système : les solutions sont écrites dans un tableau fourni, et le
+ * seul tableau de travail (les coefficients p de la descente) est alloué une fois par instance.
+ * Une instance ne doit donc pas résoudre deux lots en même temps. Les variantes parallèles
+ * répartissent les systèmes entre les threads par paquets de {@link #LARGEUR} systèmes.
+ *
+ * @author Syrder Baptichon
+ */
+public class ThomasLot {
+
+	/** Nombre de systèmes d'un paquet, traité d'un bout à l'autre par une même tâche. */
+	static final int LARGEUR = 256;
+
+	/** Ordre des systèmes. */
+	private final int ordre;
+
+	/** Nombre de systèmes du lot. */
+	private final int nbSystemes;
+
+	/** Coefficients p de la descente, rangés comme les données. */
+	private final double[] p;
+
+	/**
+	 * Construit un solveur pour des lots de systèmes de même ordre.
+	 *
+	 * @param ordre L'ordre des systèmes.
+	 * @param nbSystemes Le nombre de systèmes d'un lot.
+	 */
+	public ThomasLot(int ordre, int nbSystemes) {
+		if (ordre <= 0 || nbSystemes <= 0) {
+			throw new IllegalArgumentException("Ordre et nombre de systèmes doivent être strictement positifs");
+		}
+		if ((long) ordre * nbSystemes > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Lot trop grand : " + ordre + " x " + nbSystemes);
+		}
+		this.ordre = ordre;
+		this.nbSystemes = nbSystemes;
+		this.p = new double[ordre * nbSystemes];
+	}
+
+	/**
+	 * Retourne l'ordre des systèmes.
+	 * @return L'ordre des systèmes.
+	 */
+	public int getOrdre() {
+		return ordre;
+	}
+
+	/**
+	 * Retourne le nombre de systèmes d'un lot.
+	 * @return Le nombre de systèmes.
+	 */
+	public int getNbSystemes() {
+		return nbSystemes;
+	}
+
+	/**
+	 * Résout les systèmes du lot séquentiellement. Tous les tableaux ont ordre * nbSystemes
+	 * coefficients, le coefficient k du système s étant à l'indice k * nbSystemes + s ; comme dans
+	 * {@link Mat3Diag}, sousDiagonale[k] multiplie x[k - 1] et surDiagonale[k] multiplie x[k + 1]
+	 * dans l'équation k (les coefficients du rang 0 de la sous-diagonale et du dernier rang de la
+	 * sur-diagonale sont ignorés).
+	 *
+	 * @param sousDiagonale Les sous-diagonales.
+	 * @param diagonale Les diagonales.
+	 * @param surDiagonale Les sur-diagonales.
+	 * @param secondMembre Les seconds membres.
+	 * @param solution Le tableau recevant les solutions ; il peut être celui des seconds membres.
+	 */
+	public void resolution(double[] sousDiagonale, double[] diagonale, double[] surDiagonale, double[] secondMembre,
+			double[] solution) {
+		resolutionParallele(sousDiagonale, diagonale, surDiagonale, secondMembre, solution, (ForkJoinPool) null);
+	}
+
+	/**
+	 * Résout les systèmes du lot en les répartissant sur le pool commun.
+	 *
+	 * @see #resolution(double[], double[], double[], double[], double[])
+	 */
+	public void resolutionParallele(double[] sousDiagonale, double[] diagonale, double[] surDiagonale,
+			double[] secondMembre, double[] solution) {
+		resolutionParallele(sousDiagonale, diagonale, surDiagonale, secondMembre, solution, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Résout les systèmes du lot avec un nombre de threads donné. Un pool dédié est créé pour
+	 * l'occasion puis arrêté.
+	 *
+	 * @param parallelisme Le nombre de threads du pool (1 pour le calcul séquentiel).
+	 * @see #resolution(double[], double[], double[], double[], double[])
+	 */
+	public void resolutionParallele(double[] sousDiagonale, double[] diagonale, double[] surDiagonale,
+			double[] secondMembre, double[] solution, int parallelisme) {
+		if (parallelisme <= 1) {
+			resolution(sousDiagonale, diagonale, surDiagonale, secondMembre, solution);
+			return;
+		}
+		ForkJoinPool dedie = new ForkJoinPool(parallelisme);
+		try {
+			resolutionParallele(sousDiagonale, diagonale, surDiagonale, secondMembre, solution, dedie);
+		} finally {
+			dedie.shutdown();
+		}
+	}
+
+	/**
+	 * Résout les systèmes du lot en les répartissant sur le pool donné.
+	 *
+	 * @param pool Le pool qui exécute les calculs, ou null pour le calcul séquentiel.
+	 * @see #resolution(double[], double[], double[], double[], double[])
+	 */
+	public void resolutionParallele(double[] sousDiagonale, double[] diagonale, double[] surDiagonale,
+			double[] secondMembre, double[] solution, ForkJoinPool pool) {
+		int taille = ordre * nbSystemes;
+		if (sousDiagonale.length < taille || diagonale.length < taille || surDiagonale.length < taille
+				|| secondMembre.length < taille || solution.length < taille) {
+			throw new IllegalArgumentException("Tableaux trop petits pour " + nbSystemes + " systèmes d'ordre " + ordre);
+		}
+		int nbPaquets = (nbSystemes + LARGEUR - 1) / LARGEUR;
+		if (pool == null || pool.getParallelism() == 1 || nbPaquets == 1) {
+			for (int q = 0; q < nbPaquets; q++) {
+				resoudre(sousDiagonale, diagonale, surDiagonale, secondMembre, solution, q * LARGEUR,
+						Math.min((q + 1) * LARGEUR, nbSystemes));
+			}
+		} else {
+			pool.invoke(new Paquets(sousDiagonale, diagonale, surDiagonale, secondMembre, solution, 0, nbPaquets));
+		}
+	}
+
+	/**
+	 * Résout les systèmes [debut, fin) du lot : descente sur tous les rangs, q étant rangé dans
+	 * les solutions, puis remontée.
+	 */
+	private void resoudre(double[] a, double[] b, double[] c, double[] d, double[] x, int debut, int fin) {
+		NoyauCalcul noyau = NoyauCalcul.actif();
+		int m = nbSystemes, largeur = fin - debut;
+		// Rang 0 : p = -c / b, q = d / b
+		for (int s = debut; s < fin; s++) {
+			p[s] = -c[s] / b[s];
+			x[s] = d[s] / b[s];
+		}
+		// Rangs 1 à n - 1 ; au dernier rang, q est déjà la solution et p n'est pas utilisé
+		for (int k = 1; k < ordre; k++) {
+			noyau.descenteThomas(a, b, c, d, p, x, k * m + debut, (k - 1) * m + debut, largeur);
+		}
+		for (int k = ordre - 2; k >= 0; k--) {
+			noyau.remonteeThomas(p, x, k * m + debut, (k + 1) * m + debut, largeur);
+		}
+	}
+
+	/**
+	 * Tâche résolvant les paquets [p0, p1) du lot, scindée en deux tant qu'elle en compte plusieurs.
+	 */
+	private final class Paquets extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a, b, c, d, x;
+		private final int p0, p1;
+
+		Paquets(double[] a, double[] b, double[] c, double[] d, double[] x, int p0, int p1) {
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.d = d;
+			this.x = x;
+			this.p0 = p0;
+			this.p1 = p1;
+		}
+
+		@Override
+		protected void compute() {
+			if (p1 - p0 == 1) {
+				resoudre(a, b, c, d, x, p0 * LARGEUR, Math.min(p1 * LARGEUR, nbSystemes));
+			} else {
+				int milieu = (p0 + p1) >>> 1;
+				invokeAll(new Paquets(a, b, c, d, x, p0, milieu), new Paquets(a, b, c, d, x, milieu, p1));
+			}
+		}
+	}
+
+	/**
+	 * Méthode principale : vérifie que les solutions sont celles de {@link Thomas}, puis mesure le
+	 * débit en systèmes par seconde, comparé à une boucle de {@link Thomas}.
+	 *
+	 * @param args L'ordre des systèmes et leur nombre (par défaut 64 et 16384).
+	 */
+	public static void main(String[] args) throws Exception {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+		int m = args.length > 1 ? Integer.parseInt(args[1]) : 16384;
+		Random rand = new Random(42);
+		double[] a = new double[n * m], b = new double[n * m], c = new double[n * m], d = new double[n * m];
+		for (int i = 0; i < n * m; i++) {
+			a[i] = rand.nextDouble();
+			c[i] = rand.nextDouble();
+			b[i] = 2.5 + rand.nextDouble();
+			d[i] = rand.nextDouble() - 0.5;
+		}
+		ThomasLot lot = new ThomasLot(n, m);
+		double[] x = new double[n * m];
+
+		// Vérification système par système
+		boolean identique = true;
+		lot.resolution(a, b, c, d, x);
+		for (int s = 0; s < m; s += 97) {
+			Mat3Diag T = new Mat3Diag(n);
+			Vecteur v = new Vecteur(n);
+			for (int k = 0; k < n; k++) {
+				T.remplaceCoef(0, k, a[k * m + s]);
+				T.remplaceCoef(1, k, b[k * m + s]);
+				T.remplaceCoef(2, k, c[k * m + s]);
+				v.remplaceCoef(k, d[k * m + s]);
+			}
+			Vecteur y = new Thomas(T, v).resolution();
+			for (int k = 0; k < n; k++) {
+				identique &= y.getCoef(k) == x[k * m + s];
+			}
+		}
+		System.out.println(m + " systèmes d'ordre " + n + ", solutions identiques à Thomas : " + identique);
+
+		int repetitions = 20;
+		for (int essai = 0; essai < 3; essai++) {
+			long debut = System.nanoTime();
+			for (int r = 0; r < repetitions; r++) {
+				for (int s = 0; s < m; s++) {
+					Mat3Diag T = new Mat3Diag(n);
+					Vecteur v = new Vecteur(n);
+					for (int k = 0; k < n; k++) {
+						T.coefficient[k] = a[k * m + s];
+						T.coefficient[T.pas + k] = b[k * m + s];
+						T.coefficient[2 * T.pas + k] = c[k * m + s];
+						v.coefficient[k] = d[k * m + s];
+					}
+					new Thomas(T, v).resolution();
+				}
+			}
+			double tThomas = (System.nanoTime() - debut) / 1e9;
+			debut = System.nanoTime();
+			for (int r = 0; r < repetitions; r++) {
+				lot.resolution(a, b, c, d, x);
+			}
+			double tLot = (System.nanoTime() - debut) / 1e9;
+			debut = System.nanoTime();
+			for (int r = 0; r < repetitions; r++) {
+				lot.resolutionParallele(a, b, c, d, x);
+			}
+			double tParallele = (System.nanoTime() - debut) / 1e9;
+			System.out.printf("Thomas un par un : %.3g systèmes/s ; ThomasLot : %.3g systèmes/s ; parallèle (%d threads) : %.3g systèmes/s%n",
+					repetitions * m / tThomas, repetitions * m / tLot, ForkJoinPool.commonPool().getParallelism(),
+					repetitions * m / tParallele);
+		}
+	}
+}
@@ -0,0 +1,299 @@
+package AlgLin;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Résolution parallèle d'un grand système tridiagonal par partition (méthode de type SPIKE).
+ * <p>
+ * La récurrence de {@link Thomas} est séquentielle. Ici, les inconnues sont découpées en blocs de
+ * {@link #BLOC} lignes ; la dernière ligne de chaque bloc, sauf du dernier, sert de séparateur.
+ * Une fois les séparateurs connus, l'intérieur de chaque bloc est un système tridiagonal
+ * indépendant des autres. Le calcul se fait donc en trois temps :
+ * <ol>
+ * <li>en parallèle, chaque bloc résout par Thomas son système intérieur pour le second membre
+ * (solution y) et pour le couplage avec le séparateur de gauche (solution v) ; le couplage avec
+ * le séparateur de droite (w) se déduit des coefficients de la descente, sans second calcul ;</li>
+ * <li>les équations des séparateurs, où x = y - v s_gauche - w s_droite est substitué, forment un
+ * système tridiagonal réduit d'un ordre égal au nombre de blocs moins un, résolu séquentiellement
+ * par {@link ThomasLot} ;</li>
+ * <li>en parallèle, chaque bloc corrige y par les séparateurs obtenus.</li>
+ * </ol>
+ * L'arithmétique est environ deux fois et demie celle de Thomas, mais chaque phase se répartit
+ * entre les threads. Le découpage ne dépend que de n : la solution est la même quel que soit le
+ * nombre de threads, et égale à celle de Thomas aux arrondis près pour une matrice à diagonale
+ * dominante (la méthode, comme Thomas, ne pivote pas). La résolution séquentielle,
+ * {@link #resolution()}, est celle de Thomas. Outre la solution, la mémoire de travail est de deux
+ * tableaux de n coefficients, autant que Thomas.
+ *
+ * @author Syrder Baptichon
+ */
+public class ThomasParallele extends SysLin {
+
+	/** Nombre de lignes d'un bloc de la partition. */
+	static final int BLOC = 1 << 16;
+
+	/** Coefficients p de la descente et couplages v avec le séparateur de gauche. */
+	private double[] p, v;
+
+	/**
+	 * Construit le système.
+	 *
+	 * @param matriceSystem La matrice tridiagonale du système.
+	 * @param secondMembre Le second membre du système.
+	 * @throws IrregularSysLinException Si la taille du second membre ne correspond pas à l'ordre de la matrice.
+	 */
+	public ThomasParallele(Mat3Diag matriceSystem, Vecteur secondMembre) throws IrregularSysLinException {
+		super(matriceSystem, secondMembre);
+	}
+
+	/**
+	 * Résout le système séquentiellement, par la méthode de Thomas.
+	 *
+	 * @return Le vecteur solution du système.
+	 */
+	@Override
+	public Vecteur resolution() {
+		return resolutionParallele((ForkJoinPool) null);
+	}
+
+	/**
+	 * Résout le système en répartissant les blocs sur le pool commun.
+	 *
+	 * @return Le vecteur solution du système.
+	 * @see #resolutionParallele(ForkJoinPool)
+	 */
+	public Vecteur resolutionParallele() {
+		return resolutionParallele(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Résout le système avec un nombre de threads donné. Un pool dédié est créé pour l'occasion
+	 * puis arrêté.
+	 *
+	 * @param parallelisme Le nombre de threads du pool (1 pour le calcul séquentiel).
+	 * @return Le vecteur solution du système.
+	 */
+	public Vecteur resolutionParallele(int parallelisme) {
+		if (parallelisme <= 1) {
+			return resolution();
+		}
+		ForkJoinPool dedie = new ForkJoinPool(parallelisme);
+		try {
+			return resolutionParallele(dedie);
+		} finally {
+			dedie.shutdown();
+		}
+	}
+
+	/**
+	 * Résout le système en répartissant les blocs sur le pool donné. Un système de moins de deux
+	 * blocs, ou un pool d'un seul thread, est résolu séquentiellement par la méthode de Thomas.
+	 *
+	 * @param pool Le pool qui exécute les calculs, ou null pour le calcul séquentiel.
+	 * @return Le vecteur solution du système.
+	 */
+	public Vecteur resolutionParallele(ForkJoinPool pool) {
+		return resoudre(new Vecteur(getOrdre()), pool);
+	}
+
+	/**
+	 * Résout le système séquentiellement, par la méthode de Thomas, dans un vecteur fourni ; les
+	 * coefficients p sont ceux de l'instance, déjà alloués après la première résolution.
+	 *
+	 * @param solution Le vecteur recevant la solution ; il peut être le second membre.
+	 * @param travail Non utilisé.
+	 * @return Le vecteur solution.
+	 * @throws IrregularSysLinException Si la solution n'a pas la bonne taille.
+	 */
+	@Override
+	public Vecteur resolution(Vecteur solution, EspaceTravail travail) throws IrregularSysLinException {
+		verifierSolution(solution);
+		return resoudre(solution, null);
+	}
+
+	/**
+	 * Résolution dans le vecteur donné, séquentielle si le pool est null.
+	 */
+	private Vecteur resoudre(Vecteur solution, ForkJoinPool pool) {
+		int n = getOrdre();
+		if (p == null) {
+			p = new double[n];
+		}
+		double[] x = solution.coefficient;
+		int nbBlocs = (n + BLOC - 1) / BLOC;
+		if (pool == null || pool.getParallelism() == 1 || nbBlocs < 2) {
+			thomas(x, 0, n);
+			return solution;
+		}
+		if (v == null) {
+			v = new double[n];
+		}
+
+		// Valeurs de y, v et w aux extrémités de l'intérieur de chaque bloc
+		double[][] bords = new double[6][nbBlocs];
+		pool.invoke(new Blocs(x, bords, null, 0, nbBlocs));
+
+		// Système réduit des séparateurs, en ligne r = fin du bloc j
+		int m = nbBlocs - 1;
+		double[] sous = new double[m], diag = new double[m], sur = new double[m], separateurs = new double[m];
+		double[] a = matriceSystem.coefficient, d = secondMembre.coefficient;
+		int b = matriceSystem.pas, c = 2 * matriceSystem.pas;
+		double[] yDebut = bords[0], yFin = bords[1], vDebut = bords[2], vFin = bords[3], wDebut = bords[4], wFin = bords[5];
+		for (int j = 0; j < m; j++) {
+			int r = (j + 1) * BLOC - 1;
+			sous[j] = -a[r] * vFin[j];
+			diag[j] = a[b + r] - a[r] * wFin[j] - a[c + r] * vDebut[j + 1];
+			sur[j] = -a[c + r] * wDebut[j + 1];
+			separateurs[j] = d[r] - a[r] * yFin[j] - a[c + r] * yDebut[j + 1];
+		}
+		new ThomasLot(m, 1).resolution(sous, diag, sur, separateurs, separateurs);
+
+		pool.invoke(new Blocs(x, bords, separateurs, 0, nbBlocs));
+		return solution;
+	}
+
+	/**
+	 * Méthode de Thomas sur les lignes [debut, fin), avec les mêmes opérations que
+	 * {@link Thomas#resolution()} ; q est rangé dans x.
+	 */
+	private void thomas(double[] x, int debut, int fin) {
+		double[] coef = matriceSystem.coefficient, d = secondMembre.coefficient;
+		int b = matriceSystem.pas, c = 2 * matriceSystem.pas;
+		p[debut] = -coef[c + debut] / coef[b + debut];
+		x[debut] = d[debut] / coef[b + debut];
+		for (int k = debut + 1; k < fin; k++) {
+			double beta = coef[k] * p[k - 1] + coef[b + k];
+			p[k] = -coef[c + k] / beta;
+			x[k] = (d[k] - coef[k] * x[k - 1]) / beta;
+		}
+		for (int k = fin - 2; k >= debut; k--) {
+			x[k] = p[k] * x[k + 1] + x[k];
+		}
+	}
+
+	/**
+	 * Première phase sur le bloc j : résolution de son système intérieur [debut, fin) pour y
+	 * (rangé dans x) et v, et relevé des valeurs de y, v et w aux deux extrémités.
+	 */
+	private void resoudreBloc(double[] x, double[][] bords, int j, int debut, int fin, boolean droite) {
+		double[] coef = matriceSystem.coefficient, d = secondMembre.coefficient;
+		int b = matriceSystem.pas, c = 2 * matriceSystem.pas;
+		double beta = coef[b + debut];
+		p[debut] = -coef[c + debut] / beta;
+		x[debut] = d[debut] / beta;
+		// Couplage avec le séparateur de gauche : second membre a_debut e_1 (nul pour le premier bloc)
+		v[debut] = j > 0 ? coef[debut] / beta : 0;
+		for (int k = debut + 1; k < fin; k++) {
+			beta = coef[k] * p[k - 1] + coef[b + k];
+			p[k] = -coef[c + k] / beta;
+			x[k] = (d[k] - coef[k] * x[k - 1]) / beta;
+			v[k] = -coef[k] * v[k - 1] / beta;
+		}
+		// Couplage avec le séparateur de droite : second membre c_(fin-1) e_m, dont la descente
+		// ne laisse qu'un q non nul, au dernier rang ; w_k = p_k w_(k+1) à la remontée
+		double w = droite ? coef[c + fin - 1] / beta : 0;
+		bords[1][j] = x[fin - 1];
+		bords[3][j] = v[fin - 1];
+		bords[5][j] = w;
+		for (int k = fin - 2; k >= debut; k--) {
+			x[k] = p[k] * x[k + 1] + x[k];
+			v[k] = p[k] * v[k + 1] + v[k];
+			w *= p[k];
+		}
+		bords[0][j] = x[debut];
+		bords[2][j] = v[debut];
+		bords[4][j] = w;
+	}
+
+	/**
+	 * Troisième phase sur le bloc j : x = y - v s_gauche - w s_droite sur l'intérieur [debut, fin),
+	 * puis recopie du séparateur de droite.
+	 */
+	private void corrigerBloc(double[] x, double[][] bords, double[] separateurs, int j, int debut, int fin, boolean droite) {
+		double gauche = j > 0 ? separateurs[j - 1] : 0;
+		double sd = droite ? separateurs[j] : 0;
+		double w = bords[5][j];
+		for (int k = fin - 1; k >= debut; k--) {
+			x[k] -= v[k] * gauche + w * sd;
+			if (k > debut) {
+				w *= p[k - 1];
+			}
+		}
+		if (droite) {
+			x[fin] = sd;
+		}
+	}
+
+	/**
+	 * Tâche traitant les blocs [j0, j1) : première phase si les séparateurs ne sont pas encore
+	 * connus (null), troisième sinon.
+	 */
+	private final class Blocs extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] x, separateurs;
+		private final double[][] bords;
+		private final int j0, j1;
+
+		Blocs(double[] x, double[][] bords, double[] separateurs, int j0, int j1) {
+			this.x = x;
+			this.bords = bords;
+			this.separateurs = separateurs;
+			this.j0 = j0;
+			this.j1 = j1;
+		}
+
+		@Override
+		protected void compute() {
+			if (j1 - j0 > 1) {
+				int milieu = (j0 + j1) >>> 1;
+				invokeAll(new Blocs(x, bords, separateurs, j0, milieu), new Blocs(x, bords, separateurs, milieu, j1));
+				return;
+			}
+			int n = getOrdre(), nbBlocs = (n + BLOC - 1) / BLOC;
+			boolean droite = j0 < nbBlocs - 1;
+			int debut = j0 * BLOC, fin = droite ? debut + BLOC - 1 : n;
+			if (separateurs == null) {
+				resoudreBloc(x, bords, j0, debut, fin, droite);
+			} else {
+				corrigerBloc(x, bords, separateurs, j0, debut, fin, droite);
+			}
+		}
+	}
+
+	/**
+	 * Méthode principale : compare la solution et le temps de résolution à ceux de Thomas sur un
+	 * système à diagonale dominante, pour plusieurs nombres de threads.
+	 *
+	 * @param args L'ordre du système (par défaut 5 000 000).
+	 */
+	public static void main(String[] args) throws Exception {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+		Random rand = new Random(42);
+		Mat3Diag A = new Mat3Diag(n);
+		Vecteur b = new Vecteur(n);
+		for (int i = 0; i < n; i++) {
+			double gauche = i > 0 ? rand.nextDouble() : 0, droite = i < n - 1 ? rand.nextDouble() : 0;
+			A.remplaceCoef(0, i, gauche);
+			A.remplaceCoef(1, i, 2 * (gauche + droite) + 0.1);
+			A.remplaceCoef(2, i, droite);
+			b.remplaceCoef(i, rand.nextDouble() - 0.5);
+		}
+		Thomas thomas = new Thomas(A, b);
+		ThomasParallele systeme = new ThomasParallele(A, b);
+		for (int essai = 0; essai < 3; essai++) {
+			long debut = System.nanoTime();
+			Vecteur reference = thomas.resolution();
+			System.out.printf("n = %d, Thomas : %.1f ms%n", n, (System.nanoTime() - debut) / 1e6);
+			for (int threads : new int[] {1, 2, 4, 8}) {
+				debut = System.nanoTime();
+				Vecteur x = systeme.resolutionParallele(threads);
+				double duree = (System.nanoTime() - debut) / 1e6;
+				System.out.printf("  %d thread(s) : %.1f ms, écart à Thomas %.2e%n", threads, duree,
+						Vecteur.soustraction(reference, x).normeInfini());
+			}
+		}
+	}
+}
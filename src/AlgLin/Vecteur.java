@@ -1,5 +1,7 @@
 /**
  * La classe Vecteur représente un vecteur, qui est une matrice avec une seule colonne.
+ * Ses coefficients sont rangés dans un simple tableau de taille n (pas égal à 1), ce qui permet
+ * de l'utiliser partout où une matrice n x 1 est attendue, par exemple dans {@link Matrice#produit(Matrice, Matrice)}.
  * @author bs214279
  * @version 1.1
  */
@@ -26,10 +28,8 @@ public class Vecteur extends Matrice{
      * @param tableau Le tableau de valeurs à utiliser pour initialiser le vecteur.
      */
 	public Vecteur(double[] tableau) {
-		super(new double[tableau.length][1]);
-		for(int i = 0; i < tableau.length; i++) {
-			remplaceCoef(i, 0, tableau[i]);
-		}
+		super(tableau.length, 1);
+		System.arraycopy(tableau, 0, coefficient, 0, tableau.length);
 	}
 	
 	 /**
@@ -43,9 +43,9 @@ public class Vecteur extends Matrice{
 		try {
 			Scanner sc = new Scanner(new File(fichier));
 			int taille = sc.nextInt();
-			this.coefficient = new double[taille][1];
+			allouer(taille, 1);
 			for(int i=0; i<taille;i++)
-				this.coefficient[i][0]=sc.nextDouble();
+				this.coefficient[i]=sc.nextDouble();
 			sc.close();	
 		}
 		catch(FileNotFoundException e) {
@@ -69,7 +69,7 @@ public class Vecteur extends Matrice{
      * @return Le coefficient à la position spécifiée.
      */
 	public double getCoef(int position) {
-		return getCoef(position, 0);
+		return coefficient[position];
 	}
 	
 	/** 
@@ -78,7 +78,7 @@ public class Vecteur extends Matrice{
      * @param value La nouvelle valeur à attribuer au coefficient.
      */
 	public void remplaceCoef(int position, double value){
-		remplaceCoef(position, 0, value);
+		coefficient[position] = value;
 	}
 	
 	/** 
@@ -103,11 +103,7 @@ public class Vecteur extends Matrice{
 	 * @see Matrice
 	 */
 	static double produit(Vecteur a, Vecteur b) {
-        double produitScalaire = 0.0;
-        for (int i = 0; i < a.getTaille(); i++) {
-            produitScalaire += a.getCoef(i) * b.getCoef(i);
-        }
-        return produitScalaire;
+        return NoyauCalcul.actif().produitScalaire(a.coefficient, 0, b.coefficient, 0, a.getTaille());
 	}
 	
 	
@@ -156,18 +152,12 @@ public class Vecteur extends Matrice{
             throw new IllegalArgumentException("Les vecteurs n'ont pas la même dimension");
         }
         
-        for (int i = 0; i < a.getTaille(); i++) {
-            produitScalaire += a.getCoef(i) * b.getCoef(i);
-        }
+        produitScalaire = NoyauCalcul.actif().produitScalaire(a.coefficient, 0, b.coefficient, 0, a.getTaille());
         return produitScalaire;
 	}
 	
 	public double normeL1(){
-		double res = 0.0;
-		for(int i = 0; i < getTaille(); i++){
-			res += Math.abs(getCoef(i));
-		}
-		return res;
+		return NoyauCalcul.actif().sommeAbs(coefficient, 0, getTaille());
 	}
 	
 	/**
@@ -187,27 +177,18 @@ public class Vecteur extends Matrice{
 	    Vecteur resultat = new Vecteur(a.getTaille());
 
 	    // Soustrait les coefficients des deux vecteurs
-	    for (int i = 0; i < a.getTaille(); i++) {
-	        resultat.remplaceCoef(i, a.getCoef(i) - b.getCoef(i));
-	    }
+	    NoyauCalcul.actif().soustraction(a.coefficient, 0, b.coefficient, 0, resultat.coefficient, 0, a.getTaille());
 
 	    return resultat;
 	}
 
 	public double normeL2(){
-		double res = 0.0;
-		for(int i = 0; i < getTaille(); i++){
-			res += Math.pow(Math.abs(getCoef(i)), 2);
-		}
+		double res = NoyauCalcul.actif().sommeCarres(coefficient, 0, getTaille());
         return Math.sqrt(res);
 	}
 
 	public double normeInfini(){
-		double res = 0.0;
-		for(int i = 0; i < getTaille(); i++) {
-			res = Math.max(res, Math.abs(getCoef(i)));
-		}
-		return res;
+		return NoyauCalcul.actif().maxAbs(coefficient, 0, getTaille());
 	}
 	
 	/**